@@ -0,0 +1,73 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.service.AuctionSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shipment-to-crew assignment with {@link AuctionSolver}: a full solve, and an incremental
+ * re-solve after one shipment changed. Weights, priorities and capacities are spread like
+ * the real data (most shipments fit most trucks, a quarter are urgent).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AssignmentBenchmark {
+
+    private static final double[] PRIORITY = {200, 400, 800, 1600};
+
+    @Param({"5000"})
+    public int shipments;
+
+    @Param({"2000"})
+    public int crews;
+
+    private AuctionSolver.Problem problem;
+    private AuctionSolver.Result solved;
+    private int[] changed;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(3);
+        double[] weight = new double[shipments];
+        double[] base = new double[shipments];
+        for (int s = 0; s < shipments; s++) {
+            weight[s] = rnd.nextInt(500, 20_000);
+            base[s] = PRIORITY[rnd.nextInt(PRIORITY.length)] + Math.min(100, rnd.nextInt(500, 50_000) / 1000.0);
+        }
+        double[] capacity = new double[crews];
+        double[] bonus = new double[crews];
+        for (int c = 0; c < crews; c++) {
+            capacity[c] = rnd.nextInt(9_000, 27_000);
+            bonus[c] = rnd.nextDouble(3, 5) * 4 - (rnd.nextInt(3) == 0 ? 10 : 0);
+        }
+        problem = new AuctionSolver.Problem(weight, base, capacity, bonus);
+        solved = AuctionSolver.solve(problem);
+        changed = new int[]{shipments / 2};
+    }
+
+    @Benchmark
+    public int solve() {
+        return AuctionSolver.solve(problem).assigned();
+    }
+
+    @Benchmark
+    public int resolveOne() {
+        return AuctionSolver.resolve(problem, solved.prices(), solved.shipmentOf(), changed).assigned();
+    }
+}
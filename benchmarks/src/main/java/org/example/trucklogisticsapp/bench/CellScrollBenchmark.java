@@ -0,0 +1,180 @@
+package org.example.trucklogisticsapp.bench;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.HBox;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.service.Formats;
+import org.example.trucklogisticsapp.ui.ActionBarCell;
+import org.example.trucklogisticsapp.ui.BadgeCell;
+import org.example.trucklogisticsapp.ui.FormattedNumberCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrolls a 10k-row truck table one row per operation, headlessly, comparing the old
+ * allocate-per-update cells with the reusable ones in {@code ui}.
+ *
+ * Run with the GC profiler (BenchmarkRunner adds it by default): gc.alloc.rate.norm is
+ * the number of bytes allocated per scrolled row.
+ *
+ * The table lives in a Scene that is never shown, so it can be laid out directly on the
+ * benchmark thread after the toolkit has started on the headless platform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Headless", "-Dprism.order=sw"})
+@State(Scope.Thread)
+public class CellScrollBenchmark {
+
+    @Param({"allocating", "reusing"})
+    public String cells;
+
+    @Param({"10000"})
+    public int rows;
+
+    private TableView<Truck> table;
+    private VirtualFlow<?> flow;
+    private double rowHeight;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        startToolkit();
+
+        table = new TableView<>(FXCollections.observableArrayList(Fixtures.trucks(rows)));
+        table.getColumns().setAll(columns("reusing".equals(cells)));
+
+        Scene scene = new Scene(table, 1000, 700);
+        table.applyCss();
+        table.resize(1000, 700);
+        table.layout();
+
+        flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+        IndexedCell<?> first = flow.getFirstVisibleCell();
+        if (first == null) {
+            throw new IllegalStateException("Table produced no rows - is the headless platform available?");
+        }
+        rowHeight = first.getHeight();
+    }
+
+    @Benchmark
+    public int scrollOneRow() {
+        IndexedCell<?> last = flow.getLastVisibleCell();
+        if (last != null && last.getIndex() >= rows - 1) {
+            flow.scrollTo(0);
+        }
+        flow.scrollPixels(rowHeight);
+        table.layout();
+        return flow.getFirstVisibleCell().getIndex();
+    }
+
+    private static synchronized void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    // ========================================
+    // COLUMNS
+    // ========================================
+
+    private static List<TableColumn<Truck, ?>> columns(boolean reusing) {
+        TableColumn<Truck, String> id = new TableColumn<>("ID");
+        id.setCellValueFactory(d -> new ReadOnlyObjectWrapper<>(d.getValue().getId()));
+
+        TableColumn<Truck, String> status = new TableColumn<>("Status");
+        status.setCellValueFactory(d -> new ReadOnlyObjectWrapper<>(
+                d.getValue().isAvailable() ? "Available" : "In Transit"));
+
+        TableColumn<Truck, Integer> capacity = new TableColumn<>("Capacity");
+        capacity.setCellValueFactory(d -> new ReadOnlyObjectWrapper<>(d.getValue().getCapacityKg()));
+
+        TableColumn<Truck, Void> actions = new TableColumn<>("Actions");
+
+        if (reusing) {
+            status.setCellFactory(BadgeCell.forColumn(s ->
+                    s.equals("Available") ? "status-badge-green" : "status-badge-blue"));
+            capacity.setCellFactory(FormattedNumberCell.forColumn(c -> Formats.integer(c.longValue(), " lbs")));
+            actions.setCellFactory(ActionBarCell.forColumn(6, List.of(
+                    new ActionBarCell.Action<Truck>(() -> new Button("✏️"), t -> { }),
+                    new ActionBarCell.Action<Truck>(() -> new Button("👁️"), t -> { }),
+                    new ActionBarCell.Action<Truck>(() -> new Button("⚙️"), t -> { }))));
+        } else {
+            status.setCellFactory(col -> new AllocatingBadgeCell());
+            capacity.setCellFactory(col -> new AllocatingNumberCell());
+            actions.setCellFactory(col -> new AllocatingActionCell());
+        }
+        return List.of(id, status, capacity, actions);
+    }
+
+    // The cell implementations the controllers used before the ui package existed
+
+    private static final class AllocatingBadgeCell extends TableCell<Truck, String> {
+        @Override
+        protected void updateItem(String item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+            } else {
+                Label badge = new Label(item);
+                badge.getStyleClass().add(item.equals("Available") ? "status-badge-green" : "status-badge-blue");
+                setGraphic(badge);
+            }
+        }
+    }
+
+    private static final class AllocatingNumberCell extends TableCell<Truck, Integer> {
+        @Override
+        protected void updateItem(Integer item, boolean empty) {
+            super.updateItem(item, empty);
+            setText(empty || item == null ? null : String.format("%,d lbs", item));
+        }
+    }
+
+    private static final class AllocatingActionCell extends TableCell<Truck, Void> {
+        private final Button edit = new Button("✏️");
+        private final Button view = new Button("👁️");
+        private final Button maintenance = new Button("⚙️");
+
+        @Override
+        protected void updateItem(Void item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty) {
+                setGraphic(null);
+            } else {
+                HBox buttons = new HBox(6, edit, view, maintenance);
+                buttons.setAlignment(Pos.CENTER_LEFT);
+                setGraphic(buttons);
+            }
+        }
+    }
+}
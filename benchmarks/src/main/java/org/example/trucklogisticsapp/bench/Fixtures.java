@@ -0,0 +1,133 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data shaped like the real collections
+ */
+final class Fixtures {
+
+    private static final String[] MAKES = {"Volvo", "Freightliner", "Kenworth", "Peterbilt", "Mack"};
+    private static final String[] STATES = {"CA", "TX", "NY", "FL", "IL", "AZ", "NJ", "PA"};
+    private static final String[] STATUSES = {"Pending", "In Transit", "Assigned", "Delivered"};
+    private static final String[] PRIORITIES = {"Low", "Medium", "High", "Urgent"};
+
+    private Fixtures() {
+    }
+
+    static List<Truck> trucks(int n) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        List<Truck> trucks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Truck t = new Truck("VIN" + (100000 + i), MAKES[i % MAKES.length], "Model " + (i % 7),
+                    2010 + rnd.nextInt(15), rnd.nextInt(20_000, 40_000));
+            t.setId("T-" + i);
+            t.setMileage(rnd.nextDouble(0, 900_000));
+            t.setAvailable(rnd.nextInt(4) != 0);
+            // Spread due dates from well overdue to far ahead so every status branch is taken
+            t.setLastMaintenanceDate(today.minusDays(rnd.nextInt(0, 400)));
+            t.setMaintenanceIntervalMonths(rnd.nextBoolean() ? 6 : 12);
+            trucks.add(t);
+        }
+        return trucks;
+    }
+
+    static List<Driver> drivers(int n) {
+        SplittableRandom rnd = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        List<Driver> drivers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Driver d = new Driver("First" + i, "Last" + i, "L" + (5_000_000 + i),
+                    STATES[i % STATES.length], "555-01" + (i % 100), "driver" + i + "@example.com");
+            d.setId("D-" + i);
+            d.setLicenseExpiry(today.plusDays(rnd.nextInt(-60, 900)).toString());
+            d.setMedicalCertExpiry(today.plusDays(rnd.nextInt(-60, 700)).toString());
+            d.setHazmatEndorsement(rnd.nextInt(3) == 0);
+            d.setTankersEndorsement(rnd.nextInt(4) == 0);
+            d.setDoublesEndorsement(rnd.nextInt(5) == 0);
+            d.setAvailable(rnd.nextBoolean());
+            d.setRating(rnd.nextDouble(3, 5));
+            drivers.add(d);
+        }
+        return drivers;
+    }
+
+    static Shipment shipment(int i) {
+        return new Shipment("SH-" + i, "Los Angeles, CA → Phoenix, AZ", "Customer " + (i % 500),
+                (1000 + i % 9000) + " lbs", 500 + i % 50_000, PRIORITIES[i % PRIORITIES.length],
+                STATUSES[i % STATUSES.length], "Unassigned", "N/A");
+    }
+
+    // ========================================
+    // RAW DOCUMENTS (as Firestore returns them: Long, Double, Boolean, String)
+    // ========================================
+
+    static Map<String, Object> truckDocument(int i) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("id", "T-" + i);
+        doc.put("vin", "VIN" + (100000 + i));
+        doc.put("make", MAKES[i % MAKES.length]);
+        doc.put("model", "Model " + (i % 7));
+        doc.put("year", (long) (2010 + i % 15));
+        doc.put("mileage", (double) (i * 37 % 900_000));
+        doc.put("capacityKg", (long) (20_000 + i % 20_000));
+        doc.put("plateNumber", "PL-" + i);
+        doc.put("source", "Dealer");
+        doc.put("notes", "");
+        doc.put("available", i % 4 != 0);
+        doc.put("needsMaintenance", false);
+        doc.put("maintenanceIntervalMonths", 6L);
+        return doc;
+    }
+
+    static Map<String, Object> driverDocument(int i) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("id", "D-" + i);
+        doc.put("firstName", "First" + i);
+        doc.put("lastName", "Last" + i);
+        doc.put("email", "driver" + i + "@example.com");
+        doc.put("phone", "555-01" + (i % 100));
+        doc.put("city", "Springfield");
+        doc.put("state", STATES[i % STATES.length]);
+        doc.put("licenseNumber", "L" + (5_000_000 + i));
+        doc.put("licenseState", STATES[i % STATES.length]);
+        doc.put("licenseClass", "Class A");
+        doc.put("licenseExpiry", "2027-03-01");
+        doc.put("medicalCertExpiry", "2026-11-15");
+        doc.put("hireDate", "2021-06-01");
+        doc.put("status", "Active");
+        doc.put("available", i % 2 == 0);
+        doc.put("hazmatEndorsement", i % 3 == 0);
+        doc.put("tankersEndorsement", false);
+        doc.put("doublesEndorsement", i % 5 == 0);
+        doc.put("rating", 4.5);
+        doc.put("totalTrips", (long) (i % 300));
+        doc.put("totalMiles", (double) (i * 113 % 250_000));
+        doc.put("notes", "");
+        return doc;
+    }
+
+    static Map<String, Object> shipmentDocument(int i) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("shipmentId", "SH-" + i);
+        doc.put("route", "Los Angeles, CA → Phoenix, AZ");
+        doc.put("customer", "Customer " + (i % 500));
+        doc.put("weight", (1000 + i % 9000) + " lbs");
+        doc.put("value", (long) (500 + i % 50_000));
+        doc.put("priority", PRIORITIES[i % PRIORITIES.length]);
+        doc.put("status", STATUSES[i % STATUSES.length]);
+        doc.put("assignment", "Unassigned");
+        doc.put("delivery", "N/A");
+        return doc;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.service.Formats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of the truck table's number columns: String.format vs {@link Formats}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private Truck[] trucks;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        trucks = Fixtures.trucks(ROWS).toArray(new Truck[0]);
+    }
+
+    private Truck next() {
+        return trucks[cursor = (cursor + 1) & (ROWS - 1)];
+    }
+
+    @Benchmark
+    public String capacityStringFormat() {
+        return String.format("%,d lbs", next().getCapacityKg());
+    }
+
+    @Benchmark
+    public String capacityFormats() {
+        return Formats.integer(next().getCapacityKg(), " lbs");
+    }
+
+    @Benchmark
+    public String mileageStringFormat() {
+        return String.format("%,.0f", next().getMileage());
+    }
+
+    @Benchmark
+    public String mileageFormats() {
+        return Formats.integer(next().getMileage());
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.trucklogisticsapp.bench;
+
+import javafx.collections.transformation.FilteredList;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.IndexManager;
+import org.example.trucklogisticsapp.store.LiveView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Switching a status filter on the shipments table: FilteredList.setPredicate (every row
+ * re-tested) vs {@link LiveView#where} (bitmap AND + diff). Each op is one filter change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LiveViewBenchmark {
+
+    private static final String[] STATUSES = {"Pending", "In Transit", "Assigned", "Delivered"};
+
+    @Param({"100000"})
+    public int rows;
+
+    private FilteredList<Shipment> filtered;
+    private LiveView<Shipment> view;
+    private int next;
+
+    @Setup
+    public void setup() {
+        EntityStore<Shipment> store = DataStore.get().shipments();
+        List<Change<Shipment>> changes = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Shipment s = Fixtures.shipment(i);
+            changes.add(Change.added(s.getShipmentId(), s));
+        }
+        store.apply(changes);
+        filtered = new FilteredList<>(store.getItems());
+        view = IndexManager.get().shipmentView();
+    }
+
+    private String nextStatus() {
+        return STATUSES[next++ & 3];
+    }
+
+    @Benchmark
+    public int filteredList() {
+        String status = nextStatus();
+        filtered.setPredicate(s -> status.equals(s.getStatus()));
+        return filtered.size();
+    }
+
+    @Benchmark
+    public int liveView() {
+        view.where("status", nextStatus());
+        return view.size();
+    }
+}
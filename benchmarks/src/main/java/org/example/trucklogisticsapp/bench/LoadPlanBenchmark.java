@@ -0,0 +1,63 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.CargoItem;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.service.LoadPlanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cargo load planning with {@link LoadPlanner}: one or several 10k-item manifests
+ * (1-50 kg units, 1-10 of each) onto a 2k-truck fleet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LoadPlanBenchmark {
+
+    @Param({"1", "8"})
+    public int shipments;
+
+    @Param({"10000"})
+    public int items;
+
+    private List<LoadPlanner.Manifest> manifests;
+    private List<Truck> trucks;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(5);
+        manifests = new ArrayList<>(shipments);
+        for (int s = 0; s < shipments; s++) {
+            List<CargoItem> cargo = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                cargo.add(new CargoItem("C-" + s + "-" + i, "Item " + i, "", rnd.nextInt(1, 11),
+                        rnd.nextInt(5, 500), rnd.nextInt(1, 51)));
+            }
+            manifests.add(new LoadPlanner.Manifest(Fixtures.shipment(s), cargo));
+        }
+        trucks = Fixtures.trucks(2000);
+    }
+
+    @Benchmark
+    public int plan() {
+        return LoadPlanner.plan(manifests, trucks).trucksUsed();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.local.LocalTruckRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Document-to-model mapping, per document.
+ *
+ * {@code DocumentSnapshot.toObject} is a thin wrapper around the SDK's CustomClassMapper, which
+ * can be driven with plain maps, so no Firestore connection is needed. The {@code codec*}
+ * benchmarks map the same documents with the hand-written codecs both backends now use
+ * ({@link EntityType#decode}); the local backend is also measured end to end through
+ * {@code findById} on an in-memory repository. See {@link SnapshotMappingBenchmark} for a
+ * whole 50k-document snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private static final int DOCS = 1024;
+
+    // The mapper moved packages between SDK releases
+    private static final String[] MAPPER_CLASSES = {
+            "com.google.cloud.firestore.encoding.CustomClassMapper",
+            "com.google.cloud.firestore.CustomClassMapper"
+    };
+
+    private MethodHandle toObject;
+    private Map<String, Object>[] truckDocs;
+    private Map<String, Object>[] driverDocs;
+    private Map<String, Object>[] shipmentDocs;
+    private LocalTruckRepository localTrucks;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        toObject = findMapper();
+
+        truckDocs = new Map[DOCS];
+        driverDocs = new Map[DOCS];
+        shipmentDocs = new Map[DOCS];
+        for (int i = 0; i < DOCS; i++) {
+            truckDocs[i] = Fixtures.truckDocument(i);
+            driverDocs[i] = Fixtures.driverDocument(i);
+            shipmentDocs[i] = Fixtures.shipmentDocument(i);
+        }
+
+        localTrucks = new LocalTruckRepository(null);
+        Fixtures.trucks(DOCS).forEach(localTrucks::save);
+    }
+
+    @TearDown
+    public void tearDown() {
+        localTrucks.close();
+    }
+
+    static MethodHandle findMapper() throws Exception {
+        MethodType type = MethodType.methodType(Object.class, Object.class, Class.class,
+                Class.forName("com.google.cloud.firestore.DocumentReference"));
+        for (String name : MAPPER_CLASSES) {
+            try {
+                Class<?> mapper = Class.forName(name);
+                var method = mapper.getDeclaredMethod("convertToCustomClass", type.parameterArray());
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (ClassNotFoundException | NoSuchMethodException ignored) {
+                // try the next location
+            }
+        }
+        throw new IllegalStateException("CustomClassMapper.convertToCustomClass not found in the Firestore SDK");
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (DOCS - 1);
+    }
+
+    @Benchmark
+    public Object toObjectTruck() throws Throwable {
+        return toObject.invoke((Object) truckDocs[next()], Truck.class, null);
+    }
+
+    @Benchmark
+    public Object toObjectDriver() throws Throwable {
+        return toObject.invoke((Object) driverDocs[next()], Driver.class, null);
+    }
+
+    @Benchmark
+    public Object toObjectShipment() throws Throwable {
+        return toObject.invoke((Object) shipmentDocs[next()], Shipment.class, null);
+    }
+
+    @Benchmark
+    public Object codecTruck() {
+        int i = next();
+        return EntityType.TRUCK.decode("T-" + i, truckDocs[i]);
+    }
+
+    @Benchmark
+    public Object codecDriver() {
+        int i = next();
+        return EntityType.DRIVER.decode("D-" + i, driverDocs[i]);
+    }
+
+    @Benchmark
+    public Object codecShipment() {
+        int i = next();
+        return EntityType.SHIPMENT.decode("SH-" + i, shipmentDocs[i]);
+    }
+
+    @Benchmark
+    public Object localDecodeTruck() {
+        return localTrucks.findById("T-" + next()).orElseThrow();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row model methods that table cells call on every render
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+    // Power of two so the cursor wraps with a mask; varied rows defeat branch prediction
+    private static final int ROWS = 1024;
+
+    private Truck[] trucks;
+    private Driver[] drivers;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        trucks = Fixtures.trucks(ROWS).toArray(new Truck[0]);
+        drivers = Fixtures.drivers(ROWS).toArray(new Driver[0]);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (ROWS - 1);
+    }
+
+    @Benchmark
+    public String truckMaintenanceStatus() {
+        return trucks[next()].getMaintenanceStatus();
+    }
+
+    @Benchmark
+    public String driverComplianceStatus() {
+        return drivers[next()].getComplianceStatus();
+    }
+
+    @Benchmark
+    public String driverEndorsements() {
+        return drivers[next()].getEndorsements();
+    }
+
+    @Benchmark
+    public Shipment shipmentConstruction() {
+        return Fixtures.shipment(next());
+    }
+}
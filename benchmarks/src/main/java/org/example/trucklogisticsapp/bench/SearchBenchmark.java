@@ -0,0 +1,84 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.IndexManager;
+import org.example.trucklogisticsapp.store.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead search over the shipments store: {@link SearchIndex} vs a case-insensitive
+ * substring scan of the searched fields
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"customer 42", "sh-1234", "sh12", "phoenix", "7"})
+    public String query;
+
+    private List<Shipment> shipments;
+    private SearchIndex<Shipment> index;
+
+    @Setup
+    public void setup() {
+        EntityStore<Shipment> store = DataStore.get().shipments();
+        List<Change<Shipment>> changes = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Shipment s = Fixtures.shipment(i);
+            changes.add(Change.added(s.getShipmentId(), s));
+        }
+        index = IndexManager.get().shipmentSearch();
+        store.apply(changes);
+        shipments = store.getItems();
+    }
+
+    @Benchmark
+    public int index() {
+        BitSet matches = index.query(query);
+        return matches.cardinality();
+    }
+
+    @Benchmark
+    public int scan() {
+        String[] words = query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int count = 0;
+        for (Shipment s : shipments) {
+            String text = (s.getShipmentId() + " " + s.getCustomer() + " " + s.getRoute()).toLowerCase(Locale.ROOT);
+            boolean all = true;
+            for (String word : words) {
+                if (!text.contains(word)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) count++;
+        }
+        return count;
+    }
+}
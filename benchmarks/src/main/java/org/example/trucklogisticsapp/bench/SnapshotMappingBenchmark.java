@@ -0,0 +1,77 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a whole initial snapshot - trucks, drivers and shipments in equal parts - with
+ * Firestore's reflective mapper vs the hand-written codecs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SnapshotMappingBenchmark {
+
+    @Param({"50000"})
+    public int documents;
+
+    @Param({"toObject", "codec"})
+    public String mapper;
+
+    private MethodHandle toObject;
+    private String[] ids;
+    private Map<String, Object>[] docs;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        toObject = MappingBenchmark.findMapper();
+        ids = new String[documents];
+        docs = new Map[documents];
+        for (int i = 0; i < documents; i++) {
+            docs[i] = switch (i % 3) {
+                case 0 -> Fixtures.truckDocument(i);
+                case 1 -> Fixtures.driverDocument(i);
+                default -> Fixtures.shipmentDocument(i);
+            };
+            ids[i] = (String) docs[i].getOrDefault("id", docs[i].get("shipmentId"));
+        }
+    }
+
+    @Benchmark
+    public void mapSnapshot(Blackhole bh) throws Throwable {
+        boolean codec = mapper.equals("codec");
+        for (int i = 0; i < documents; i++) {
+            Map<String, Object> doc = docs[i];
+            bh.consume(switch (i % 3) {
+                case 0 -> codec ? EntityType.TRUCK.decode(ids[i], doc)
+                        : toObject.invoke((Object) doc, Truck.class, null);
+                case 1 -> codec ? EntityType.DRIVER.decode(ids[i], doc)
+                        : toObject.invoke((Object) doc, Driver.class, null);
+                default -> codec ? EntityType.SHIPMENT.decode(ids[i], doc)
+                        : toObject.invoke((Object) doc, Shipment.class, null);
+            });
+        }
+    }
+}
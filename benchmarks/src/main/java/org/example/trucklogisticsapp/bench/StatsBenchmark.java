@@ -0,0 +1,58 @@
+package org.example.trucklogisticsapp.bench;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Truck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stream reductions TruckController / DriverController used to run on every list
+ * change (they now show DashboardStatsEngine's running totals), at increasing collection sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StatsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Truck> trucks;
+    private List<Driver> drivers;
+
+    @Setup
+    public void setup() {
+        trucks = Fixtures.trucks(rows);
+        drivers = Fixtures.drivers(rows);
+    }
+
+    @Benchmark
+    public void truckStats(Blackhole bh) {
+        bh.consume(trucks.size());
+        bh.consume(trucks.stream().filter(Truck::isAvailable).count());
+        bh.consume(trucks.stream().mapToInt(Truck::getCapacityKg).average().orElse(0));
+    }
+
+    @Benchmark
+    public void driverStats(Blackhole bh) {
+        bh.consume(drivers.size());
+        bh.consume(drivers.stream().filter(Driver::isAvailable).count());
+        bh.consume(drivers.stream().mapToDouble(Driver::getRating).average().orElse(0));
+    }
+}
@@ -4,7 +4,14 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
-import org.example.trucklogisticsapp.config.FirebaseConfig;
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.service.ComplianceIndex;
+import org.example.trucklogisticsapp.service.IoScheduler;
+import org.example.trucklogisticsapp.service.MaintenanceStatusEngine;
+import org.example.trucklogisticsapp.service.ReminderScheduler;
+import org.example.trucklogisticsapp.service.StartupPipeline;
+import org.example.trucklogisticsapp.service.WriteBehindQueue;
+import org.example.trucklogisticsapp.store.SyncEngine;
 
 import java.io.IOException;
 
@@ -13,8 +20,13 @@ public class TruckLogisticsApplication extends Application {
     @Override
     public void start(Stage stage) throws IOException {
 
-        // Initialize Firebase BEFORE loading UI
-        FirebaseConfig.initializeFirebase();
+        // Backend init, channel warm-up and prefetch run in the background; the shell shows immediately
+        StartupPipeline startup = StartupPipeline.get();
+        startup.start();
+
+        // Keep date-based truck and driver statuses current when the day changes
+        MaintenanceStatusEngine.get();
+        ComplianceIndex.get();
 
         FXMLLoader fxmlLoader = new FXMLLoader(
                 TruckLogisticsApplication.class.getResource("/org/example/trucklogisticsapp/MainLayout.fxml")
@@ -23,6 +35,17 @@ public class TruckLogisticsApplication extends Application {
         stage.setTitle("Truck Logistics Management System");
         stage.setScene(scene);
         stage.show();
+        startup.markShellShown();
+    }
+
+    @Override
+    public void stop() {
+        // Main stage closed - let queued Firestore work finish before exiting
+        SyncEngine.get().stop();
+        WriteBehindQueue.get().shutdown();
+        ReminderScheduler.get().shutdown();
+        IoScheduler.get().shutdown();
+        Repositories.close();
     }
 
     public static void main(String[] args) {
@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.store.IndexManager;
 
 import java.time.LocalDate;
 
@@ -144,6 +145,8 @@ public class AddDriverDialogController {
         }
         if (txtLicenseNumber.getText().trim().isEmpty()) {
             errors.append("• License number is required\n");
+        } else if (IndexManager.get().driversByLicense().contains(txtLicenseNumber.getText())) {
+            errors.append("• A driver with this license number already exists\n");
         }
         if (cmbLicenseState.getValue() == null) {
             errors.append("• License state is required\n");
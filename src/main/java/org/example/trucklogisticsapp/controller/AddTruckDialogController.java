@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.store.IndexManager;
 
 /**
  * Add Truck Dialog Controller - Handles adding new trucks with validation
@@ -96,6 +97,13 @@ public class AddTruckDialogController {
             errors.append("• VIN is required\n");
         } else if (txtVin.getText().trim().length() < 10) {
             errors.append("• VIN must be at least 10 characters\n");
+        } else if (IndexManager.get().isVinTaken(txtVin.getText(), null)) {
+            errors.append("• A truck with this VIN already exists\n");
+        }
+
+        // Plate validation (optional, but unique when given)
+        if (IndexManager.get().trucksByPlate().contains(txtPlate.getText())) {
+            errors.append("• A truck with this plate number already exists\n");
         }
 
         // Make validation
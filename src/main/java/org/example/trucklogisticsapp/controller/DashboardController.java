@@ -1,25 +1,64 @@
 package org.example.trucklogisticsapp.controller;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import javafx.fxml.FXML;
 import javafx.scene.text.Text;
-public class DashboardController {
+import org.example.trucklogisticsapp.model.DashboardStats;
+import org.example.trucklogisticsapp.service.DashboardStatsEngine;
+import org.example.trucklogisticsapp.service.Formats;
+import org.example.trucklogisticsapp.service.ShipmentStatsService;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DashboardController implements ManagedView {
 
     @FXML private Text lblTotalTrucks;
     @FXML private Text lblAvailableDrivers;
     @FXML private Text lblPendingShipments;
+    @FXML private Text lblOverdueMaintenance;
+    @FXML private Text lblFleetCapacity;
+    @FXML private Text lblShipmentValue;
+
+    // Figures are running totals kept by the engine - showing them never scans a collection
+    private final DashboardStatsEngine engine = DashboardStatsEngine.get();
+    private final ChangeListener<DashboardStats> statsListener = (obs, old, stats) -> showStats(stats);
+    private final List<LoadHandle> loading = new ArrayList<>();
 
     @FXML
     public void initialize() {
     System.out.println("✅ DashboardController initialized");
-    loadDashboardData();
+    engine.statsProperty().addListener(new WeakChangeListener<>(statsListener));
+    showStats(engine.getStats());
     }
 
-    private void loadDashboardData() {
-    // Load sample data
-    lblTotalTrucks.setText("10");
-    lblAvailableDrivers.setText("1");
-    lblPendingShipments.setText("5");
+    @Override
+    public void onViewShown() {
+    // Keep the collections behind the cards loading while the dashboard is open
+    DataStore store = DataStore.get();
+    SyncEngine sync = SyncEngine.get();
+    loading.add(sync.acquire(store.trucks()));
+    loading.add(sync.acquire(store.drivers()));
+    loading.add(sync.acquire(store.shipments()));
+    ShipmentStatsService.get().refresh();
+    }
+
+    @Override
+    public void onViewHidden() {
+    loading.forEach(LoadHandle::release);
+    loading.clear();
+    }
 
-    System.out.println("📊 Dashboard data loaded");
+    private void showStats(DashboardStats stats) {
+    lblTotalTrucks.setText(String.valueOf(stats.totalTrucks()));
+    lblAvailableDrivers.setText(String.valueOf(stats.availableDrivers()));
+    lblPendingShipments.setText(String.valueOf(stats.pendingShipments()));
+    lblOverdueMaintenance.setText(String.valueOf(stats.overdueMaintenance()));
+    lblFleetCapacity.setText(Formats.integer(stats.fleetCapacityKg(), " kg"));
+    lblShipmentValue.setText(Formats.currency(stats.shipmentValue()));
     }
 }
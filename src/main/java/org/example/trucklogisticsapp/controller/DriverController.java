@@ -1,35 +1,53 @@
 package org.example.trucklogisticsapp.controller;
 
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.WriteResult;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.layout.HBox;
 import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import org.example.trucklogisticsapp.model.ComplianceState;
+import org.example.trucklogisticsapp.model.DashboardStats;
 import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.service.AssignmentEngine;
+import org.example.trucklogisticsapp.service.DashboardStatsEngine;
+import org.example.trucklogisticsapp.service.Formats;
+import org.example.trucklogisticsapp.service.WriteBehindQueue;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.DetailCache;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.IndexManager;
+import org.example.trucklogisticsapp.store.LiveView;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
+import org.example.trucklogisticsapp.ui.ActionBarCell;
+import org.example.trucklogisticsapp.ui.BadgeCell;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-public class DriverController {
+public class DriverController implements ManagedView {
 
     @FXML private Text lblTotalDrivers;
     @FXML private Text lblAvailableDrivers;
     @FXML private Text lblAvgRating;
 
     @FXML private TableView<Driver> driverTable;
+    @FXML private TextField txtSearch;
+    @FXML private ComboBox<String> cmbComplianceFilter;
     @FXML private TableColumn<Driver, String> colDriverId;
     @FXML private TableColumn<Driver, String> colName;
     @FXML private TableColumn<Driver, String> colLicense;
@@ -39,13 +57,43 @@ public class DriverController {
     @FXML private TableColumn<Driver, String> colEndorsements;
     @FXML private TableColumn<Driver, Void> colActions;
 
-    private final ObservableList<Driver> driverList = FXCollections.observableArrayList();
+    private static final String ALL_COMPLIANCE = "All Compliance";
+
+    // Shared drivers - loaded once, page by page, then kept current by a listener
+    private final EntityStore<Driver> drivers = DataStore.get().drivers();
+    private LoadHandle loading;
+    private LiveView<Driver> view;
+    // Header figures are running totals kept by the engine, so showing them never scans the store
+    private final ChangeListener<DashboardStats> statsListener = (obs, old, stats) -> showStats(stats);
 
     @FXML
     public void initialize() {
         System.out.println("✅ DriverController initialized");
         setupTable();
-        loadDriversFromFirestore();
+        // Weak so discarded screens don't stay attached to the shared engine
+        DashboardStatsEngine engine = DashboardStatsEngine.get();
+        engine.statsProperty().addListener(new WeakChangeListener<>(statsListener));
+        showStats(engine.getStats());
+    }
+
+    @Override
+    public void onViewShown() {
+        // Pages stream into the shared store (and so into the table) while this screen is open
+        if (loading == null) loading = SyncEngine.get().acquire(drivers);
+    }
+
+    @Override
+    public void onViewHidden() {
+        if (loading != null) {
+            loading.release();
+            loading = null;
+        }
+    }
+
+    @Override
+    public void onViewDisposed() {
+        // The shared index would otherwise keep feeding (and holding) this screen's view
+        view.dispose();
     }
 
     // -------------------------------------------------------
@@ -73,153 +121,77 @@ public class DriverController {
                 )
         );
 
-        colStatus.setCellFactory(col -> new TableCell<>() {
-            @Override
-            protected void updateItem(String status, boolean empty) {
-                super.updateItem(status, empty);
-                if (empty || status == null) {
-                    setGraphic(null);
-                    return;
-                }
-                Label badge = new Label(status);
-                badge.getStyleClass().add(status.equals("Available") ?
-                        "status-badge-green" : "status-badge-blue");
-                setGraphic(badge);
-            }
-        });
+        colStatus.setCellFactory(BadgeCell.forColumn(status ->
+                status.equals("Available") ? "status-badge-green" : "status-badge-blue"));
 
         colCompliance.setCellValueFactory(data ->
                 new javafx.beans.property.SimpleStringProperty(data.getValue().getComplianceStatus())
         );
 
-        colCompliance.setCellFactory(col -> new TableCell<>() {
-            @Override
-            protected void updateItem(String compliance, boolean empty) {
-                super.updateItem(compliance, empty);
-                if (empty || compliance == null) {
-                    setGraphic(null);
-                    return;
-                }
-                Label badge = new Label(compliance);
-                if (compliance.equals("Compliant")) {
-                    badge.getStyleClass().add("status-badge-green");
-                } else if (compliance.contains("Expiring")) {
-                    badge.getStyleClass().add("status-badge-yellow");
-                } else {
-                    badge.getStyleClass().add("status-badge-red");
-                }
-                setGraphic(badge);
-            }
-        });
+        colCompliance.setCellFactory(BadgeCell.forColumn(compliance -> {
+            if (compliance.equals("Compliant")) return "status-badge-green";
+            if (compliance.contains("Expiring")) return "status-badge-yellow";
+            return "status-badge-red";
+        }));
 
         colEndorsements.setCellValueFactory(data ->
                 new javafx.beans.property.SimpleStringProperty(data.getValue().getEndorsements())
         );
 
-        colActions.setCellFactory(col -> new TableCell<>() {
-            private final Button btnEdit = iconButton("✏️", "#007bff", "Edit driver");
-            private final Button btnView = iconButton("👁️", "#17a2b8", "View details");
-            private final Button btnAssign = iconButton("🚛", "#28a745", "Assign");
-
-            {
-                btnEdit.setOnAction(e -> handleEditDriver(getItemAtIndex()));
-                btnView.setOnAction(e -> handleViewDriver(getItemAtIndex()));
-                btnAssign.setOnAction(e -> handleAssignDriver(getItemAtIndex()));
-            }
-
-            private Driver getItemAtIndex() {
-                return getTableView().getItems().get(getIndex());
-            }
-
-            private Button iconButton(String icon, String color, String tooltip) {
-                Button btn = new Button(icon);
-                btn.setStyle("-fx-background-color:" + color +
-                        "; -fx-text-fill:white; -fx-font-size:14px; -fx-min-width:32px;" +
-                        " -fx-min-height:32px; -fx-background-radius:5; -fx-padding:4;");
-                btn.setTooltip(new Tooltip(tooltip));
-                return btn;
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) setGraphic(null);
-                else setGraphic(new HBox(8, btnEdit, btnView, btnAssign));
-            }
+        // Buttons are built once per cell, not on every update
+        colActions.setCellFactory(ActionBarCell.forColumn(8, List.of(
+                new ActionBarCell.Action<>(() -> iconButton("✏️", "#007bff", "Edit driver"), this::handleEditDriver),
+                new ActionBarCell.Action<>(() -> iconButton("👁️", "#17a2b8", "View details"), this::handleViewDriver),
+                // Rows only carry the list projection - the assignment is saved on the full document
+                new ActionBarCell.Action<>(() -> iconButton("🚛", "#28a745", "Assign"),
+                        row -> withFullDriver(row, this::handleAssignDriver))
+        )));
+
+        view = IndexManager.get().driverView();
+        view.bindSearch(txtSearch.textProperty());
+        cmbComplianceFilter.getItems().add(ALL_COMPLIANCE);
+        for (ComplianceState state : ComplianceState.values()) cmbComplianceFilter.getItems().add(state.getLabel());
+        cmbComplianceFilter.setValue(ALL_COMPLIANCE);
+        cmbComplianceFilter.valueProperty().addListener((obs, old, label) -> {
+            ComplianceState state = stateForLabel(label);
+            if (state != null) view.where("compliance", state); else view.where("compliance");
         });
+        SortedList<Driver> sorted = new SortedList<>(view);
+        sorted.comparatorProperty().bind(driverTable.comparatorProperty());
+        driverTable.setItems(sorted);
+    }
 
-        driverTable.setItems(driverList);
+    private static ComplianceState stateForLabel(String label) {
+        for (ComplianceState state : ComplianceState.values()) {
+            if (state.getLabel().equals(label)) return state;
+        }
+        return null;
     }
 
-    // -------------------------------------------------------
-    // LOAD DATA FROM FIRESTORE
-    // -------------------------------------------------------
-    private void loadDriversFromFirestore() {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-                ApiFuture<QuerySnapshot> future = db.collection("drivers").get();
-                QuerySnapshot snapshot = future.get();
-
-                ObservableList<Driver> loadedDrivers = FXCollections.observableArrayList();
-
-                for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                    Driver driver = doc.toObject(Driver.class);
-
-                    if (driver.getId() == null || driver.getId().isEmpty()) {
-                        driver.setId(doc.getId());
-                    }
-
-                    loadedDrivers.add(driver);
-                }
-
-                Platform.runLater(() -> {
-                    driverList.clear();
-                    driverList.addAll(loadedDrivers);
-                    updateStats();
-                    System.out.println("📦 Loaded " + loadedDrivers.size() + " drivers from Firestore");
-                });
-
-            } catch (Exception e) {
-                e.printStackTrace();
-                Platform.runLater(() ->
-                        showAlert(Alert.AlertType.ERROR, "Firestore Error",
-                                "Could not load drivers:\n" + e.getMessage())
-                );
-            }
-        }).start();
+    private Button iconButton(String icon, String color, String tooltip) {
+        Button btn = new Button(icon);
+        btn.setStyle("-fx-background-color:" + color +
+                "; -fx-text-fill:white; -fx-font-size:14px; -fx-min-width:32px;" +
+                " -fx-min-height:32px; -fx-background-radius:5; -fx-padding:4;");
+        btn.setTooltip(new Tooltip(tooltip));
+        return btn;
     }
 
     // -------------------------------------------------------
     // SAVE DRIVER TO FIRESTORE
     // -------------------------------------------------------
     private void saveDriverToFirestore(Driver driver) {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-
-                String docId = (driver.getId() != null && !driver.getId().isEmpty())
-                        ? driver.getId()
-                        : db.collection("drivers").document().getId();
-
-                if (driver.getId() == null || driver.getId().isEmpty()) {
-                    driver.setId(docId);
-                }
-
-                ApiFuture<WriteResult> future =
-                        db.collection("drivers").document(docId).set(driver);
-
-                WriteResult result = future.get();
-                System.out.println("✅ Driver saved to Firestore at: " + result.getUpdateTime());
-
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                Platform.runLater(() ->
-                        showAlert(Alert.AlertType.ERROR, "Save Error",
-                                "Could not save driver:\n" + ex.getMessage())
-                );
+        WriteBehindQueue.get().save(EntityType.DRIVER, driver).whenComplete((ok, ex) -> {
+            if (ex == null) {
+                System.out.println("✅ Driver saved: " + driver.getId());
+                return;
             }
-        }).start();
+            ex.printStackTrace();
+            Platform.runLater(() ->
+                    showAlert(Alert.AlertType.ERROR, "Save Error",
+                            "Could not save driver:\n" + ex.getMessage())
+            );
+        });
     }
 
     // -------------------------------------------------------
@@ -249,9 +221,7 @@ public class DriverController {
 
             Driver newDriver = controller.getResult();
             if (newDriver != null) {
-                driverList.add(newDriver);
-                driverTable.refresh();
-                updateStats();
+                drivers.put(newDriver);
                 saveDriverToFirestore(newDriver);
                 System.out.println("✅ Driver added: " + newDriver.getFullName());
             }
@@ -284,18 +254,61 @@ public class DriverController {
                     driver.getFullName() + " is already assigned.");
             return;
         }
-        showAlert(Alert.AlertType.INFORMATION, "Assign", "Assignment feature coming soon!");
+        if (!AssignmentEngine.isEligible(driver)) {
+            showAlert(Alert.AlertType.WARNING, "Driver Not Compliant",
+                    driver.getFullName() + " can't be assigned: " + driver.getComplianceStatus() + ".");
+            return;
+        }
+
+        // Trucks that could take a shipment and have no driver yet
+        IndexManager indexes = IndexManager.get();
+        Map<String, Truck> choices = new LinkedHashMap<>();
+        for (Truck truck : DataStore.get().trucks().getItems()) {
+            if (AssignmentEngine.isEligible(truck) && indexes.driverForTruck(truck.getId()) == null) {
+                choices.put(truck.getDisplayName() + " - " + Formats.integer(truck.getCapacityKg(), " kg"), truck);
+            }
+        }
+        if (choices.isEmpty()) {
+            showAlert(Alert.AlertType.INFORMATION, "Assign", "No available truck without a driver.");
+            return;
+        }
+
+        Truck current = indexes.truckForDriver(driver);
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(choices.keySet().iterator().next(), choices.keySet());
+        dialog.setTitle("Assign Truck");
+        dialog.setHeaderText(driver.getFullName() + (current != null ? " - currently " + current.getDisplayName() : ""));
+        dialog.setContentText("Truck:");
+        dialog.showAndWait().map(choices::get).ifPresent(truck -> {
+            driver.setAssignedTruckId(truck.getId());
+            drivers.put(driver);
+            saveDriverToFirestore(driver);
+        });
+    }
+
+    /**
+     * Runs the action with the driver's full document, fetched once and cached by {@link DetailCache}
+     */
+    private void withFullDriver(Driver row, Consumer<Driver> action) {
+        DetailCache.get().load(drivers, row.getId()).whenComplete((driver, ex) -> {
+            if (ex != null) {
+                showAlert(Alert.AlertType.ERROR, "Error",
+                        "Could not load driver " + row.getId() + ":\n" + ex.getMessage());
+            } else if (driver == null) {
+                showAlert(Alert.AlertType.WARNING, "Driver Not Found",
+                        "Driver " + row.getId() + " no longer exists.");
+            } else {
+                action.accept(driver);
+            }
+        });
     }
 
     // -------------------------------------------------------
     // UTILS
     // -------------------------------------------------------
-    private void updateStats() {
-        lblTotalDrivers.setText(String.valueOf(driverList.size()));
-        lblAvailableDrivers.setText(String.valueOf(driverList.stream().filter(Driver::isAvailable).count()));
-
-        double avgRating = driverList.stream().mapToDouble(Driver::getRating).average().orElse(0);
-        lblAvgRating.setText(String.format("%.1f", avgRating));
+    private void showStats(DashboardStats stats) {
+        lblTotalDrivers.setText(String.valueOf(stats.totalDrivers()));
+        lblAvailableDrivers.setText(String.valueOf(stats.availableDrivers()));
+        lblAvgRating.setText(Formats.decimal(stats.averageDriverRating(), 1));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.store.IndexManager;
 
 import java.time.LocalDate;
 
@@ -131,6 +132,9 @@ public class EditDriverDialogController {
         if (txtFirstName.getText().trim().isEmpty()) return showValidation("First name is required.");
         if (txtLastName.getText().trim().isEmpty()) return showValidation("Last name is required.");
         if (txtLicenseNumber.getText().trim().isEmpty()) return showValidation("License number is required.");
+        if (IndexManager.get().driversByLicense().containsOther(txtLicenseNumber.getText(), driver.getId())) {
+            return showValidation("Another driver already has this license number.");
+        }
         return true;
     }
 
@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.store.IndexManager;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -28,6 +29,7 @@ public class EditTruckDialogController {
 
     private Truck truck;
     private boolean deleted = false;
+    private boolean saved = false;
 
     @FXML
     public void initialize() {
@@ -39,7 +41,8 @@ public class EditTruckDialogController {
     }
 
     /**
-     * Set the truck to be edited and populate all fields
+     * Set the truck to be edited and populate all fields.
+     * Pass the full document (see DetailCache), not a table row - rows leave out the notes.
      */
     public void setTruck(Truck truck) {
         this.truck = truck;
@@ -79,6 +82,13 @@ public class EditTruckDialogController {
         return deleted;
     }
 
+    /**
+     * Check if changes were saved
+     */
+    public boolean wasSaved() {
+        return saved;
+    }
+
     /**
      * Save changes and close the dialog
      */
@@ -111,6 +121,7 @@ public class EditTruckDialogController {
                 truck.setMaintenanceIntervalMonths(cmbMaintenanceInterval.getValue());
             }
 
+            saved = true;
             System.out.println("✅ Truck updated successfully: " + truck.getDisplayName());
 
             // Close dialog
@@ -190,6 +201,20 @@ public class EditTruckDialogController {
             txtVin.requestFocus();
             return false;
         }
+        if (IndexManager.get().isVinTaken(txtVin.getText(), truck.getId())) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error",
+                    "Another truck already has this VIN.\n\nYou entered: " + txtVin.getText().trim());
+            txtVin.requestFocus();
+            return false;
+        }
+
+        // Plate validation (optional, but unique when given)
+        if (IndexManager.get().trucksByPlate().containsOther(txtPlate.getText(), truck.getId())) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error",
+                    "Another truck already has this plate number.\n\nYou entered: " + txtPlate.getText().trim());
+            txtPlate.requestFocus();
+            return false;
+        }
 
         // Make validation
         if (txtMake.getText().trim().isEmpty()) {
@@ -1,15 +1,35 @@
 package org.example.trucklogisticsapp.controller;
 
 import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
+import org.example.trucklogisticsapp.model.AppConfig;
+import org.example.trucklogisticsapp.service.ReminderScheduler;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 
 public class MainLayoutController {
 
+    private static final String DASHBOARD = "/org/example/trucklogisticsapp/Dashboard.fxml";
+    private static final String TRUCKS = "/org/example/trucklogisticsapp/TruckManagement.fxml";
+    private static final String DRIVERS = "/org/example/trucklogisticsapp/DriverManagement.fxml";
+    private static final String SHIPMENTS = "/org/example/trucklogisticsapp/ShipmentManagement.fxml";
+    private static final String MAINTENANCE = "/org/example/trucklogisticsapp/MaintenanceManagement.fxml";
+
+    // Idle time before background preloading starts, and between preloaded screens
+    private static final Duration PRELOAD_DELAY = Duration.seconds(2);
+    private static final Duration PRELOAD_GAP = Duration.millis(150);
+    // Trucks listed in the reminder alert; the rest are only counted
+    private static final int MAX_LISTED_REMINDERS = 10;
+
     @FXML private StackPane contentArea;
     @FXML private Button btnDashboard;
     @FXML private Button btnTrucks;
@@ -17,65 +37,123 @@ public class MainLayoutController {
     @FXML private Button btnShipments;
     @FXML private Button btnMaintenance;
 
+    // Loaded screens are reused: switching back is a scene-graph swap, not an FXML parse
+    private final ViewCache cache = new ViewCache(AppConfig.getViewCacheSize());
+    private String currentPath;
+    private Object currentController;
+
     @FXML
     public void initialize() {
         System.out.println("✅ MainLayoutController initialized");
         loadDashboard(); // Default screen
+
+        if (AppConfig.isPreloadViews()) {
+            schedulePreload(new ArrayDeque<>(List.of(TRUCKS, DRIVERS, SHIPMENTS, MAINTENANCE)), PRELOAD_DELAY);
+        }
+
+        ReminderScheduler.get().addListener(this::showReminders);
     }
 
     @FXML
     private void loadDashboard() {
         setActiveButton(btnDashboard);
-        loadView("/org/example/trucklogisticsapp/Dashboard.fxml");
+        loadView(DASHBOARD);
     }
 
     @FXML
     private void loadTrucks() {
         setActiveButton(btnTrucks);
-        loadView("/org/example/trucklogisticsapp/TruckManagement.fxml");
+        loadView(TRUCKS);
     }
 
     @FXML
     private void loadDrivers() {
         setActiveButton(btnDrivers);
-        loadView("/org/example/trucklogisticsapp/DriverManagement.fxml");
+        loadView(DRIVERS);
     }
 
     @FXML
     private void loadShipments() {
         setActiveButton(btnShipments);
-        loadView("/org/example/trucklogisticsapp/ShipmentManagement.fxml");
+        loadView(SHIPMENTS);
     }
 
     @FXML
     private void loadMaintenance() {
         setActiveButton(btnMaintenance);
-        loadView("/org/example/trucklogisticsapp/MaintenanceManagement.fxml");
+        loadView(MAINTENANCE);
     }
 
     private void loadView(String fxmlPath) {
+        if (fxmlPath.equals(currentPath)) return;
+
         try {
-            var url = getClass().getResource(fxmlPath);
-            if (url == null)
-                throw new IllegalStateException("FXML not found: " + fxmlPath);
+            long start = System.nanoTime();
+
+            // Let the outgoing screen cancel any loading it started. Hide it first: caching
+            // the next screen may evict (and dispose) it.
+            if (currentController instanceof ManagedView managed) {
+                managed.onViewHidden();
+            }
+            currentController = null;
 
-            FXMLLoader loader = new FXMLLoader(url);
-            Node view = loader.load();
+            boolean cached = cache.contains(fxmlPath);
+            ViewCache.CachedView screen = cache.get(fxmlPath);
+            Node view = screen.view();
+            currentPath = fxmlPath;
+            currentController = screen.controller();
 
             view.setOpacity(0);
             contentArea.getChildren().setAll(view);
 
+            if (currentController instanceof ManagedView managed) {
+                managed.onViewShown();
+            }
+
             FadeTransition fade = new FadeTransition(Duration.millis(300), view);
             fade.setFromValue(0);
             fade.setToValue(1);
             fade.play();
 
+            System.out.printf("🗂️ %s shown in %.1f ms%s%n", fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1),
+                    (System.nanoTime() - start) / 1e6, cached ? " (cached)" : "");
+            cache.trimIfLowMemory(fxmlPath);
+
         } catch (Exception e) {
             e.printStackTrace();
             showError("Failed to load view: " + e.getMessage());
         }
     }
 
+    // ==================================================
+    // BACKGROUND PRELOADING
+    // ==================================================
+
+    /**
+     * Loads the remaining screens one at a time while the UI is idle, so the first visit
+     * to each is already a cache hit. One screen per pause keeps input responsive.
+     */
+    private void schedulePreload(Deque<String> remaining, Duration delay) {
+        if (remaining.isEmpty()) return;
+
+        PauseTransition pause = new PauseTransition(delay);
+        pause.setOnFinished(e -> {
+            String path = remaining.poll();
+            try {
+                long start = System.nanoTime();
+                if (!cache.contains(path)) {
+                    cache.preload(path);
+                    System.out.printf("🗂️ Preloaded %s in %.1f ms%n",
+                            path.substring(path.lastIndexOf('/') + 1), (System.nanoTime() - start) / 1e6);
+                }
+            } catch (Exception ex) {
+                System.err.println("⚠️ Could not preload " + path + ": " + ex.getMessage());
+            }
+            schedulePreload(remaining, PRELOAD_GAP);
+        });
+        pause.play();
+    }
+
     private void setActiveButton(Button activeButton) {
         btnDashboard.getStyleClass().remove("nav-button-active");
         btnTrucks.getStyleClass().remove("nav-button-active");
@@ -88,11 +166,44 @@ public class MainLayoutController {
         }
     }
 
+    // ==================================================
+    // MAINTENANCE REMINDERS
+    // ==================================================
+
+    private void showReminders(List<ReminderScheduler.DueMaintenance> due) {
+        // Most urgent first; a first run can make a whole fleet's reminders due at once
+        List<ReminderScheduler.DueMaintenance> listed = due.stream()
+                .sorted(Comparator.comparingLong(ReminderScheduler.DueMaintenance::daysUntil))
+                .limit(MAX_LISTED_REMINDERS)
+                .toList();
+
+        StringBuilder text = new StringBuilder();
+        for (ReminderScheduler.DueMaintenance d : listed) {
+            text.append("• ").append(d.truckName()).append(" - ");
+            if (d.daysUntil() < 0) {
+                text.append("overdue by ").append(-d.daysUntil()).append(" days");
+            } else {
+                text.append("due ").append(d.dueDate()).append(" (in ").append(d.daysUntil()).append(" days)");
+            }
+            text.append('\n');
+        }
+        if (due.size() > listed.size()) {
+            text.append("… and ").append(due.size() - listed.size()).append(" more - see Maintenance\n");
+        }
+
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Maintenance Reminders");
+        alert.setHeaderText("🔔 Maintenance coming up for " + due.size() + " truck(s)");
+        alert.setContentText(text.toString());
+        alert.show(); // Non-blocking
+    }
+
     private void showError(String message) {
         javafx.scene.control.Label label = new javafx.scene.control.Label("❌ " + message);
         label.setStyle("-fx-font-size: 18px; -fx-text-fill: #EF4444;");
         javafx.scene.layout.StackPane pane = new javafx.scene.layout.StackPane(label);
 
         contentArea.getChildren().setAll(pane);
+        currentPath = null;
     }
 }
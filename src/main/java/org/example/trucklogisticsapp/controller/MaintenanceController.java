@@ -1,7 +1,5 @@
 package org.example.trucklogisticsapp.controller;
 
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.*;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.fxml.FXML;
@@ -9,16 +7,21 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.service.WriteBehindQueue;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
 
 import java.io.IOException;
 import java.time.LocalDate;
 
-public class MaintenanceController {
+public class MaintenanceController implements ManagedView {
 
     @FXML private TableView<MaintenanceRecord> maintenanceTable;
 
@@ -29,7 +32,9 @@ public class MaintenanceController {
     @FXML private TableColumn<MaintenanceRecord, Double> colCost;
     @FXML private TableColumn<MaintenanceRecord, String> colStatus;
 
-    private final ObservableList<MaintenanceRecord> records = FXCollections.observableArrayList();
+    // Shared records - loaded once, page by page, then kept current by a listener
+    private final EntityStore<MaintenanceRecord> store = DataStore.get().maintenance();
+    private LoadHandle loading;
 
     @FXML
     public void initialize() {
@@ -45,69 +50,39 @@ public class MaintenanceController {
         colCost.setCellValueFactory(e -> new SimpleObjectProperty<>(e.getValue().getCost()));
         colStatus.setCellValueFactory(e -> new SimpleObjectProperty<>(e.getValue().getStatus()));
 
-        maintenanceTable.setItems(records);
-        loadMaintenanceFromFirestore();
+        SortedList<MaintenanceRecord> sorted = new SortedList<>(store.getItems());
+        sorted.comparatorProperty().bind(maintenanceTable.comparatorProperty());
+        maintenanceTable.setItems(sorted);
     }
 
-    private void loadMaintenanceFromFirestore() {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-                ApiFuture<QuerySnapshot> future = db.collection("maintenance").get();
-                QuerySnapshot snap = future.get();
-
-                ObservableList<MaintenanceRecord> list = FXCollections.observableArrayList();
-
-                for (QueryDocumentSnapshot doc : snap.getDocuments()) {
-                    MaintenanceRecord rec = doc.toObject(MaintenanceRecord.class);
-
-                    if (rec.getRecordId() == null || rec.getRecordId().isEmpty()) {
-                        rec.setRecordId(doc.getId());
-                    }
-                    list.add(rec);
-                }
-
-                Platform.runLater(() -> {
-                    records.clear();
-                    records.addAll(list);
-                });
+    @Override
+    public void onViewShown() {
+        // Pages stream into the shared store (and so into the table) while this screen is open
+        if (loading == null) loading = SyncEngine.get().acquire(store);
+    }
 
-            } catch (Exception e) {
-                Platform.runLater(() ->
-                        showError("Could not load maintenance records:\n" + e.getMessage()));
-            }
-        }).start();
+    @Override
+    public void onViewHidden() {
+        if (loading != null) {
+            loading.release();
+            loading = null;
+        }
     }
 
     private void saveToFirestore(MaintenanceRecord rec) {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-
-                String id = (rec.getRecordId() != null && !rec.getRecordId().isEmpty())
-                        ? rec.getRecordId()
-                        : db.collection("maintenance").document().getId();
-
-                rec.setRecordId(id);
-                db.collection("maintenance").document(id).set(rec).get();
-
-            } catch (Exception ex) {
-                Platform.runLater(() ->
-                        showError("Could not save record:\n" + ex.getMessage()));
-            }
-        }).start();
+        WriteBehindQueue.get().save(EntityType.MAINTENANCE, rec).exceptionally(ex -> {
+            Platform.runLater(() ->
+                    showError("Could not save record:\n" + ex.getMessage()));
+            return null;
+        });
     }
 
     private void deleteFromFirestore(String id) {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-                db.collection("maintenance").document(id).delete().get();
-            } catch (Exception ex) {
-                Platform.runLater(() ->
-                        showError("Could not delete record:\n" + ex.getMessage()));
-            }
-        }).start();
+        WriteBehindQueue.get().delete(EntityType.MAINTENANCE, id).exceptionally(ex -> {
+            Platform.runLater(() ->
+                    showError("Could not delete record:\n" + ex.getMessage()));
+            return null;
+        });
     }
 
     @FXML
@@ -128,7 +103,7 @@ public class MaintenanceController {
             MaintenanceRecord rec = dialog.getNewRecord();
 
             if (rec != null) {
-                records.add(rec);
+                store.put(rec);
                 saveToFirestore(rec);
             }
 
@@ -160,7 +135,7 @@ public class MaintenanceController {
             stage.showAndWait();
 
             // Refresh table AND save changes
-            maintenanceTable.refresh();
+            store.put(selected);
             saveToFirestore(selected);
 
         } catch (IOException e) {
@@ -173,7 +148,7 @@ public class MaintenanceController {
         MaintenanceRecord selected = maintenanceTable.getSelectionModel().getSelectedItem();
         if (selected == null) return;
 
-        records.remove(selected);
+        store.remove(selected.getRecordId());
         deleteFromFirestore(selected.getRecordId());
     }
 
@@ -50,9 +50,10 @@ public class MaintenanceDialog extends Dialog<MaintenanceResult> {
         customFrequencyField.setPrefWidth(150);
 
         enableRemindersCheckBox = new CheckBox("Enable maintenance reminders");
-        enableRemindersCheckBox.setSelected(true);
+        // New schedules default to reminders on
+        enableRemindersCheckBox.setSelected(truck.isRemindersEnabled() || truck.getLastMaintenanceDate() == null);
 
-        reminderDaysBeforeSpinner = new Spinner<>(1, 90, 30);
+        reminderDaysBeforeSpinner = new Spinner<>(1, 90, Math.max(1, Math.min(90, truck.getReminderDaysBefore())));
         reminderDaysBeforeSpinner.setEditable(true);
         reminderDaysBeforeSpinner.setPrefWidth(100);
 
@@ -0,0 +1,25 @@
+package org.example.trucklogisticsapp.controller;
+
+/**
+ * Optional hooks for controllers of screens shown in the main content area
+ */
+public interface ManagedView {
+
+    /**
+     * Called after the view has been placed in the content area
+     */
+    default void onViewShown() {
+    }
+
+    /**
+     * Called when the view is replaced by another screen
+     */
+    default void onViewHidden() {
+    }
+
+    /**
+     * Called when the screen is dropped from the view cache; it will not be shown again
+     */
+    default void onViewDisposed() {
+    }
+}
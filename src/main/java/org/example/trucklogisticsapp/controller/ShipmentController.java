@@ -1,26 +1,49 @@
 package org.example.trucklogisticsapp.controller;
 
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.*;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.layout.HBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.service.AssignmentEngine;
+import org.example.trucklogisticsapp.service.Formats;
+import org.example.trucklogisticsapp.service.ShipmentStatsService;
+import org.example.trucklogisticsapp.service.WriteBehindQueue;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.IndexManager;
+import org.example.trucklogisticsapp.store.LiveView;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
+import org.example.trucklogisticsapp.ui.ActionBarCell;
+import org.example.trucklogisticsapp.ui.BadgeCell;
+import org.example.trucklogisticsapp.ui.FormattedNumberCell;
 
 import java.io.IOException;
-import java.text.NumberFormat;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
-public class ShipmentController {
+public class ShipmentController implements ManagedView {
 
     @FXML private TableView<Shipment> shipmentTable;
+    @FXML private Button autoAssignBtn;
+    @FXML private TextField txtSearch;
+    @FXML private ComboBox<String> cmbStatusFilter;
+    @FXML private ComboBox<String> cmbPriorityFilter;
 
     @FXML private TableColumn<Shipment, String> idColumn;
     @FXML private TableColumn<Shipment, String> routeColumn;
@@ -38,7 +61,18 @@ public class ShipmentController {
     @FXML private Label pendingLabel;
     @FXML private Label totalValueLabel;
 
-    private final ObservableList<Shipment> shipments = FXCollections.observableArrayList();
+    // Shared shipments - loaded once, page by page, then kept current by a listener
+    private final EntityStore<Shipment> store = DataStore.get().shipments();
+    private LoadHandle loading;
+    private LiveView<Shipment> view;
+    private final ObservableList<Shipment> shipments = store.getItems();
+
+    // Sort keys per column, read through the plain getters (see installSortPolicy)
+    private final Map<TableColumn<Shipment, ?>, Comparator<Shipment>> sortKeys = new HashMap<>();
+
+    // Header figures are maintained by the stats service - no scan per change
+    private final ShipmentStatsService statsService = ShipmentStatsService.get();
+    private final ChangeListener<ShipmentStats> statsListener = (obs, old, stats) -> showStats(stats);
 
     @FXML
     private void initialize() {
@@ -47,66 +81,51 @@ public class ShipmentController {
         configureStatusColumn();
         configureActionsColumn();
 
-        shipmentTable.setItems(shipments);
-
-        loadShipmentsFromFirestore();
-        refreshStats();
+        // Status / priority filters run on bitmap indexes, not row by row
+        view = IndexManager.get().shipmentView();
+        view.bindSearch(txtSearch.textProperty());
+        bindFilter(cmbStatusFilter, view, "status", "All Statuses", "Pending", "Assigned", "In Transit", "Delivered");
+        bindFilter(cmbPriorityFilter, view, "priority", "All Priorities", "Low", "Medium", "High", "Urgent");
+        SortedList<Shipment> sorted = new SortedList<>(view);
+        installSortPolicy(sorted);
+        shipmentTable.setItems(sorted);
+
+        statsService.statsProperty().addListener(new WeakChangeListener<>(statsListener));
+        showStats(statsService.getStats());
     }
 
     // ==================================================
-    // SHIPMENT STATS
+    // VIEW LIFECYCLE
     // ==================================================
-    private void refreshStats() {
-        Firestore db = FirestoreContext.getDB();
-        ApiFuture<QuerySnapshot> fut = db.collection("shipments").get();
-
-        new Thread(() -> {
-            try {
-                QuerySnapshot snap = fut.get();
-
-                int total = snap.size();
-                int inTransit = 0;
-                int pending = 0;
-                double totalValue = 0;
-
-                for (DocumentSnapshot doc : snap.getDocuments()) {
-
-                    Object statusObj = doc.get("status");
-                    String status = statusObj != null ? statusObj.toString() : null;
-
-                    if (status != null) {
-                        String s = status.toLowerCase().trim();
-                        if (s.equals("in transit") || s.equals("intransit") || s.equals("transit"))
-                            inTransit++;
-                        if (s.equals("pending"))
-                            pending++;
-                    }
-
-                    Object v = doc.get("totalValue");
-                    if (v == null) v = doc.get("value");
-                    if (v instanceof Number) {
-                        totalValue += ((Number) v).doubleValue();
-                    }
-                }
-
-                final int fTotal = total;
-                final int fInTransit = inTransit;
-                final int fPending = pending;
-                final double fTotalValue = totalValue;
+    @Override
+    public void onViewShown() {
+        // Pages stream into the shared store (and so into the table) while this screen is open
+        if (loading == null) loading = SyncEngine.get().acquire(store);
+        statsService.refresh();
+    }
 
-                Platform.runLater(() -> {
-                    NumberFormat money = NumberFormat.getCurrencyInstance();
+    @Override
+    public void onViewHidden() {
+        if (loading != null) {
+            loading.release();
+            loading = null;
+        }
+    }
 
-                    totalShipmentsLabel.setText(String.valueOf(fTotal));
-                    inTransitLabel.setText(String.valueOf(fInTransit));
-                    pendingLabel.setText(String.valueOf(fPending));
-                    totalValueLabel.setText(money.format(fTotalValue));
-                });
+    @Override
+    public void onViewDisposed() {
+        // The shared index would otherwise keep feeding (and holding) this screen's view
+        view.dispose();
+    }
 
-            } catch (Exception e) {
-                System.err.println("Failed stats: " + e.getMessage());
-            }
-        }).start();
+    // ==================================================
+    // SHIPMENT STATS
+    // ==================================================
+    private void showStats(ShipmentStats stats) {
+        totalShipmentsLabel.setText(String.valueOf(stats.total()));
+        inTransitLabel.setText(String.valueOf(stats.inTransit()));
+        pendingLabel.setText(String.valueOf(stats.pending()));
+        totalValueLabel.setText(Formats.currency(stats.totalValue()));
     }
 
     // ==================================================
@@ -119,6 +138,7 @@ public class ShipmentController {
         customerColumn.setCellValueFactory(d -> d.getValue().customerProperty());
         weightColumn.setCellValueFactory(d -> d.getValue().weightProperty());
         valueColumn.setCellValueFactory(c -> c.getValue().valueProperty().asObject());
+        valueColumn.setCellFactory(FormattedNumberCell.forColumn(value -> Formats.currency(value.doubleValue())));
         priorityColumn.setCellValueFactory(d -> d.getValue().priorityProperty());
         statusColumn.setCellValueFactory(d -> d.getValue().statusProperty());
         assignmentColumn.setCellValueFactory(d -> d.getValue().assignmentProperty());
@@ -127,6 +147,41 @@ public class ShipmentController {
         wrapColumnText(routeColumn);
         wrapColumnText(assignmentColumn);
         wrapColumnText(deliveryColumn);
+
+        sortKeys.put(idColumn, byText(Shipment::getShipmentId));
+        sortKeys.put(routeColumn, byText(Shipment::getRoute));
+        sortKeys.put(customerColumn, byText(Shipment::getCustomer));
+        sortKeys.put(weightColumn, byText(Shipment::getWeight));
+        sortKeys.put(valueColumn, Comparator.comparingInt(Shipment::getValue));
+        sortKeys.put(priorityColumn, byText(Shipment::getPriority));
+        sortKeys.put(statusColumn, byText(Shipment::getStatus));
+        sortKeys.put(assignmentColumn, byText(Shipment::getAssignment));
+        sortKeys.put(deliveryColumn, byText(Shipment::getDelivery));
+        actionsColumn.setSortable(false);
+    }
+
+    /**
+     * Sorts the table with {@link #sortKeys} instead of the table's own comparator. That one
+     * compares cell values, i.e. calls the cell value factories, which would create the lazy
+     * properties of every shipment on the first header click.
+     */
+    private void installSortPolicy(SortedList<Shipment> sorted) {
+        shipmentTable.setSortPolicy(table -> {
+            Comparator<Shipment> order = null;
+            for (TableColumn<Shipment, ?> col : table.getSortOrder()) {
+                Comparator<Shipment> key = sortKeys.get(col);
+                if (key == null) continue;
+                if (col.getSortType() == TableColumn.SortType.DESCENDING) key = key.reversed();
+                order = order == null ? key : order.thenComparing(key);
+            }
+            sorted.setComparator(order);
+            return true;
+        });
+    }
+
+    private static Comparator<Shipment> byText(Function<Shipment, String> getter) {
+        // Nulls first, like TableColumn.DEFAULT_COMPARATOR
+        return Comparator.comparing(getter, Comparator.nullsFirst(Comparator.naturalOrder()));
     }
 
     private void wrapColumnText(TableColumn<Shipment, String> col) {
@@ -148,151 +203,95 @@ public class ShipmentController {
     }
 
     private void configurePriorityColumn() {
-        priorityColumn.setCellFactory(col -> new TableCell<>() {
-            private final Label label = new Label();
-
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
-
-                if (empty || item == null) {
-                    setGraphic(null);
-                    return;
-                }
-
-                label.setText(item);
-                label.getStyleClass().setAll("badge");
-
-                switch (item) {
-                    case "High" -> label.getStyleClass().add("badge-high");
-                    case "Medium" -> label.getStyleClass().add("badge-medium");
-                    case "Urgent" -> label.getStyleClass().add("badge-urgent");
-                }
-
-                setGraphic(label);
-            }
-        });
+        priorityColumn.setCellFactory(BadgeCell.forColumn(priority -> switch (priority) {
+            case "High" -> "badge-high";
+            case "Medium" -> "badge-medium";
+            case "Urgent" -> "badge-urgent";
+            default -> null;
+        }, "badge"));
     }
 
     private void configureStatusColumn() {
-        statusColumn.setCellFactory(col -> new TableCell<>() {
-            private final Label label = new Label();
-
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
-
-                if (empty || item == null) {
-                    setGraphic(null);
-                    return;
-                }
-
-                label.setText(item);
-                label.getStyleClass().setAll("badge");
-
-                switch (item) {
-                    case "In Transit" -> label.getStyleClass().add("status-in-transit");
-                    case "Delivered" -> label.getStyleClass().add("status-delivered");
-                    case "Assigned" -> label.getStyleClass().add("status-assigned");
-                    case "Pending" -> label.getStyleClass().add("status-pending");
-                }
-
-                setGraphic(label);
-            }
-        });
+        statusColumn.setCellFactory(BadgeCell.forColumn(status -> switch (status) {
+            case "In Transit" -> "status-in-transit";
+            case "Delivered" -> "status-delivered";
+            case "Assigned" -> "status-assigned";
+            case "Pending" -> "status-pending";
+            default -> null;
+        }, "badge"));
     }
 
     private void configureActionsColumn() {
-        actionsColumn.setCellFactory(col -> new TableCell<>() {
-            private final Button editBtn = new Button("✏");
-            private final Button viewBtn = new Button("👁");
-            private final HBox box = new HBox(8, editBtn, viewBtn);
-
-            {
-                box.getStyleClass().add("actions-box");
-                editBtn.getStyleClass().add("ghost-btn");
-                viewBtn.getStyleClass().add("ghost-btn");
-
-                editBtn.setOnAction(e -> {
-                    Shipment s = getTableView().getItems().get(getIndex());
-                    System.out.println("Edit " + s.getShipmentId());
-                });
-
-                viewBtn.setOnAction(e -> {
-                    Shipment s = getTableView().getItems().get(getIndex());
-                    System.out.println("View " + s.getShipmentId());
-                });
-            }
+        actionsColumn.setCellFactory(ActionBarCell.forColumn(8, List.of(
+                new ActionBarCell.Action<Shipment>(() -> ghostButton("✏"),
+                        s -> System.out.println("Edit " + s.getShipmentId())),
+                new ActionBarCell.Action<Shipment>(() -> ghostButton("👁"),
+                        s -> System.out.println("View " + s.getShipmentId()))
+        ), "actions-box"));
+    }
 
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                setGraphic(empty ? null : box);
-            }
+    private Button ghostButton(String icon) {
+        Button btn = new Button(icon);
+        btn.getStyleClass().add("ghost-btn");
+        return btn;
+    }
+
+    /**
+     * Fills a filter combo ({@code all} first) and applies its choice to a field of the view
+     */
+    private void bindFilter(ComboBox<String> combo, LiveView<Shipment> view, String field,
+                            String all, String... values) {
+        combo.getItems().add(all);
+        combo.getItems().addAll(values);
+        combo.setValue(all);
+        combo.valueProperty().addListener((obs, old, value) -> {
+            if (value == null || value.equals(all)) view.where(field); else view.where(field, value);
         });
     }
 
     // ==================================================
-    // LOAD SHIPMENTS
+    // AUTO-ASSIGN
     // ==================================================
-    private void loadShipmentsFromFirestore() {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-                ApiFuture<QuerySnapshot> fut = db.collection("shipments").get();
-                QuerySnapshot snap = fut.get();
-
-                ObservableList<Shipment> loaded = FXCollections.observableArrayList();
-
-                for (QueryDocumentSnapshot doc : snap.getDocuments()) {
-                    Shipment s = doc.toObject(Shipment.class);
-
-                    if (s.getShipmentId() == null || s.getShipmentId().isEmpty()) {
-                        s.setShipmentId(doc.getId());
-                    }
-
-                    loaded.add(s);
-                }
-
-                Platform.runLater(() -> {
-                    shipments.clear();
-                    shipments.addAll(loaded);
-                });
+    @FXML
+    private void handleAutoAssign() {
+        autoAssignBtn.setDisable(true);
+        AssignmentEngine.get().plan().whenComplete((plan, error) -> {
+            autoAssignBtn.setDisable(false);
+            if (error != null) {
+                showAlert(Alert.AlertType.ERROR, "Auto-assign", "Could not compute assignments:\n" + error.getMessage());
+                return;
+            }
+            if (plan.assignments().isEmpty()) {
+                showAlert(Alert.AlertType.INFORMATION, "Auto-assign",
+                        "No pending shipment can be matched to an available truck and compliant driver.\n\n" + plan.summary());
+                return;
+            }
 
-            } catch (Exception e) {
-                Platform.runLater(() ->
-                        showAlert(Alert.AlertType.ERROR, "Firestore Error",
-                                "Could not load shipments:\n" + e.getMessage()));
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("Auto-assign");
+            confirm.setHeaderText("Assign " + Formats.integer(plan.assignments().size()) + " shipments?");
+            confirm.setContentText(plan.summary());
+            Optional<ButtonType> answer = confirm.showAndWait();
+            if (answer.isPresent() && answer.get() == ButtonType.OK) {
+                int assigned = AssignmentEngine.get().apply(plan);
+                showAlert(Alert.AlertType.INFORMATION, "Auto-assign", Formats.integer(assigned) + " shipments assigned.");
             }
-        }).start();
+        });
     }
 
     // ==================================================
     // SAVE
     // ==================================================
     private void saveShipmentToFirestore(Shipment shipment) {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-
-                String docId = shipment.getShipmentId();
-                if (docId == null || docId.isEmpty()) {
-                    docId = db.collection("shipments").document().getId();
-                    shipment.setShipmentId(docId);
-                }
-
-                ApiFuture<WriteResult> fut =
-                        db.collection("shipments").document(docId).set(shipment);
-
-                WriteResult result = fut.get();
-                System.out.println("Saved shipment at " + result.getUpdateTime());
-
-            } catch (Exception e) {
+        WriteBehindQueue.get().save(EntityType.SHIPMENT, shipment).whenComplete((ok, e) -> {
+            if (e == null) {
+                System.out.println("Saved shipment " + shipment.getShipmentId());
+            } else {
                 Platform.runLater(() ->
                         showAlert(Alert.AlertType.ERROR, "Firestore Error",
                                 "Could not save shipment:\n" + e.getMessage()));
             }
-        }).start();
+        });
     }
 
     // ==================================================
@@ -307,12 +306,13 @@ public class ShipmentController {
             Parent root = loader.load();
             AddShipmentController controller = loader.getController();
 
-            String nextId = String.format("SH-%03d", shipments.size() + 1);
+            int next = shipments.size() + 1;
+            while (store.contains(String.format("SH-%03d", next))) next++;
+            String nextId = String.format("SH-%03d", next);
             controller.setNextShipmentId(nextId);
 
             controller.setOnShipmentCreated(shipment -> {
-                shipments.add(shipment);
-                shipmentTable.refresh();
+                store.put(shipment);
                 saveShipmentToFirestore(shipment);
             });
 
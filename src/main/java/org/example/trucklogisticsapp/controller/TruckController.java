@@ -1,40 +1,53 @@
 package org.example.trucklogisticsapp.controller;
 
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
 import com.google.firebase.internal.NonNull;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.transformation.SortedList;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.layout.HBox;
 import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import org.example.trucklogisticsapp.model.DashboardStats;
+import org.example.trucklogisticsapp.model.Driver;
 import org.example.trucklogisticsapp.model.MaintenanceResult;
 import org.example.trucklogisticsapp.model.Truck;
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.WriteResult;
-import org.example.trucklogisticsapp.controller.FirestoreContext;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.service.DashboardStatsEngine;
+import org.example.trucklogisticsapp.service.Formats;
+import org.example.trucklogisticsapp.service.WriteBehindQueue;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.DetailCache;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.IndexManager;
+import org.example.trucklogisticsapp.store.LiveView;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
+import org.example.trucklogisticsapp.ui.ActionBarCell;
+import org.example.trucklogisticsapp.ui.BadgeCell;
+import org.example.trucklogisticsapp.ui.FormattedNumberCell;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-public class TruckController {
+public class TruckController implements ManagedView {
 
     @FXML private Text lblTotalTrucks;
     @FXML private Text lblAvailableTrucks;
     @FXML private Text lblAvgCapacity;
 
     @FXML private TableView<Truck> truckTable;
+    @FXML private TextField txtSearch;
+    @FXML private CheckBox chkAvailableOnly;
     @FXML private TableColumn<Truck, String> colTruckId;
     @FXML private TableColumn<Truck, String> colLicensePlate;
     @FXML private TableColumn<Truck, String> colSource;  // NEW: Source column
@@ -46,14 +59,41 @@ public class TruckController {
     @FXML private TableColumn<Truck, Double> colMileage;
     @FXML private TableColumn<Truck, Void> colActions;
 
-    private ObservableList<Truck> truckList = FXCollections.observableArrayList();
+    // Shared trucks - loaded once, page by page, then kept current by a listener
+    private final EntityStore<Truck> trucks = DataStore.get().trucks();
+    private LoadHandle loading;
+    private LiveView<Truck> view;
+    // Header figures are running totals kept by the engine, so showing them never scans the store
+    private final ChangeListener<DashboardStats> statsListener = (obs, old, stats) -> showStats(stats);
 
     @FXML
     public void initialize() {
         System.out.println("✅ TruckController initialized");
         setupTable();
-        loadSampleData();
-        updateStats();
+        // Weak so discarded screens don't stay attached to the shared engine
+        DashboardStatsEngine engine = DashboardStatsEngine.get();
+        engine.statsProperty().addListener(new WeakChangeListener<>(statsListener));
+        showStats(engine.getStats());
+    }
+
+    @Override
+    public void onViewShown() {
+        // Pages stream into the shared store (and so into the table) while this screen is open
+        if (loading == null) loading = SyncEngine.get().acquire(trucks);
+    }
+
+    @Override
+    public void onViewHidden() {
+        if (loading != null) {
+            loading.release();
+            loading = null;
+        }
+    }
+
+    @Override
+    public void onViewDisposed() {
+        // The shared index would otherwise keep feeding (and holding) this screen's view
+        view.dispose();
     }
 
     private void setupTable() {
@@ -88,17 +128,7 @@ public class TruckController {
         colCapacity.setCellValueFactory(new PropertyValueFactory<>("capacityKg"));
 
         // Format capacity with " lbs"
-        colCapacity.setCellFactory(col -> new TableCell<Truck, Integer>() {
-            @Override
-            protected void updateItem(Integer item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("%,d lbs", item));
-                }
-            }
-        });
+        colCapacity.setCellFactory(FormattedNumberCell.forColumn(capacity -> Formats.integer(capacity.longValue(), " lbs")));
 
         // Fuel MPG column - sample data
         colFuelMPG.setCellValueFactory(data -> {
@@ -115,170 +145,76 @@ public class TruckController {
                     truck.isAvailable() ? "Available" : "In Transit"
             );
         });
-        colStatus.setCellFactory(col -> new TableCell<Truck, String>() {
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setGraphic(null);
-                } else {
-                    Label badge = new Label(item);
-                    if (item.equals("Available")) {
-                        badge.getStyleClass().add("status-badge-green");
-                    } else if (item.equals("In Transit")) {
-                        badge.getStyleClass().add("status-badge-blue");
-                    } else if (item.equals("Maintenance")) {
-                        badge.getStyleClass().add("status-badge-red");
-                    } else {
-                        badge.getStyleClass().add("status-badge-yellow");
-                    }
-                    setGraphic(badge);
-                }
-            }
-        });
-
-        // Current Driver column
+        colStatus.setCellFactory(BadgeCell.forColumn(status -> switch (status) {
+            case "Available" -> "status-badge-green";
+            case "In Transit" -> "status-badge-blue";
+            case "Maintenance" -> "status-badge-red";
+            default -> "status-badge-yellow";
+        }));
+
+        // Current Driver column (driver-by-assigned-truck index, no scan)
         colCurrentDriver.setCellValueFactory(data -> {
-            Truck truck = data.getValue();
-            String driver = truck.isAvailable() ? "Unassigned" : "John Smith";
-            return new javafx.beans.property.SimpleStringProperty(driver);
+            Driver driver = IndexManager.get().driverForTruck(data.getValue().getId());
+            return new javafx.beans.property.SimpleStringProperty(driver != null ? driver.getFullName() : "Unassigned");
         });
 
         colMileage.setCellValueFactory(new PropertyValueFactory<>("mileage"));
 
         // Format mileage with commas
-        colMileage.setCellFactory(col -> new TableCell<Truck, Double>() {
-            @Override
-            protected void updateItem(Double item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("%,.0f", item));
-                }
-            }
-        });
+        colMileage.setCellFactory(FormattedNumberCell.forColumn(mileage -> Formats.integer(mileage.doubleValue())));
 
         // Actions column with STYLED ICON BUTTONS
-        colActions.setCellFactory(col -> new TableCell<Truck, Void>() {
-            private final Button btnEdit = createStyledButton("✏️", "#007bff", "Edit truck details");
-            private final Button btnView = createStyledButton("👁️", "#17a2b8", "View full details");
-            private final Button btnMaintenance = createStyledButton("⚙️", "#6f42c1", "Schedule maintenance");
-
-            {
-                btnEdit.setOnAction(e -> {
-                    Truck truck = getTableView().getItems().get(getIndex());
-                    handleEditTruck(truck);
-                });
-
-                btnView.setOnAction(e -> {
-                    Truck truck = getTableView().getItems().get(getIndex());
-                    handleViewTruck(truck);
-                });
-
-                btnMaintenance.setOnAction(e -> {
-                    Truck truck = getTableView().getItems().get(getIndex());
-                    handleMaintenanceTruck(truck);
-                });
-            }
-
-            private Button createStyledButton(String icon, String color, String tooltipText) {
-                Button btn = new Button(icon);
-                btn.setStyle(
-                        "-fx-background-color: " + color + "; " +
-                                "-fx-text-fill: white; " +
-                                "-fx-font-size: 14px; " +
-                                "-fx-min-width: 32px; " +
-                                "-fx-min-height: 32px; " +
-                                "-fx-background-radius: 5; " +
-                                "-fx-cursor: hand; " +
-                                "-fx-padding: 4;"
-                );
-
-                // Hover effect
-                btn.setOnMouseEntered(e -> btn.setStyle(
-                        btn.getStyle() + "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0, 0, 2);"
-                ));
-                btn.setOnMouseExited(e -> btn.setStyle(
-                        btn.getStyle().replace("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0, 0, 2);", "")
-                ));
-
-                btn.setTooltip(new Tooltip(tooltipText));
-                return btn;
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    HBox buttons = new HBox(6, btnEdit, btnView, btnMaintenance);
-                    buttons.setAlignment(Pos.CENTER_LEFT);
-                    setGraphic(buttons);
-                }
-            }
+        // Buttons are built once per cell, not on every update
+        colActions.setCellFactory(ActionBarCell.forColumn(6, List.of(
+                // Rows only carry the list projection - each action works on the full document
+                new ActionBarCell.Action<>(() -> createStyledButton("✏️", "#007bff", "Edit truck details"),
+                        row -> withFullTruck(row, this::handleEditTruck)),
+                new ActionBarCell.Action<>(() -> createStyledButton("👁️", "#17a2b8", "View full details"),
+                        row -> withFullTruck(row, this::handleViewTruck)),
+                new ActionBarCell.Action<>(() -> createStyledButton("⚙️", "#6f42c1", "Schedule maintenance"),
+                        row -> withFullTruck(row, this::handleMaintenanceTruck))
+        )));
+
+        // Filter and sort views of the shared store, never the store itself
+        view = IndexManager.get().truckView();
+        view.bindSearch(txtSearch.textProperty());
+        chkAvailableOnly.selectedProperty().addListener((obs, old, only) -> {
+            if (only) view.where("available", true); else view.where("available");
         });
-
-        truckTable.setItems(truckList);
+        SortedList<Truck> sorted = new SortedList<>(view);
+        sorted.comparatorProperty().bind(truckTable.comparatorProperty());
+        truckTable.setItems(sorted);
     }
 
-    private void loadSampleData() {
-        // Load trucks from Firestore on a background thread
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-
-                // Query all documents in the "trucks" collection
-                ApiFuture<QuerySnapshot> future = db.collection("trucks").get();
-                QuerySnapshot snapshot = future.get();
-
-                // Temporary list to hold loaded trucks
-                ObservableList<Truck> loadedTrucks = FXCollections.observableArrayList();
-
-                for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                    // Map Firestore document to Truck POJO
-                    Truck truck = doc.toObject(Truck.class);
-
-                    // Ensure the Truck has its Firestore document ID set
-                    if (truck.getId() == null || truck.getId().isEmpty()) {
-                        truck.setId(doc.getId());
-                    }
+    private Button createStyledButton(String icon, String color, String tooltipText) {
+        Button btn = new Button(icon);
+        btn.setStyle(
+                "-fx-background-color: " + color + "; " +
+                        "-fx-text-fill: white; " +
+                        "-fx-font-size: 14px; " +
+                        "-fx-min-width: 32px; " +
+                        "-fx-min-height: 32px; " +
+                        "-fx-background-radius: 5; " +
+                        "-fx-cursor: hand; " +
+                        "-fx-padding: 4;"
+        );
 
-                    loadedTrucks.add(truck);
-                }
+        // Hover effect
+        btn.setOnMouseEntered(e -> btn.setStyle(
+                btn.getStyle() + "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0, 0, 2);"
+        ));
+        btn.setOnMouseExited(e -> btn.setStyle(
+                btn.getStyle().replace("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0, 0, 2);", "")
+        ));
 
-                // Update UI on the JavaFX Application Thread
-                javafx.application.Platform.runLater(() -> {
-                    truckList.clear();
-                    truckList.addAll(loadedTrucks);
-                    updateStats();
-                    System.out.println("📦 Loaded " + loadedTrucks.size() + " trucks from Firestore");
-                });
-
-            } catch (Exception e) {
-                e.printStackTrace();
-                javafx.application.Platform.runLater(() ->
-                        showAlert(Alert.AlertType.ERROR, "Firestore Error",
-                                "Could not load trucks from Firestore:\n" + e.getMessage())
-                );
-            }
-        }).start();
+        btn.setTooltip(new Tooltip(tooltipText));
+        return btn;
     }
 
-    private void updateStats() {
-        lblTotalTrucks.setText(String.valueOf(truckList.size()));
-
-        long available = truckList.stream().filter(Truck::isAvailable).count();
-        lblAvailableTrucks.setText(String.valueOf(available));
-
-        double avgCapacity = truckList.stream()
-                .mapToInt(Truck::getCapacityKg)
-                .average()
-                .orElse(0);
-        lblAvgCapacity.setText(String.format("%,.0f", avgCapacity));
-
-        System.out.println("📊 Stats updated");
+    private void showStats(DashboardStats stats) {
+        lblTotalTrucks.setText(String.valueOf(stats.totalTrucks()));
+        lblAvailableTrucks.setText(String.valueOf(stats.availableTrucks()));
+        lblAvgCapacity.setText(Formats.integer(stats.averageCapacityKg()));
     }
 
     @FXML
@@ -304,10 +240,8 @@ public class TruckController {
 
             Truck newTruck = controller.getResult();
             if (newTruck != null) {
-                // 1) Update UI list
-                truckList.add(newTruck);
-                truckTable.refresh();
-                updateStats();
+                // 1) Update shared store (UI lists follow)
+                trucks.put(newTruck);
                 System.out.println("✅ Truck added locally: " + newTruck.getVin());
 
                 // 2) Save to Firestore (in background)
@@ -323,34 +257,51 @@ public class TruckController {
     }
 
     private void saveTruckToFirestore(Truck truck) {
-        new Thread(() -> {
-            try {
-                Firestore db = FirestoreContext.getDB();
-
-                // Use truck ID as the document ID (or generate one if null)
-                String docId = (truck.getId() != null && !truck.getId().isEmpty())
-                        ? truck.getId()
-                        : db.collection("trucks").document().getId();
-
-                if (truck.getId() == null || truck.getId().isEmpty()) {
-                    truck.setId(docId); // keep UI in sync with Firestore ID
-                }
-
-                ApiFuture<WriteResult> future =
-                        db.collection("trucks").document(docId).set(truck);
+        // Buffered: rapid edits to the same truck collapse into one batched write
+        WriteBehindQueue.get().save(EntityType.TRUCK, truck).whenComplete((ok, ex) -> {
+            if (ex == null) {
+                System.out.println("✅ Truck saved: " + truck.getId());
+                return;
+            }
+            System.err.println("❌ Failed to save truck to Firestore");
+            ex.printStackTrace();
+            javafx.application.Platform.runLater(() ->
+                    showAlert(Alert.AlertType.ERROR, "Firestore Error",
+                            "Could not save truck to Firestore:\n" + ex.getMessage())
+            );
+        });
+    }
 
-                WriteResult result = future.get();
-                System.out.println("✅ Truck saved to Firestore at: " + result.getUpdateTime());
+    private void deleteTruckFromFirestore(String id) {
+        WriteBehindQueue.get().delete(EntityType.TRUCK, id).whenComplete((ok, ex) -> {
+            if (ex == null) {
+                System.out.println("✅ Truck deleted: " + id);
+                return;
+            }
+            System.err.println("❌ Failed to delete truck from Firestore");
+            ex.printStackTrace();
+            javafx.application.Platform.runLater(() ->
+                    showAlert(Alert.AlertType.ERROR, "Firestore Error",
+                            "Could not delete truck from Firestore:\n" + ex.getMessage())
+            );
+        });
+    }
 
-            } catch (Exception ex) {
-                System.err.println("❌ Failed to save truck to Firestore");
-                ex.printStackTrace();
-                javafx.application.Platform.runLater(() ->
-                        showAlert(Alert.AlertType.ERROR, "Firestore Error",
-                                "Could not save truck to Firestore:\n" + ex.getMessage())
-                );
+    /**
+     * Runs the action with the truck's full document, fetched once and cached by {@link DetailCache}
+     */
+    private void withFullTruck(Truck row, Consumer<Truck> action) {
+        DetailCache.get().load(trucks, row.getId()).whenComplete((truck, ex) -> {
+            if (ex != null) {
+                showAlert(Alert.AlertType.ERROR, "Error",
+                        "Could not load truck " + row.getId() + ":\n" + ex.getMessage());
+            } else if (truck == null) {
+                showAlert(Alert.AlertType.WARNING, "Truck Not Found",
+                        "Truck " + row.getId() + " no longer exists.");
+            } else {
+                action.accept(truck);
             }
-        }).start();
+        });
     }
 
     private void handleEditTruck(Truck truck) {
@@ -375,12 +326,13 @@ public class TruckController {
 
             // Check if truck was deleted
             if (controller.wasDeleted()) {
-                truckList.remove(truck);
+                trucks.remove(truck.getId());
+                deleteTruckFromFirestore(truck.getId());
                 System.out.println("✅ Truck deleted from list");
+            } else if (controller.wasSaved()) {
+                trucks.put(truck);
+                saveTruckToFirestore(truck);
             }
-
-            truckTable.refresh();
-            updateStats();
             System.out.println("✅ Truck edit dialog closed");
 
         } catch (Exception e) {
@@ -401,14 +353,18 @@ public class TruckController {
                 MaintenanceResult maintenance = result.get();
                 truck.setLastMaintenanceDate(maintenance.lastMaintenanceDate);
                 truck.setMaintenanceIntervalMonths(maintenance.intervalMonths);
+                truck.setRemindersEnabled(maintenance.enableReminders);
+                truck.setReminderDaysBefore(maintenance.reminderDaysBefore);
 
-                truckTable.refresh();
-                updateStats();
+                trucks.put(truck);
+                saveTruckToFirestore(truck);
 
                 System.out.println("✅ Maintenance schedule updated:");
                 System.out.println("   Last: " + maintenance.lastMaintenanceDate);
                 System.out.println("   Interval: " + maintenance.intervalMonths + " months");
                 System.out.println("   Next due: " + truck.getNextMaintenanceDue());
+                System.out.println("   Reminder: " + (maintenance.enableReminders
+                        ? maintenance.reminderDaysBefore + " days before" : "off"));
 
                 showAlert(Alert.AlertType.INFORMATION, "Success",
                         "Maintenance schedule updated!\n\n" +
@@ -0,0 +1,111 @@
+package org.example.trucklogisticsapp.controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps loaded screens (view + controller) alive so switching back to one is just a
+ * scene-graph swap.
+ *
+ * Least recently used screens are dropped beyond {@code capacity}, and everything but the
+ * screen on display is dropped when the heap is nearly full. FX thread only.
+ */
+class ViewCache {
+
+    /** Heap usage (fraction of max) above which cached screens are released */
+    static final double MEMORY_PRESSURE_THRESHOLD = 0.85;
+
+    record CachedView(String fxmlPath, Node view, Object controller) {
+    }
+
+    private final int capacity;
+    private final Map<String, CachedView> views = new LinkedHashMap<>(16, 0.75f, true);
+
+    ViewCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Returns the cached screen, loading (and caching) it if needed. Caching it may dispose
+     * the least recently used screen, which can be the one on display, so hide that first.
+     */
+    CachedView get(String fxmlPath) throws IOException {
+        CachedView cached = views.get(fxmlPath);
+        if (cached != null) return cached;
+
+        CachedView loaded = load(fxmlPath);
+        views.put(fxmlPath, loaded);
+        evictOverCapacity();
+        return loaded;
+    }
+
+    boolean contains(String fxmlPath) {
+        return views.containsKey(fxmlPath);
+    }
+
+    /**
+     * Loads and caches a screen ahead of time, only if there is room (never evicts)
+     */
+    void preload(String fxmlPath) throws IOException {
+        if (views.containsKey(fxmlPath) || views.size() >= capacity) return;
+        views.put(fxmlPath, load(fxmlPath));
+    }
+
+    /**
+     * Drops all screens except the one being shown if the heap is under pressure
+     * @return number of screens released
+     */
+    int trimIfLowMemory(String keepPath) {
+        Runtime rt = Runtime.getRuntime();
+        double used = (double) (rt.totalMemory() - rt.freeMemory()) / rt.maxMemory();
+        if (used < MEMORY_PRESSURE_THRESHOLD) return 0;
+
+        int released = 0;
+        for (Iterator<CachedView> it = views.values().iterator(); it.hasNext(); ) {
+            CachedView cached = it.next();
+            if (!cached.fxmlPath().equals(keepPath)) {
+                it.remove();
+                dispose(cached);
+                released++;
+            }
+        }
+        if (released > 0) {
+            System.out.printf("🧹 Heap %.0f%% full - released %d cached screens%n", used * 100, released);
+        }
+        return released;
+    }
+
+    private void evictOverCapacity() {
+        Iterator<CachedView> it = views.values().iterator();
+        while (views.size() > capacity && it.hasNext()) {
+            CachedView cached = it.next();
+            it.remove();
+            dispose(cached);
+        }
+    }
+
+    /**
+     * Lets a dropped screen detach from shared state (store views, listeners)
+     */
+    private static void dispose(CachedView cached) {
+        if (cached.controller() instanceof ManagedView managed) {
+            managed.onViewDisposed();
+        }
+    }
+
+    private CachedView load(String fxmlPath) throws IOException {
+        URL url = getClass().getResource(fxmlPath);
+        if (url == null)
+            throw new IllegalStateException("FXML not found: " + fxmlPath);
+
+        FXMLLoader loader = new FXMLLoader(url);
+        Node view = loader.load();
+        return new CachedView(fxmlPath, view, loader.getController());
+    }
+}
@@ -1,4 +1,92 @@
 package org.example.trucklogisticsapp.model;
 
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Application settings, read from system properties (-Dlogistics.xxx=...)
+ * with environment variable fallbacks (LOGISTICS_XXX)
+ */
 public class AppConfig {
+
+    /**
+     * Where documents are stored
+     */
+    public enum Backend {
+        FIRESTORE,  // Live Firebase project (default)
+        LOCAL       // Embedded in-memory store persisted to an append-only file
+    }
+
+    private AppConfig() {
+    }
+
+    /**
+     * Selected data backend (logistics.backend = firestore | local)
+     */
+    public static Backend getBackend() {
+        String value = get("logistics.backend", "firestore");
+        try {
+            return Backend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Unknown backend '" + value + "', falling back to Firestore");
+            return Backend.FIRESTORE;
+        }
+    }
+
+    /**
+     * Directory for local data files (logistics.dataDir, default ~/.truck-logistics)
+     */
+    public static Path getDataDir() {
+        String value = get("logistics.dataDir", null);
+        return value != null
+                ? Path.of(value)
+                : Path.of(System.getProperty("user.home"), ".truck-logistics");
+    }
+
+    /**
+     * Documents fetched per request when filling a collection (logistics.pageSize, default 500)
+     */
+    public static int getPageSize() {
+        try {
+            return Math.max(1, Integer.parseInt(get("logistics.pageSize", "500").trim()));
+        } catch (NumberFormatException e) {
+            return 500;
+        }
+    }
+
+    /**
+     * Screens kept loaded by the main layout (logistics.viewCacheSize, default 5 = all)
+     */
+    public static int getViewCacheSize() {
+        try {
+            return Math.max(1, Integer.parseInt(get("logistics.viewCacheSize", "5").trim()));
+        } catch (NumberFormatException e) {
+            return 5;
+        }
+    }
+
+    /**
+     * Whether the other screens are loaded in the background after startup
+     * (logistics.preloadViews, default true)
+     */
+    public static boolean isPreloadViews() {
+        return Boolean.parseBoolean(get("logistics.preloadViews", "true").trim());
+    }
+
+    /**
+     * Whether synced collections are kept on disk for a warm start and delta sync
+     * (logistics.offlineCache, default true)
+     */
+    public static boolean isOfflineCache() {
+        return Boolean.parseBoolean(get("logistics.offlineCache", "true").trim());
+    }
+
+    private static String get(String property, String fallback) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            String env = property.replace('.', '_').toUpperCase(Locale.ROOT);
+            value = System.getenv(env);
+        }
+        return (value == null || value.isBlank()) ? fallback : value;
+    }
 }
@@ -0,0 +1,42 @@
+package org.example.trucklogisticsapp.model;
+
+/**
+ * A driver's license / medical certificate compliance
+ */
+public enum ComplianceState {
+    COMPLIANT("Compliant"),
+    EXPIRING_SOON("Expiring Soon"),   // Both valid, one expires within EXPIRING_SOON_DAYS
+    LICENSE_EXPIRED("License Expired"),
+    MEDICAL_EXPIRED("Medical Expired"),
+    NON_COMPLIANT("Non-Compliant");
+
+    /** Days before an expiry at which a compliant driver counts as expiring soon */
+    public static final int EXPIRING_SOON_DAYS = 30;
+
+    private final String label;
+
+    ComplianceState(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * A document is valid until (not including) its expiry day
+     * @param licenseDay epoch day of license expiry, or {@link Driver#NO_DATE}
+     * @param medicalDay epoch day of medical certificate expiry, or {@link Driver#NO_DATE}
+     * @param today      current epoch day
+     */
+    public static ComplianceState of(int licenseDay, int medicalDay, long today) {
+        boolean licValid = licenseDay != Driver.NO_DATE && today < licenseDay;
+        boolean medValid = medicalDay != Driver.NO_DATE && today < medicalDay;
+
+        if (licValid && medValid) {
+            return Math.min(licenseDay, medicalDay) - today <= EXPIRING_SOON_DAYS ? EXPIRING_SOON : COMPLIANT;
+        }
+        if (!licValid && !medValid) return NON_COMPLIANT;
+        return licValid ? MEDICAL_EXPIRED : LICENSE_EXPIRED;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.trucklogisticsapp.model;
+
+/**
+ * Fleet-wide figures shown on the dashboard and the trucks / drivers headers
+ */
+public record DashboardStats(long totalTrucks, long availableTrucks, long totalDrivers, long availableDrivers,
+                             long pendingShipments, long overdueMaintenance, long fleetCapacityKg,
+                             double driverRatingSum, double shipmentValue) {
+
+    public static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    public double averageCapacityKg() {
+        return totalTrucks == 0 ? 0 : (double) fleetCapacityKg / totalTrucks;
+    }
+
+    public double averageDriverRating() {
+        return totalDrivers == 0 ? 0 : driverRatingSum / totalDrivers;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.trucklogisticsapp.model;
+
+import javafx.application.Platform;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * The app-wide "today" used by date-based statuses.
+ *
+ * {@link #today()} is a cached epoch day, so per-row status checks never touch the
+ * system clock or build a LocalDate. Once a listener is registered, a background
+ * check advances the day when the date changes (midnight, or after sleep / a clock
+ * change) and notifies listeners once, on the FX thread.
+ */
+public final class DayClock {
+
+    private static final long CHECK_INTERVAL_SECONDS = 30;
+
+    private static volatile long today = LocalDate.now().toEpochDay();
+    private static final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService timer;
+
+    private DayClock() {
+    }
+
+    /**
+     * Current day as an epoch day
+     */
+    public static long today() {
+        return today;
+    }
+
+    public static LocalDate todayDate() {
+        return LocalDate.ofEpochDay(today);
+    }
+
+    /**
+     * Called with the new epoch day whenever the date changes, on the FX thread
+     */
+    public static synchronized void addListener(LongConsumer listener) {
+        listeners.add(listener);
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "day-clock");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.scheduleWithFixedDelay(DayClock::check, CHECK_INTERVAL_SECONDS,
+                    CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public static void removeListener(LongConsumer listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Re-reads the system date and fires the tick if it has changed
+     */
+    public static void check() {
+        long now = LocalDate.now().toEpochDay();
+        if (now == today) return;
+
+        today = now;
+        Runnable tick = () -> listeners.forEach(l -> l.accept(now));
+        if (Platform.isFxApplicationThread()) {
+            tick.run();
+        } else {
+            try {
+                Platform.runLater(tick);
+            } catch (IllegalStateException toolkitNotRunning) {
+                tick.run();
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.example.trucklogisticsapp.model;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -10,6 +9,9 @@ import java.util.UUID;
  */
 public class Driver {
 
+    /** Epoch day value for a missing or unparseable date */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
     // Basic Information
     private String id;
     private String firstName;
@@ -50,6 +52,13 @@ public class Driver {
     private double totalMiles;
     private String notes;
 
+    // Expiry dates parsed once when set; compliance re-evaluated only when DayClock's day
+    // differs from the one it was evaluated for
+    private int licenseExpiryDay = NO_DATE;
+    private int medicalCertExpiryDay = NO_DATE;
+    private ComplianceState complianceState = ComplianceState.NON_COMPLIANT;
+    private long complianceDay = Long.MIN_VALUE;
+
     // =========================================================================
     // CONSTRUCTORS
     // =========================================================================
@@ -125,10 +134,18 @@ public class Driver {
     public void setLicenseClass(String licenseClass) { this.licenseClass = licenseClass; }
 
     public String getLicenseExpiry() { return licenseExpiry; }
-    public void setLicenseExpiry(String licenseExpiry) { this.licenseExpiry = licenseExpiry; }
+    public void setLicenseExpiry(String licenseExpiry) {
+        this.licenseExpiry = licenseExpiry;
+        this.licenseExpiryDay = toEpochDay(licenseExpiry);
+        this.complianceDay = Long.MIN_VALUE;
+    }
 
     public String getMedicalCertExpiry() { return medicalCertExpiry; }
-    public void setMedicalCertExpiry(String medicalCertExpiry) { this.medicalCertExpiry = medicalCertExpiry; }
+    public void setMedicalCertExpiry(String medicalCertExpiry) {
+        this.medicalCertExpiry = medicalCertExpiry;
+        this.medicalCertExpiryDay = toEpochDay(medicalCertExpiry);
+        this.complianceDay = Long.MIN_VALUE;
+    }
 
     public String getHireDate() { return hireDate; }
     public void setHireDate(String hireDate) { this.hireDate = hireDate; }
@@ -193,28 +210,42 @@ public class Driver {
         return "None";
     }
 
-    public String getComplianceStatus() {
-        LocalDate lic = stringToDate(licenseExpiry);
-        LocalDate med = stringToDate(medicalCertExpiry);
+    /**
+     * License expiry as an epoch day, or {@link #NO_DATE}
+     */
+    public int getLicenseExpiryDay() {
+        return licenseExpiryDay;
+    }
 
-        boolean licValid = lic != null && LocalDate.now().isBefore(lic);
-        boolean medValid = med != null && LocalDate.now().isBefore(med);
+    /**
+     * Medical certificate expiry as an epoch day, or {@link #NO_DATE}
+     */
+    public int getMedicalCertExpiryDay() {
+        return medicalCertExpiryDay;
+    }
 
-        if (licValid && medValid) {
-            long daysLic = ChronoUnit.DAYS.between(LocalDate.now(), lic);
-            long daysMed = ChronoUnit.DAYS.between(LocalDate.now(), med);
-            if (daysLic <= 30 || daysMed <= 30) return "Expiring Soon";
-            return "Compliant";
-        } else if (!licValid && !medValid) return "Non-Compliant";
-        else if (!licValid) return "License Expired";
-        else return "Medical Expired";
+    /**
+     * Compliance as of {@link DayClock#today()}; only re-evaluated when the day or an
+     * expiry date has changed
+     */
+    public ComplianceState getComplianceState() {
+        long today = DayClock.today();
+        if (complianceDay != today) {
+            complianceState = ComplianceState.of(licenseExpiryDay, medicalCertExpiryDay, today);
+            complianceDay = today;
+        }
+        return complianceState;
+    }
+
+    public String getComplianceStatus() {
+        return getComplianceState().getLabel();
     }
 
-    private LocalDate stringToDate(String date) {
+    private static int toEpochDay(String date) {
         try {
-            return (date == null || date.isEmpty()) ? null : LocalDate.parse(date);
+            return (date == null || date.isEmpty()) ? NO_DATE : (int) LocalDate.parse(date).toEpochDay();
         } catch (Exception e) {
-            return null;
+            return NO_DATE;
         }
     }
 
@@ -0,0 +1,36 @@
+package org.example.trucklogisticsapp.model;
+
+/**
+ * Where a truck stands relative to its next scheduled maintenance
+ */
+public enum MaintenanceState {
+    NOT_CONFIGURED("Not configured"),
+    OK("OK"),
+    DUE_SOON("Due Soon"),   // Due within DUE_SOON_DAYS
+    OVERDUE("OVERDUE");
+
+    /** Days before the due date at which maintenance counts as due soon */
+    public static final int DUE_SOON_DAYS = 30;
+
+    private final String label;
+
+    MaintenanceState(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @param dueDay epoch day of the next maintenance, or {@link Truck#NO_DUE_DAY}
+     * @param today  current epoch day
+     */
+    public static MaintenanceState of(long dueDay, long today) {
+        if (dueDay == Truck.NO_DUE_DAY) return NOT_CONFIGURED;
+        long daysUntil = dueDay - today;
+        if (daysUntil < 0) return OVERDUE;
+        if (daysUntil <= DUE_SOON_DAYS) return DUE_SOON;
+        return OK;
+    }
+}
@@ -4,22 +4,45 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-// imports to add at top
-import javafx.beans.value.ObservableValue;
-
 
+/**
+ * Shipment model.
+ *
+ * Values live in plain fields. The JavaFX property for a field is only created when
+ * something asks for it (a visible table cell or an editor) and from then on holds the
+ * value, so shipments that are only loaded, counted or filtered carry no property objects.
+ */
 public class Shipment {
 
+    /** {@link #getWeightLbs()} when the weight text has no number in it */
+    public static final int NO_WEIGHT = -1;
+
+    private String shipmentId;
+    private String route;
+    private String customer;
+    private String weight;
+    private int value;
+    private String priority;
+    private String status;
+    private String assignment;
+    private String delivery;
+    // Older documents carry the shipment total here; null when the document has none
+    private Double totalValue;
 
-    private StringProperty shipmentId = new SimpleStringProperty();
-    private StringProperty route = new SimpleStringProperty();
-    private StringProperty customer = new SimpleStringProperty();
-    private StringProperty weight = new SimpleStringProperty();
-    private IntegerProperty value = new SimpleIntegerProperty();
-    private StringProperty priority = new SimpleStringProperty();
-    private StringProperty status = new SimpleStringProperty();
-    private StringProperty assignment = new SimpleStringProperty();
-    private StringProperty delivery = new SimpleStringProperty();
+    // Created on first use
+    private StringProperty shipmentIdProperty;
+    private StringProperty routeProperty;
+    private StringProperty customerProperty;
+    private StringProperty weightProperty;
+    private IntegerProperty valueProperty;
+    private StringProperty priorityProperty;
+    private StringProperty statusProperty;
+    private StringProperty assignmentProperty;
+    private StringProperty deliveryProperty;
+
+    // Numeric weight, parsed from the weight text it was derived from
+    private String parsedWeightText;
+    private int weightLbs = NO_WEIGHT;
 
     public Shipment() {}
 
@@ -33,44 +56,131 @@ public class Shipment {
                     String assignment,
                     String delivery) {
 
-        this.shipmentId.set(shipmentId);
-        this.route.set(route);
-        this.customer.set(customer);
-        this.weight.set(weight);
-        this.value.set(value);
-        this.priority.set(priority);
-        this.status.set(status);
-        this.assignment.set(assignment);
-        this.delivery.set(delivery);
-    }
-
-    public String getShipmentId() { return shipmentId.get(); }
-    public String getRoute() { return route.get(); }
-    public String getCustomer() { return customer.get(); }
-    public String getWeight() { return weight.get(); }
-    public int getValue() { return value.get(); }
-    public String getPriority() { return priority.get(); }
-    public String getStatus() { return status.get(); }
-    public String getAssignment() { return assignment.get(); }
-    public String getDelivery() { return delivery.get(); }
-
-    public void setShipmentId(String shipmentId) { this.shipmentId.set(shipmentId); }
-    public void setRoute(String route) { this.route.set(route); }
-    public void setCustomer(String customer) { this.customer.set(customer); }
-    public void setWeight(String weight) { this.weight.set(weight); }
-    public void setValue(int value) { this.value.set(value); }
-    public void setPriority(String priority) { this.priority.set(priority); }
-    public void setStatus(String status) { this.status.set(status); }
-    public void setAssignment(String assignment) { this.assignment.set(assignment); }
-    public void setDelivery(String delivery) { this.delivery.set(delivery); }
-
-    public StringProperty shipmentIdProperty() { return shipmentId; }
-    public StringProperty routeProperty() { return route; }
-    public StringProperty customerProperty() { return customer; }
-    public StringProperty weightProperty() { return weight; }
-    public IntegerProperty valueProperty() { return value; }
-    public StringProperty priorityProperty() { return priority; }
-    public StringProperty statusProperty() { return status; }
-    public StringProperty assignmentProperty() { return assignment; }
-    public StringProperty deliveryProperty() { return delivery; }
-}
\ No newline at end of file
+        this.shipmentId = shipmentId;
+        this.route = route;
+        this.customer = customer;
+        this.weight = weight;
+        this.value = value;
+        this.priority = priority;
+        this.status = status;
+        this.assignment = assignment;
+        this.delivery = delivery;
+    }
+
+    public String getShipmentId() { return shipmentIdProperty != null ? shipmentIdProperty.get() : shipmentId; }
+    public String getRoute() { return routeProperty != null ? routeProperty.get() : route; }
+    public String getCustomer() { return customerProperty != null ? customerProperty.get() : customer; }
+    public String getWeight() { return weightProperty != null ? weightProperty.get() : weight; }
+    public int getValue() { return valueProperty != null ? valueProperty.get() : value; }
+    public String getPriority() { return priorityProperty != null ? priorityProperty.get() : priority; }
+    public String getStatus() { return statusProperty != null ? statusProperty.get() : status; }
+    public String getAssignment() { return assignmentProperty != null ? assignmentProperty.get() : assignment; }
+    public String getDelivery() { return deliveryProperty != null ? deliveryProperty.get() : delivery; }
+
+    public Double getTotalValue() { return totalValue; }
+    public void setTotalValue(Double totalValue) { this.totalValue = totalValue; }
+
+    /**
+     * What the shipment adds to the value total: {@link #getTotalValue()} when the
+     * document has one, otherwise {@link #getValue()}
+     */
+    public double getReportedValue() {
+        return ShipmentStats.reportedValue(totalValue, getValue());
+    }
+
+    public void setShipmentId(String shipmentId) {
+        if (shipmentIdProperty != null) shipmentIdProperty.set(shipmentId); else this.shipmentId = shipmentId;
+    }
+    public void setRoute(String route) {
+        if (routeProperty != null) routeProperty.set(route); else this.route = route;
+    }
+    public void setCustomer(String customer) {
+        if (customerProperty != null) customerProperty.set(customer); else this.customer = customer;
+    }
+    public void setWeight(String weight) {
+        if (weightProperty != null) weightProperty.set(weight); else this.weight = weight;
+    }
+    public void setValue(int value) {
+        if (valueProperty != null) valueProperty.set(value); else this.value = value;
+    }
+    public void setPriority(String priority) {
+        if (priorityProperty != null) priorityProperty.set(priority); else this.priority = priority;
+    }
+    public void setStatus(String status) {
+        if (statusProperty != null) statusProperty.set(status); else this.status = status;
+    }
+    public void setAssignment(String assignment) {
+        if (assignmentProperty != null) assignmentProperty.set(assignment); else this.assignment = assignment;
+    }
+    public void setDelivery(String delivery) {
+        if (deliveryProperty != null) deliveryProperty.set(delivery); else this.delivery = delivery;
+    }
+
+    public StringProperty shipmentIdProperty() {
+        if (shipmentIdProperty == null) shipmentIdProperty = new SimpleStringProperty(this, "shipmentId", shipmentId);
+        return shipmentIdProperty;
+    }
+    public StringProperty routeProperty() {
+        if (routeProperty == null) routeProperty = new SimpleStringProperty(this, "route", route);
+        return routeProperty;
+    }
+    public StringProperty customerProperty() {
+        if (customerProperty == null) customerProperty = new SimpleStringProperty(this, "customer", customer);
+        return customerProperty;
+    }
+    public StringProperty weightProperty() {
+        if (weightProperty == null) weightProperty = new SimpleStringProperty(this, "weight", weight);
+        return weightProperty;
+    }
+    public IntegerProperty valueProperty() {
+        if (valueProperty == null) valueProperty = new SimpleIntegerProperty(this, "value", value);
+        return valueProperty;
+    }
+    public StringProperty priorityProperty() {
+        if (priorityProperty == null) priorityProperty = new SimpleStringProperty(this, "priority", priority);
+        return priorityProperty;
+    }
+    public StringProperty statusProperty() {
+        if (statusProperty == null) statusProperty = new SimpleStringProperty(this, "status", status);
+        return statusProperty;
+    }
+    public StringProperty assignmentProperty() {
+        if (assignmentProperty == null) assignmentProperty = new SimpleStringProperty(this, "assignment", assignment);
+        return assignmentProperty;
+    }
+    public StringProperty deliveryProperty() {
+        if (deliveryProperty == null) deliveryProperty = new SimpleStringProperty(this, "delivery", delivery);
+        return deliveryProperty;
+    }
+
+    /**
+     * Weight in lbs parsed from the weight text (e.g. "1,200 lbs" -> 1200)
+     * @return the weight, or {@link #NO_WEIGHT}
+     */
+    public int getWeightLbs() {
+        String text = getWeight();
+        if (text != parsedWeightText) {
+            weightLbs = parseWeight(text);
+            parsedWeightText = text;
+        }
+        return weightLbs;
+    }
+
+    private static int parseWeight(String text) {
+        if (text == null) return NO_WEIGHT;
+        long n = 0;
+        boolean digits = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                n = Math.min(Integer.MAX_VALUE, n * 10 + (c - '0'));
+                digits = true;
+            } else if (c == '.' && digits) {
+                break;
+            } else if (c != ',' && digits) {
+                break;
+            }
+        }
+        return digits ? (int) n : NO_WEIGHT;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.trucklogisticsapp.model;
+
+import java.util.List;
+
+/**
+ * Header figures for the shipments screen.
+ *
+ * The rules below are the ones the backends' aggregations can apply server-side, so the
+ * figures don't depend on which path computed them.
+ */
+public record ShipmentStats(long total, long inTransit, long pending, double totalValue) {
+
+    public static final ShipmentStats EMPTY = new ShipmentStats(0, 0, 0, 0);
+
+    /** Status spellings counted as "in transit" (exact values, so Firestore can count them too) */
+    public static final List<String> IN_TRANSIT_STATUSES =
+            List.of("In Transit", "in transit", "IN TRANSIT", "InTransit", "intransit", "Transit", "transit");
+
+    /** Status spellings counted as "pending" */
+    public static final List<String> PENDING_STATUSES = List.of("Pending", "pending", "PENDING");
+
+    public enum Bucket {
+        IN_TRANSIT,
+        PENDING,
+        OTHER
+    }
+
+    /**
+     * A shipment's share of the value total: "totalValue" when the document has a numeric
+     * one, otherwise "value" (0 if that isn't numeric either)
+     */
+    public static double reportedValue(Object totalValue, Object value) {
+        if (totalValue instanceof Number n) return n.doubleValue();
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+
+    /**
+     * Which counter a status contributes to: only the exact spellings listed above count
+     */
+    public static Bucket bucketOf(String status) {
+        if (status == null) return Bucket.OTHER;
+        if (IN_TRANSIT_STATUSES.contains(status)) return Bucket.IN_TRANSIT;
+        if (PENDING_STATUSES.contains(status)) return Bucket.PENDING;
+        return Bucket.OTHER;
+    }
+}
@@ -1,8 +1,6 @@
 package org.example.trucklogisticsapp.model;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -12,6 +10,9 @@ import java.util.UUID;
  */
 public class Truck {
 
+    /** {@link #getNextMaintenanceDueDay()} when no maintenance schedule is configured */
+    public static final long NO_DUE_DAY = Long.MAX_VALUE;
+
     // Basic truck information
     private String id;
     private String vin;
@@ -31,6 +32,14 @@ public class Truck {
     // Maintenance tracking fields
     private LocalDate lastMaintenanceDate;
     private int maintenanceIntervalMonths = 6; // Default 6 months
+    private boolean remindersEnabled = false;
+    private int reminderDaysBefore = 30;
+
+    // Derived maintenance state: due day is recomputed when the schedule changes,
+    // the state only when DayClock's day differs from the one it was evaluated for
+    private long nextDueDay = NO_DUE_DAY;
+    private MaintenanceState maintenanceState = MaintenanceState.NOT_CONFIGURED;
+    private long stateDay = Long.MIN_VALUE;
 
     // ========================================
     // CONSTRUCTORS
@@ -184,6 +193,7 @@ public class Truck {
 
     public void setLastMaintenanceDate(LocalDate lastMaintenanceDate) {
         this.lastMaintenanceDate = lastMaintenanceDate;
+        updateNextDue();
     }
 
     public int getMaintenanceIntervalMonths() {
@@ -192,47 +202,71 @@ public class Truck {
 
     public void setMaintenanceIntervalMonths(int maintenanceIntervalMonths) {
         this.maintenanceIntervalMonths = maintenanceIntervalMonths;
+        updateNextDue();
+    }
+
+    public boolean isRemindersEnabled() {
+        return remindersEnabled;
+    }
+
+    public void setRemindersEnabled(boolean remindersEnabled) {
+        this.remindersEnabled = remindersEnabled;
+    }
+
+    public int getReminderDaysBefore() {
+        return reminderDaysBefore;
+    }
+
+    public void setReminderDaysBefore(int reminderDaysBefore) {
+        this.reminderDaysBefore = reminderDaysBefore;
     }
 
     // ========================================
     // MAINTENANCE TRACKING - CALCULATED METHODS
     // ========================================
 
+    private void updateNextDue() {
+        nextDueDay = (lastMaintenanceDate == null || maintenanceIntervalMonths <= 0)
+                ? NO_DUE_DAY
+                : lastMaintenanceDate.plusMonths(maintenanceIntervalMonths).toEpochDay();
+        stateDay = Long.MIN_VALUE;
+    }
+
     /**
      * Calculates when the next maintenance is due
      * @return LocalDate of next maintenance, or null if not configured
      */
     public LocalDate getNextMaintenanceDue() {
-        if (lastMaintenanceDate == null || maintenanceIntervalMonths <= 0) {
-            return null;
-        }
-        return lastMaintenanceDate.plusMonths(maintenanceIntervalMonths);
+        return nextDueDay == NO_DUE_DAY ? null : LocalDate.ofEpochDay(nextDueDay);
     }
 
     /**
-     * Gets a human-readable maintenance status string with color indicators
-     * @return Status string (e.g., "✓ Next: Jul 15 (150 days)" or "🔴 OVERDUE (45 days)")
+     * Epoch day of the next maintenance
+     * @return epoch day, or {@link #NO_DUE_DAY} if not configured
      */
-    public String getMaintenanceStatus() {
-        LocalDate nextDue = getNextMaintenanceDue();
+    public long getNextMaintenanceDueDay() {
+        return nextDueDay;
+    }
 
-        if (nextDue == null) {
-            return "Not configured";
+    /**
+     * Maintenance state as of {@link DayClock#today()}; only re-evaluated when the day
+     * or the schedule has changed
+     */
+    public MaintenanceState getMaintenanceState() {
+        long today = DayClock.today();
+        if (stateDay != today) {
+            maintenanceState = MaintenanceState.of(nextDueDay, today);
+            stateDay = today;
         }
+        return maintenanceState;
+    }
 
-        long daysUntil = ChronoUnit.DAYS.between(LocalDate.now(), nextDue);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd");
-
-        if (daysUntil < 0) {
-            // Overdue - RED
-            return "OVERDUE";
-        } else if (daysUntil <= 30) {
-            // Due soon (within 30 days) - ORANGE
-            return "Due Soon";
-        } else {
-            // All good - GREEN
-            return "OK";
-        }
+    /**
+     * Gets a human-readable maintenance status string
+     * @return "OK", "Due Soon", "OVERDUE" or "Not configured"
+     */
+    public String getMaintenanceStatus() {
+        return getMaintenanceState().getLabel();
     }
 
     /**
@@ -240,11 +274,7 @@ public class Truck {
      * @return true if overdue, false otherwise
      */
     public boolean isMaintenanceOverdue() {
-        LocalDate nextDue = getNextMaintenanceDue();
-        if (nextDue == null) {
-            return false;
-        }
-        return LocalDate.now().isAfter(nextDue);
+        return getMaintenanceState() == MaintenanceState.OVERDUE;
     }
 
     /**
@@ -252,12 +282,7 @@ public class Truck {
      * @return true if due soon, false otherwise
      */
     public boolean isMaintenanceDueSoon() {
-        LocalDate nextDue = getNextMaintenanceDue();
-        if (nextDue == null) {
-            return false;
-        }
-        long daysUntil = ChronoUnit.DAYS.between(LocalDate.now(), nextDue);
-        return daysUntil >= 0 && daysUntil <= 30;
+        return getMaintenanceState() == MaintenanceState.DUE_SOON;
     }
 
     /**
@@ -266,19 +291,16 @@ public class Truck {
      * @return days until maintenance (negative if overdue, Long.MAX_VALUE if not configured)
      */
     public long getDaysUntilMaintenance() {
-        LocalDate nextDue = getNextMaintenanceDue();
-        if (nextDue == null) {
-            return Long.MAX_VALUE;
-        }
-        return ChronoUnit.DAYS.between(LocalDate.now(), nextDue);
+        return nextDueDay == NO_DUE_DAY ? Long.MAX_VALUE : nextDueDay - DayClock.today();
     }
 
     /**
      * Marks maintenance as completed (sets last maintenance to today)
      */
     public void markMaintenanceCompleted() {
-        this.lastMaintenanceDate = LocalDate.now();
+        this.lastMaintenanceDate = DayClock.todayDate();
         this.needsMaintenance = false;
+        updateNextDue();
     }
 
     // ========================================
@@ -0,0 +1,46 @@
+package org.example.trucklogisticsapp.repository;
+
+/**
+ * One document change reported by a repository listener
+ * @param value the mapped document (null for REMOVED)
+ * @param stamp the backend's write time in epoch millis ({@link DeltaSync#UPDATED_AT}, or
+ *              {@link DeltaSync#DELETED_AT} for a tombstone), {@link #NO_STAMP} when unknown
+ */
+public record Change<T>(Type type, String id, T value, long stamp) {
+
+    public static final long NO_STAMP = 0;
+
+    public enum Type {
+        ADDED,
+        MODIFIED,
+        REMOVED
+    }
+
+    public Change(Type type, String id, T value) {
+        this(type, id, value, NO_STAMP);
+    }
+
+    public static <T> Change<T> added(String id, T value) {
+        return new Change<>(Type.ADDED, id, value);
+    }
+
+    public static <T> Change<T> added(String id, T value, long stamp) {
+        return new Change<>(Type.ADDED, id, value, stamp);
+    }
+
+    public static <T> Change<T> modified(String id, T value) {
+        return new Change<>(Type.MODIFIED, id, value);
+    }
+
+    public static <T> Change<T> modified(String id, T value, long stamp) {
+        return new Change<>(Type.MODIFIED, id, value, stamp);
+    }
+
+    public static <T> Change<T> removed(String id) {
+        return new Change<>(Type.REMOVED, id, null);
+    }
+
+    public static <T> Change<T> removed(String id, long stamp) {
+        return new Change<>(Type.REMOVED, id, null, stamp);
+    }
+}
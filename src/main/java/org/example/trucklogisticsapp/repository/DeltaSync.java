@@ -0,0 +1,37 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bookkeeping fields that let a client fetch only what changed since its last sync.
+ *
+ * Every write stamps the document with {@link #UPDATED_AT}. Every delete leaves a small
+ * tombstone, stamped with {@link #DELETED_AT}, in a side collection named
+ * {@code <collection>_deletions}. The main collection stays exactly as before, so reads
+ * and aggregations need no filtering. Tombstones older than {@link #TOMBSTONE_TTL_MS}
+ * are purged, which means a client that last synced before then must reload in full.
+ *
+ * Ids can be reused (shipment numbers, user-typed maintenance ids), so saving a document
+ * also removes its tombstone in the same write, and listeners drop a tombstone that is
+ * not newer than the document's own {@link #UPDATED_AT}.
+ */
+public final class DeltaSync {
+
+    /** Last write time: server timestamp on Firestore, epoch millis on the local backend */
+    public static final String UPDATED_AT = "updatedAt";
+
+    /** Delete time, on tombstones */
+    public static final String DELETED_AT = "deletedAt";
+
+    public static final long TOMBSTONE_TTL_MS = TimeUnit.DAYS.toMillis(30);
+
+    /** Ignore {@code since} - listen to the whole collection */
+    public static final long EVERYTHING = Long.MIN_VALUE;
+
+    private DeltaSync() {
+    }
+
+    public static String deletionsCollection(String collection) {
+        return collection + "_deletions";
+    }
+}
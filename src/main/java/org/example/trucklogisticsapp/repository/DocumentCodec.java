@@ -0,0 +1,21 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.Map;
+
+/**
+ * Converts one model type to and from a document's field map, field by field.
+ * Shared by every backend, so documents look the same wherever they are stored.
+ */
+public interface DocumentCodec<T> {
+
+    /**
+     * Reads the fields present in {@code fields} into a new entity. Missing fields keep the
+     * model's defaults. The id is set separately by the caller.
+     */
+    T decode(Map<String, Object> fields);
+
+    /**
+     * Stored fields of the entity (derived values are not written)
+     */
+    Map<String, Object> encode(T entity);
+}
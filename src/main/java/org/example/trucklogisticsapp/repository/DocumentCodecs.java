@@ -0,0 +1,265 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written codecs for the four models.
+ *
+ * They replace reflective bean mapping (Firestore's toObject / set(pojo)): no
+ * introspection, no per-field Method.invoke, and only stored properties are written.
+ * Field names match the bean property names, so existing documents read unchanged.
+ * Numbers are accepted as any Number (Firestore returns Long / Double) and dates are
+ * stored as "YYYY-MM-DD" strings.
+ */
+final class DocumentCodecs {
+
+    private DocumentCodecs() {
+    }
+
+    // ========================================
+    // TRUCK
+    // ========================================
+
+    static final DocumentCodec<Truck> TRUCK = new DocumentCodec<>() {
+        @Override
+        public Truck decode(Map<String, Object> f) {
+            Truck t = new Truck();
+            t.setVin(string(f, "vin", t.getVin()));
+            t.setMake(string(f, "make", t.getMake()));
+            t.setModel(string(f, "model", t.getModel()));
+            t.setYear(integer(f, "year", t.getYear()));
+            t.setMileage(decimal(f, "mileage", t.getMileage()));
+            t.setCapacityKg(integer(f, "capacityKg", t.getCapacityKg()));
+            t.setPlateNumber(string(f, "plateNumber", t.getPlateNumber()));
+            t.setSource(string(f, "source", t.getSource()));
+            t.setNotes(string(f, "notes", t.getNotes()));
+            t.setAvailable(bool(f, "available", t.isAvailable()));
+            t.setNeedsMaintenance(bool(f, "needsMaintenance", t.isNeedsMaintenance()));
+            t.setLastMaintenanceDate(date(f, "lastMaintenanceDate", t.getLastMaintenanceDate()));
+            t.setMaintenanceIntervalMonths(integer(f, "maintenanceIntervalMonths", t.getMaintenanceIntervalMonths()));
+            t.setRemindersEnabled(bool(f, "remindersEnabled", t.isRemindersEnabled()));
+            t.setReminderDaysBefore(integer(f, "reminderDaysBefore", t.getReminderDaysBefore()));
+            return t;
+        }
+
+        @Override
+        public Map<String, Object> encode(Truck t) {
+            Map<String, Object> f = new HashMap<>(24);
+            f.put("id", t.getId());
+            f.put("vin", t.getVin());
+            f.put("make", t.getMake());
+            f.put("model", t.getModel());
+            f.put("year", t.getYear());
+            f.put("mileage", t.getMileage());
+            f.put("capacityKg", t.getCapacityKg());
+            f.put("plateNumber", t.getPlateNumber());
+            f.put("source", t.getSource());
+            f.put("notes", t.getNotes());
+            f.put("available", t.isAvailable());
+            f.put("needsMaintenance", t.isNeedsMaintenance());
+            f.put("lastMaintenanceDate", dateString(t.getLastMaintenanceDate()));
+            f.put("maintenanceIntervalMonths", t.getMaintenanceIntervalMonths());
+            f.put("remindersEnabled", t.isRemindersEnabled());
+            f.put("reminderDaysBefore", t.getReminderDaysBefore());
+            return f;
+        }
+    };
+
+    // ========================================
+    // DRIVER
+    // ========================================
+
+    static final DocumentCodec<Driver> DRIVER = new DocumentCodec<>() {
+        @Override
+        public Driver decode(Map<String, Object> f) {
+            Driver d = new Driver();
+            d.setFirstName(string(f, "firstName", d.getFirstName()));
+            d.setLastName(string(f, "lastName", d.getLastName()));
+            d.setEmail(string(f, "email", d.getEmail()));
+            d.setPhone(string(f, "phone", d.getPhone()));
+            d.setDateOfBirth(string(f, "dateOfBirth", d.getDateOfBirth()));
+            d.setAddress(string(f, "address", d.getAddress()));
+            d.setCity(string(f, "city", d.getCity()));
+            d.setState(string(f, "state", d.getState()));
+            d.setZipCode(string(f, "zipCode", d.getZipCode()));
+            d.setLicenseNumber(string(f, "licenseNumber", d.getLicenseNumber()));
+            d.setLicenseState(string(f, "licenseState", d.getLicenseState()));
+            d.setLicenseClass(string(f, "licenseClass", d.getLicenseClass()));
+            d.setLicenseExpiry(string(f, "licenseExpiry", d.getLicenseExpiry()));
+            d.setMedicalCertExpiry(string(f, "medicalCertExpiry", d.getMedicalCertExpiry()));
+            d.setHireDate(string(f, "hireDate", d.getHireDate()));
+            d.setStatus(string(f, "status", d.getStatus()));
+            d.setAvailable(bool(f, "available", d.isAvailable()));
+            d.setAssignedTruckId(string(f, "assignedTruckId", d.getAssignedTruckId()));
+            d.setHazmatEndorsement(bool(f, "hazmatEndorsement", d.isHazmatEndorsement()));
+            d.setTankersEndorsement(bool(f, "tankersEndorsement", d.isTankersEndorsement()));
+            d.setDoublesEndorsement(bool(f, "doublesEndorsement", d.isDoublesEndorsement()));
+            d.setRating(decimal(f, "rating", d.getRating()));
+            d.setTotalTrips(integer(f, "totalTrips", d.getTotalTrips()));
+            d.setTotalMiles(decimal(f, "totalMiles", d.getTotalMiles()));
+            d.setNotes(string(f, "notes", d.getNotes()));
+            return d;
+        }
+
+        @Override
+        public Map<String, Object> encode(Driver d) {
+            Map<String, Object> f = new HashMap<>(40);
+            f.put("id", d.getId());
+            f.put("firstName", d.getFirstName());
+            f.put("lastName", d.getLastName());
+            f.put("email", d.getEmail());
+            f.put("phone", d.getPhone());
+            f.put("dateOfBirth", d.getDateOfBirth());
+            f.put("address", d.getAddress());
+            f.put("city", d.getCity());
+            f.put("state", d.getState());
+            f.put("zipCode", d.getZipCode());
+            f.put("licenseNumber", d.getLicenseNumber());
+            f.put("licenseState", d.getLicenseState());
+            f.put("licenseClass", d.getLicenseClass());
+            f.put("licenseExpiry", d.getLicenseExpiry());
+            f.put("medicalCertExpiry", d.getMedicalCertExpiry());
+            f.put("hireDate", d.getHireDate());
+            f.put("status", d.getStatus());
+            f.put("available", d.isAvailable());
+            f.put("assignedTruckId", d.getAssignedTruckId());
+            f.put("hazmatEndorsement", d.isHazmatEndorsement());
+            f.put("tankersEndorsement", d.isTankersEndorsement());
+            f.put("doublesEndorsement", d.isDoublesEndorsement());
+            f.put("rating", d.getRating());
+            f.put("totalTrips", d.getTotalTrips());
+            f.put("totalMiles", d.getTotalMiles());
+            f.put("notes", d.getNotes());
+            return f;
+        }
+    };
+
+    // ========================================
+    // SHIPMENT
+    // ========================================
+
+    static final DocumentCodec<Shipment> SHIPMENT = new DocumentCodec<>() {
+        @Override
+        public Shipment decode(Map<String, Object> f) {
+            // Plain fields - no JavaFX properties are created while mapping
+            Shipment s = new Shipment(
+                    string(f, "shipmentId", null),
+                    string(f, "route", null),
+                    string(f, "customer", null),
+                    string(f, "weight", null),
+                    integer(f, "value", 0),
+                    string(f, "priority", null),
+                    string(f, "status", null),
+                    string(f, "assignment", null),
+                    string(f, "delivery", null));
+            if (f.get("totalValue") instanceof Number n) s.setTotalValue(n.doubleValue());
+            return s;
+        }
+
+        @Override
+        public Map<String, Object> encode(Shipment s) {
+            Map<String, Object> f = new HashMap<>(16);
+            f.put("shipmentId", s.getShipmentId());
+            f.put("route", s.getRoute());
+            f.put("customer", s.getCustomer());
+            f.put("weight", s.getWeight());
+            f.put("value", s.getValue());
+            f.put("priority", s.getPriority());
+            f.put("status", s.getStatus());
+            f.put("assignment", s.getAssignment());
+            f.put("delivery", s.getDelivery());
+            // Kept so that saving an older document does not drop its total
+            if (s.getTotalValue() != null) f.put("totalValue", s.getTotalValue());
+            return f;
+        }
+    };
+
+    // ========================================
+    // MAINTENANCE RECORD
+    // ========================================
+
+    static final DocumentCodec<MaintenanceRecord> MAINTENANCE = new DocumentCodec<>() {
+        @Override
+        public MaintenanceRecord decode(Map<String, Object> f) {
+            return new MaintenanceRecord(
+                    string(f, "recordId", null),
+                    string(f, "truckId", null),
+                    string(f, "type", null),
+                    string(f, "scheduledDate", null),
+                    decimal(f, "cost", 0),
+                    string(f, "status", null));
+        }
+
+        @Override
+        public Map<String, Object> encode(MaintenanceRecord m) {
+            Map<String, Object> f = new HashMap<>(12);
+            f.put("recordId", m.getRecordId());
+            f.put("truckId", m.getTruckId());
+            f.put("type", m.getType());
+            f.put("scheduledDate", m.getScheduledDate());
+            f.put("cost", m.getCost());
+            f.put("status", m.getStatus());
+            return f;
+        }
+    };
+
+    // ========================================
+    // FIELD READERS
+    // ========================================
+
+    // Each returns the fallback when the field is absent, as bean mapping leaves such fields alone
+
+    private static String string(Map<String, Object> f, String name, String fallback) {
+        if (!f.containsKey(name)) return fallback;
+        Object v = f.get(name);
+        return v == null ? null : v.toString();
+    }
+
+    private static int integer(Map<String, Object> f, String name, int fallback) {
+        return f.get(name) instanceof Number n ? n.intValue() : fallback;
+    }
+
+    private static double decimal(Map<String, Object> f, String name, double fallback) {
+        return f.get(name) instanceof Number n ? n.doubleValue() : fallback;
+    }
+
+    private static boolean bool(Map<String, Object> f, String name, boolean fallback) {
+        return f.get(name) instanceof Boolean b ? b : fallback;
+    }
+
+    /**
+     * Accepts "YYYY-MM-DD", a longer ISO timestamp, or a LocalDate that an older client
+     * serialized as a bean map (year / monthValue / dayOfMonth)
+     */
+    private static LocalDate date(Map<String, Object> f, String name, LocalDate fallback) {
+        if (!f.containsKey(name)) return fallback;
+        Object v = f.get(name);
+        try {
+            if (v instanceof LocalDate d) return d;
+            if (v instanceof Map<?, ?> m
+                    && m.get("year") instanceof Number y
+                    && m.get("monthValue") instanceof Number mo
+                    && m.get("dayOfMonth") instanceof Number d) {
+                return LocalDate.of(y.intValue(), mo.intValue(), d.intValue());
+            }
+            if (v != null) {
+                String s = v.toString();
+                return LocalDate.parse(s.length() > 10 ? s.substring(0, 10) : s);
+            }
+        } catch (RuntimeException e) {
+            // Unparseable - treat as not set
+        }
+        return null;
+    }
+
+    private static String dateString(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Driver;
+
+/**
+ * Repository for the "drivers" collection
+ */
+public interface DriverRepository extends Repository<Driver> {
+}
@@ -0,0 +1,113 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Describes how a model class is stored: its collection, how to read/write its id and
+ * how to convert it to and from document fields. Shared by every backend so they agree
+ * on naming and document shape.
+ */
+public final class EntityType<T> {
+
+    public static final EntityType<Truck> TRUCK =
+            new EntityType<>("trucks", Truck.class, Truck::new, Truck::getId, Truck::setId,
+                    DocumentCodecs.TRUCK, ModelSymbols::intern);
+
+    public static final EntityType<Driver> DRIVER =
+            new EntityType<>("drivers", Driver.class, Driver::new, Driver::getId, Driver::setId,
+                    DocumentCodecs.DRIVER, ModelSymbols::intern);
+
+    public static final EntityType<Shipment> SHIPMENT =
+            new EntityType<>("shipments", Shipment.class, Shipment::new,
+                    Shipment::getShipmentId, Shipment::setShipmentId, DocumentCodecs.SHIPMENT,
+                    ModelSymbols::intern);
+
+    public static final EntityType<MaintenanceRecord> MAINTENANCE =
+            new EntityType<>("maintenance", MaintenanceRecord.class, MaintenanceRecord::new,
+                    MaintenanceRecord::getRecordId, MaintenanceRecord::setRecordId,
+                    DocumentCodecs.MAINTENANCE, ModelSymbols::intern);
+
+    private final String collection;
+    private final Class<T> modelClass;
+    private final Supplier<T> factory;
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+    private final DocumentCodec<T> codec;
+    private final Consumer<T> interner;
+
+    private EntityType(String collection, Class<T> modelClass, Supplier<T> factory,
+                       Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+                       DocumentCodec<T> codec, Consumer<T> interner) {
+        this.collection = collection;
+        this.modelClass = modelClass;
+        this.factory = factory;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.codec = codec;
+        this.interner = interner;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public Class<T> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Creates an empty instance (used when mapping documents)
+     */
+    public T newInstance() {
+        return factory.get();
+    }
+
+    public String getId(T entity) {
+        return idGetter.apply(entity);
+    }
+
+    public void setId(T entity, String id) {
+        idSetter.accept(entity, id);
+    }
+
+    /**
+     * Maps a document to a new entity: fields via the type's codec, id from the document
+     * id, and repetitive strings swapped for shared instances (see {@link SymbolTable}).
+     * @param fields document fields, or null for a document without data
+     */
+    public T decode(String id, Map<String, Object> fields) {
+        T entity = fields == null ? newInstance() : codec.decode(fields);
+        setId(entity, id);
+        interner.accept(entity);
+        return entity;
+    }
+
+    /**
+     * Document fields for the entity (stored properties only)
+     */
+    public Map<String, Object> encode(T entity) {
+        return codec.encode(entity);
+    }
+
+    /**
+     * True if the entity already carries a usable document id
+     */
+    public boolean hasId(T entity) {
+        String id = getId(entity);
+        return id != null && !id.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return collection;
+    }
+}
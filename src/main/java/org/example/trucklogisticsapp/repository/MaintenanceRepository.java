@@ -0,0 +1,9 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+
+/**
+ * Repository for the "maintenance" collection
+ */
+public interface MaintenanceRepository extends Repository<MaintenanceRecord> {
+}
@@ -0,0 +1,58 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+
+/**
+ * Which fields of each model are interned after mapping (see {@link SymbolTable}).
+ * Only fields with few distinct values across a collection are listed.
+ */
+final class ModelSymbols {
+
+    private static final SymbolTable.Pool TRUCK_MAKE = SymbolTable.pool("trucks.make");
+    private static final SymbolTable.Pool TRUCK_MODEL = SymbolTable.pool("trucks.model");
+    private static final SymbolTable.Pool TRUCK_SOURCE = SymbolTable.pool("trucks.source");
+
+    private static final SymbolTable.Pool DRIVER_LICENSE_STATE = SymbolTable.pool("drivers.licenseState");
+    private static final SymbolTable.Pool DRIVER_LICENSE_CLASS = SymbolTable.pool("drivers.licenseClass");
+    private static final SymbolTable.Pool DRIVER_STATUS = SymbolTable.pool("drivers.status");
+    private static final SymbolTable.Pool DRIVER_CITY = SymbolTable.pool("drivers.city");
+    private static final SymbolTable.Pool DRIVER_STATE = SymbolTable.pool("drivers.state");
+
+    private static final SymbolTable.Pool SHIPMENT_STATUS = SymbolTable.pool("shipments.status");
+    private static final SymbolTable.Pool SHIPMENT_PRIORITY = SymbolTable.pool("shipments.priority");
+    private static final SymbolTable.Pool SHIPMENT_CUSTOMER = SymbolTable.pool("shipments.customer");
+
+    private static final SymbolTable.Pool MAINTENANCE_TYPE = SymbolTable.pool("maintenance.type");
+    private static final SymbolTable.Pool MAINTENANCE_STATUS = SymbolTable.pool("maintenance.status");
+
+    private ModelSymbols() {
+    }
+
+    static void intern(Truck t) {
+        t.setMake(TRUCK_MAKE.intern(t.getMake()));
+        t.setModel(TRUCK_MODEL.intern(t.getModel()));
+        t.setSource(TRUCK_SOURCE.intern(t.getSource()));
+    }
+
+    static void intern(Driver d) {
+        d.setLicenseState(DRIVER_LICENSE_STATE.intern(d.getLicenseState()));
+        d.setLicenseClass(DRIVER_LICENSE_CLASS.intern(d.getLicenseClass()));
+        d.setStatus(DRIVER_STATUS.intern(d.getStatus()));
+        d.setCity(DRIVER_CITY.intern(d.getCity()));
+        d.setState(DRIVER_STATE.intern(d.getState()));
+    }
+
+    static void intern(Shipment s) {
+        s.setStatus(SHIPMENT_STATUS.intern(s.getStatus()));
+        s.setPriority(SHIPMENT_PRIORITY.intern(s.getPriority()));
+        s.setCustomer(SHIPMENT_CUSTOMER.intern(s.getCustomer()));
+    }
+
+    static void intern(MaintenanceRecord m) {
+        m.setType(MAINTENANCE_TYPE.intern(m.getType()));
+        m.setStatus(MAINTENANCE_STATUS.intern(m.getStatus()));
+    }
+}
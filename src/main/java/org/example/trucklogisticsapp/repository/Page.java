@@ -0,0 +1,14 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.List;
+
+/**
+ * One page of documents, ordered by document id
+ * @param nextCursor id to pass as {@code afterId} for the next page, or null if this was the last one
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
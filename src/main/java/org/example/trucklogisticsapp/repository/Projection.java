@@ -0,0 +1,32 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.List;
+
+/**
+ * The document fields a read should fetch. Entities read through a projection only
+ * carry those fields; everything else keeps the model's defaults, so such entities must
+ * not be written back (load the full document first).
+ * @param name   label for logs
+ * @param fields stored field names, empty for whole documents
+ */
+public record Projection(String name, List<String> fields) {
+
+    /** Whole documents */
+    public static final Projection ALL = new Projection("all", List.of());
+
+    public Projection {
+        fields = List.copyOf(fields);
+    }
+
+    public static Projection of(String name, String... fields) {
+        return new Projection(name, List.of(fields));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    public String[] fieldArray() {
+        return fields.toArray(String[]::new);
+    }
+}
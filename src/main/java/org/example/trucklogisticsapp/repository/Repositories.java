@@ -0,0 +1,127 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.config.FirebaseConfig;
+import org.example.trucklogisticsapp.model.AppConfig;
+import org.example.trucklogisticsapp.repository.firestore.FirestoreDriverRepository;
+import org.example.trucklogisticsapp.repository.firestore.FirestoreMaintenanceRepository;
+import org.example.trucklogisticsapp.repository.firestore.FirestoreShipmentRepository;
+import org.example.trucklogisticsapp.repository.firestore.FirestoreTruckRepository;
+import org.example.trucklogisticsapp.repository.local.LocalDriverRepository;
+import org.example.trucklogisticsapp.repository.local.LocalMaintenanceRepository;
+import org.example.trucklogisticsapp.repository.local.LocalRepository;
+import org.example.trucklogisticsapp.repository.local.LocalShipmentRepository;
+import org.example.trucklogisticsapp.repository.local.LocalTruckRepository;
+
+import java.nio.file.Path;
+
+/**
+ * Holds the repositories for the backend selected at startup (see {@link AppConfig#getBackend()})
+ */
+public final class Repositories {
+
+    private static volatile Repositories current;
+
+    private final AppConfig.Backend backend;
+    private final TruckRepository trucks;
+    private final DriverRepository drivers;
+    private final ShipmentRepository shipments;
+    private final MaintenanceRepository maintenance;
+
+    private Repositories(AppConfig.Backend backend, Path dataDir) {
+        this.backend = backend;
+        if (backend == AppConfig.Backend.LOCAL) {
+            trucks = new LocalTruckRepository(dataDir);
+            drivers = new LocalDriverRepository(dataDir);
+            shipments = new LocalShipmentRepository(dataDir);
+            maintenance = new LocalMaintenanceRepository(dataDir);
+        } else {
+            // Credential parsing and client setup - keep off the FX thread (see StartupPipeline)
+            FirebaseConfig.initializeFirebase();
+            trucks = new FirestoreTruckRepository();
+            drivers = new FirestoreDriverRepository();
+            shipments = new FirestoreShipmentRepository();
+            maintenance = new FirestoreMaintenanceRepository();
+        }
+    }
+
+    /**
+     * Selects the backend explicitly (e.g. from a benchmark). Must be called before first use.
+     * @param dataDir local data directory, or null for a purely in-memory local store
+     */
+    public static synchronized void init(AppConfig.Backend backend, Path dataDir) {
+        if (current != null) {
+            throw new IllegalStateException("Repositories already initialized for " + current.backend);
+        }
+        current = new Repositories(backend, dataDir);
+        System.out.println("🗄️ Using " + backend + " backend"
+                + (backend == AppConfig.Backend.LOCAL ? " (" + (dataDir == null ? "in-memory" : dataDir) + ")" : ""));
+    }
+
+    private static Repositories current() {
+        Repositories r = current;
+        if (r == null) {
+            synchronized (Repositories.class) {
+                if (current == null) {
+                    init(AppConfig.getBackend(), AppConfig.getDataDir());
+                }
+                r = current;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Initializes the configured backend now rather than on first use.
+     * Blocks (credentials, local files), so call it from an I/O thread.
+     */
+    public static void initialize() {
+        current();
+    }
+
+    public static AppConfig.Backend getBackend() {
+        return current().backend;
+    }
+
+    /**
+     * Repository for the given model type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Repository<T> of(EntityType<T> type) {
+        Repositories r = current();
+        for (Repository<?> repo : new Repository<?>[]{r.trucks, r.drivers, r.shipments, r.maintenance}) {
+            if (repo.getType() == type) {
+                return (Repository<T>) repo;
+            }
+        }
+        throw new IllegalArgumentException("No repository for " + type);
+    }
+
+    public static TruckRepository trucks() {
+        return current().trucks;
+    }
+
+    public static DriverRepository drivers() {
+        return current().drivers;
+    }
+
+    public static ShipmentRepository shipments() {
+        return current().shipments;
+    }
+
+    public static MaintenanceRepository maintenance() {
+        return current().maintenance;
+    }
+
+    /**
+     * Releases backend resources (local files) on shutdown
+     */
+    public static synchronized void close() {
+        if (current == null) return;
+        SymbolTable.logStats();
+        for (Repository<?> repo : new Repository<?>[]{current.trucks, current.drivers, current.shipments, current.maintenance}) {
+            if (repo instanceof LocalRepository<?> local) {
+                local.close();
+            }
+        }
+    }
+}
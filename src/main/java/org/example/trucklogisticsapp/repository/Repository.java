@@ -0,0 +1,115 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage-agnostic access to one collection of documents.
+ *
+ * Calls block, so they should run on the I/O scheduler rather than the FX thread.
+ * Backend failures are reported as {@link RepositoryException}.
+ */
+public interface Repository<T> {
+
+    /**
+     * Describes the stored model (collection name, id accessors)
+     */
+    EntityType<T> getType();
+
+    /**
+     * Firestore collection / local file name
+     */
+    default String getCollection() {
+        return getType().getCollection();
+    }
+
+    /**
+     * Loads every document in the collection
+     */
+    List<T> findAll();
+
+    /**
+     * Loads up to {@code pageSize} documents in document-id order, starting after {@code afterId}
+     * @param afterId cursor from the previous page, or null for the first page
+     */
+    Page<T> findPage(String afterId, int pageSize);
+
+    /**
+     * Like {@link #findPage(String, int)}, reading only the projected fields where the
+     * backend can (the rest keep the model defaults). Backends that hold documents locally
+     * return whole documents.
+     */
+    default Page<T> findPage(String afterId, int pageSize, Projection projection) {
+        return findPage(afterId, pageSize);
+    }
+
+    /**
+     * Loads a single document
+     */
+    Optional<T> findById(String id);
+
+    /**
+     * Creates or replaces a document. Assigns a new id first if the entity has none.
+     * @return the document id
+     */
+    String save(T entity);
+
+    /**
+     * Removes a document (no-op if it does not exist)
+     */
+    void delete(String id);
+
+    /**
+     * Applies several saves and deletes together (Firestore: WriteBatch commits of up to
+     * 500 operations). Entities must already carry their id.
+     */
+    default void writeAll(Collection<T> saves, Collection<String> deletes) {
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        for (T entity : saves) {
+            documents.put(getType().getId(entity), getType().encode(entity));
+        }
+        writeDocuments(documents, Map.of(), deletes);
+    }
+
+    /**
+     * Like {@link #writeAll}, with the saved documents already encoded
+     * ({@link EntityType#encode}) and keyed by id. The maps are not modified or kept.
+     * @param updates fields to merge into the stored documents, leaving their other fields
+     *                as they are (for entities read through a {@link Projection})
+     */
+    void writeDocuments(Map<String, Map<String, Object>> saves, Map<String, Map<String, Object>> updates,
+                        Collection<String> deletes);
+
+    /**
+     * Streams changes to the collection: first every existing document as ADDED (one batch,
+     * possibly empty), then adds/modifies/removes as they happen.
+     * Callbacks arrive on a backend thread, never the FX thread.
+     */
+    Subscription listen(Consumer<List<Change<T>>> listener);
+
+    /**
+     * Like {@link #listen(Consumer)}, delivering only the projected fields where the backend can
+     */
+    default Subscription listen(Projection projection, Consumer<List<Change<T>>> listener) {
+        return listen(listener);
+    }
+
+    /**
+     * Streams changes made after {@code since} (epoch millis, see {@link DeltaSync}): first
+     * the documents written and deleted since then (one batch, deletes as REMOVED), then
+     * changes as they happen. Documents last written before stamping existed only appear
+     * once they are written again.
+     * @param since {@link DeltaSync#EVERYTHING} behaves like {@link #listen(Projection, Consumer)}
+     */
+    Subscription listen(Projection projection, long since, Consumer<List<Change<T>>> listener);
+
+    /**
+     * Drops delete tombstones older than {@code before} (epoch millis)
+     * @return number of tombstones removed
+     */
+    int purgeDeletions(long before);
+}
@@ -0,0 +1,15 @@
+package org.example.trucklogisticsapp.repository;
+
+/**
+ * Thrown when a repository backend cannot complete a read or write
+ */
+public class RepositoryException extends RuntimeException {
+
+    public RepositoryException(String message) {
+        super(message);
+    }
+
+    public RepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
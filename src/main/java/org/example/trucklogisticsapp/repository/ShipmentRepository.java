@@ -0,0 +1,16 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+
+/**
+ * Repository for the "shipments" collection
+ */
+public interface ShipmentRepository extends Repository<Shipment> {
+
+    /**
+     * Counts and value totals for the whole collection, computed by the backend
+     * without transferring the documents
+     */
+    ShipmentStats aggregateStats();
+}
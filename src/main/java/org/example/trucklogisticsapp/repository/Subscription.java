@@ -0,0 +1,13 @@
+package org.example.trucklogisticsapp.repository;
+
+/**
+ * Handle for an active repository listener
+ */
+@FunctionalInterface
+public interface Subscription {
+
+    /**
+     * Stops delivering changes. Safe to call more than once.
+     */
+    void cancel();
+}
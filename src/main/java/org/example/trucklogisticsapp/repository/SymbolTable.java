@@ -0,0 +1,111 @@
+package org.example.trucklogisticsapp.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared String instances for low-cardinality document fields.
+ *
+ * Mapping a document creates a fresh String per field, so a large fleet holds thousands
+ * of copies of "Volvo" or "Pending". Each field gets a pool that maps its values to one
+ * canonical instance. A pool stops taking new values at {@link #MAX_DISTINCT}, so a field
+ * that turns out to be high-cardinality can't grow without bound, and it counts lookups
+ * so {@link #logStats()} shows per field whether interning pays off.
+ *
+ * Thread-safe: documents are mapped on the I/O lanes.
+ */
+public final class SymbolTable {
+
+    /** Distinct values a pool keeps before it stops interning new ones */
+    public static final int MAX_DISTINCT = 10_000;
+
+    // Rough size of a String beyond its characters: header, fields, array header
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private static final Map<String, Pool> pools = new ConcurrentSkipListMap<>();
+
+    private SymbolTable() {
+    }
+
+    /**
+     * Pool for one field, e.g. "trucks.make"
+     */
+    public static Pool pool(String field) {
+        return pools.computeIfAbsent(field, Pool::new);
+    }
+
+    public static void logStats() {
+        long saved = 0;
+        StringBuilder line = new StringBuilder();
+        for (Pool p : pools.values()) {
+            if (p.getLookups() == 0) continue;
+            saved += p.getBytesSaved();
+            line.append(line.length() == 0 ? "" : ", ")
+                    .append(p.field).append(' ').append(p.getDistinct()).append('/').append(p.getLookups());
+        }
+        if (line.length() > 0) {
+            System.out.println("📊 Symbols (distinct/lookups): " + line + " - ~" + saved / 1024 + " KB shared");
+        }
+    }
+
+    /**
+     * Canonical instances for one field's values
+     */
+    public static final class Pool {
+        private final String field;
+        private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder bytesSaved = new LongAdder();
+
+        private Pool(String field) {
+            this.field = field;
+        }
+
+        /**
+         * @return the shared instance equal to {@code value}, or {@code value} itself if it is
+         *         new (it becomes the shared instance unless the pool is full)
+         */
+        public String intern(String value) {
+            if (value == null) return null;
+            lookups.increment();
+
+            String shared = values.get(value);
+            if (shared == null) {
+                if (values.size() >= MAX_DISTINCT) return value;
+                shared = values.putIfAbsent(value, value);
+                if (shared == null) return value;
+            }
+            if (shared != value) {
+                hits.increment();
+                bytesSaved.add(STRING_OVERHEAD_BYTES + value.length());
+            }
+            return shared;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        /** Distinct values seen (the field's cardinality, capped at MAX_DISTINCT) */
+        public int getDistinct() {
+            return values.size();
+        }
+
+        public long getLookups() {
+            return lookups.sum();
+        }
+
+        /** Lookups that returned an existing instance in place of a new copy */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /** Approximate heap no longer retained thanks to shared instances */
+        public long getBytesSaved() {
+            return bytesSaved.sum();
+        }
+    }
+}
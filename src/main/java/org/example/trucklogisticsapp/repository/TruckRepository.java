@@ -0,0 +1,9 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Truck;
+
+/**
+ * Repository for the "trucks" collection
+ */
+public interface TruckRepository extends Repository<Truck> {
+}
@@ -0,0 +1,12 @@
+package org.example.trucklogisticsapp.repository.firestore;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.DriverRepository;
+
+public class FirestoreDriverRepository extends FirestoreRepository<Driver> implements DriverRepository {
+
+    public FirestoreDriverRepository() {
+        super(EntityType.DRIVER);
+    }
+}
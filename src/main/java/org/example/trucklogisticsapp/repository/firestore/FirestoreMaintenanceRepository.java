@@ -0,0 +1,12 @@
+package org.example.trucklogisticsapp.repository.firestore;
+
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.MaintenanceRepository;
+
+public class FirestoreMaintenanceRepository extends FirestoreRepository<MaintenanceRecord> implements MaintenanceRepository {
+
+    public FirestoreMaintenanceRepository() {
+        super(EntityType.MAINTENANCE);
+    }
+}
@@ -0,0 +1,396 @@
+package org.example.trucklogisticsapp.repository.firestore;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreException;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import org.example.trucklogisticsapp.controller.FirestoreContext;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.DeltaSync;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Page;
+import org.example.trucklogisticsapp.repository.Projection;
+import org.example.trucklogisticsapp.repository.Repository;
+import org.example.trucklogisticsapp.repository.RepositoryException;
+import org.example.trucklogisticsapp.repository.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Repository backed by a Firestore collection.
+ * The document id is always the entity id.
+ */
+public class FirestoreRepository<T> implements Repository<T> {
+
+    /** Firestore's limit on operations per WriteBatch */
+    public static final int MAX_BATCH_OPS = 500;
+
+    private final EntityType<T> type;
+
+    protected FirestoreRepository(EntityType<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public EntityType<T> getType() {
+        return type;
+    }
+
+    protected CollectionReference collection() {
+        return FirestoreContext.getDB().collection(type.getCollection());
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<QueryDocumentSnapshot> docs = await(collection().get(), "load " + type).getDocuments();
+        List<T> result = new ArrayList<>(docs.size());
+        for (QueryDocumentSnapshot doc : docs) {
+            result.add(map(doc));
+        }
+        return result;
+    }
+
+    @Override
+    public Page<T> findPage(String afterId, int pageSize) {
+        return findPage(afterId, pageSize, Projection.ALL);
+    }
+
+    @Override
+    public Page<T> findPage(String afterId, int pageSize, Projection projection) {
+        Query query = project(projection).orderBy(FieldPath.documentId()).limit(pageSize);
+        if (afterId != null) {
+            query = query.startAfter(afterId);
+        }
+
+        List<QueryDocumentSnapshot> docs = await(query.get(), "load page of " + type).getDocuments();
+        List<T> items = new ArrayList<>(docs.size());
+        for (QueryDocumentSnapshot doc : docs) {
+            items.add(map(doc));
+        }
+        String next = docs.size() < pageSize ? null : docs.get(docs.size() - 1).getId();
+        return new Page<>(items, next);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        DocumentSnapshot doc = await(collection().document(id).get(), "load " + type + "/" + id);
+        return doc.exists() ? Optional.of(map(doc)) : Optional.empty();
+    }
+
+    @Override
+    public String save(T entity) {
+        if (!type.hasId(entity)) {
+            type.setId(entity, collection().document().getId());
+        }
+        String id = type.getId(entity);
+
+        // Batched with the removal of any tombstone left by an earlier document with this id
+        Batcher batch = new Batcher();
+        batch.save(id, type.encode(entity));
+        batch.commit();
+        return id;
+    }
+
+    @Override
+    public void delete(String id) {
+        // The tombstone goes in the same batch, so delta listeners never miss the delete
+        Batcher batch = new Batcher();
+        batch.delete(id);
+        batch.commit();
+    }
+
+    @Override
+    public void writeDocuments(Map<String, Map<String, Object>> saves, Map<String, Map<String, Object>> updates,
+                               Collection<String> deletes) {
+        Batcher batch = new Batcher();
+        saves.forEach(batch::save);
+        updates.forEach(batch::update);
+        for (String id : deletes) {
+            batch.delete(id);
+        }
+        batch.commit();
+    }
+
+    @Override
+    public Subscription listen(Consumer<List<Change<T>>> listener) {
+        return listen(Projection.ALL, listener);
+    }
+
+    @Override
+    public Subscription listen(Projection projection, Consumer<List<Change<T>>> listener) {
+        ListenerRegistration registration = project(projection).addSnapshotListener(
+                (snapshot, error) -> onDocuments(snapshot, error, listener));
+        return registration::remove;
+    }
+
+    @Override
+    public Subscription listen(Projection projection, long since, Consumer<List<Change<T>>> listener) {
+        if (since == DeltaSync.EVERYTHING) {
+            return listen(projection, listener);
+        }
+        Timestamp after = toTimestamp(since);
+        DeltaListener delta = new DeltaListener(listener);
+        ListenerRegistration documents = project(projection)
+                .whereGreaterThan(DeltaSync.UPDATED_AT, after)
+                .addSnapshotListener((snapshot, error) -> onDocuments(snapshot, error, delta::onDocuments));
+        ListenerRegistration deletions = deletions()
+                .whereGreaterThan(DeltaSync.DELETED_AT, after)
+                .addSnapshotListener((snapshot, error) -> onDeletions(snapshot, error, delta::onDeletions));
+        return () -> {
+            documents.remove();
+            deletions.remove();
+        };
+    }
+
+    @Override
+    public int purgeDeletions(long before) {
+        List<QueryDocumentSnapshot> old = await(
+                deletions().whereLessThan(DeltaSync.DELETED_AT, toTimestamp(before)).get(),
+                "load old deletions of " + type).getDocuments();
+        Batcher batch = new Batcher();
+        for (QueryDocumentSnapshot doc : old) {
+            batch.purge(doc.getReference());
+        }
+        batch.commit();
+        return old.size();
+    }
+
+    private void onDocuments(QuerySnapshot snapshot, FirestoreException error, Consumer<List<Change<T>>> listener) {
+        if (error != null) {
+            System.err.println("❌ Listener for " + type + " failed: " + error.getMessage());
+            return;
+        }
+        if (snapshot == null) return;
+
+        List<DocumentChange> docChanges = snapshot.getDocumentChanges();
+        List<Change<T>> changes = new ArrayList<>(docChanges.size());
+        for (DocumentChange dc : docChanges) {
+            QueryDocumentSnapshot doc = dc.getDocument();
+            switch (dc.getType()) {
+                case ADDED -> changes.add(Change.added(doc.getId(), map(doc), stampOf(doc, DeltaSync.UPDATED_AT)));
+                case MODIFIED -> changes.add(Change.modified(doc.getId(), map(doc), stampOf(doc, DeltaSync.UPDATED_AT)));
+                case REMOVED -> changes.add(Change.removed(doc.getId()));
+            }
+        }
+        listener.accept(changes);
+    }
+
+    private void onDeletions(QuerySnapshot snapshot, FirestoreException error, Consumer<List<Change<T>>> listener) {
+        if (error != null) {
+            System.err.println("❌ Deletion listener for " + type + " failed: " + error.getMessage());
+            return;
+        }
+        if (snapshot == null) return;
+
+        List<Change<T>> changes = new ArrayList<>();
+        for (DocumentChange dc : snapshot.getDocumentChanges()) {
+            // A tombstone leaving the result (purged, or cleared by a re-save) is not a change to the collection
+            if (dc.getType() != DocumentChange.Type.REMOVED) {
+                QueryDocumentSnapshot tombstone = dc.getDocument();
+                changes.add(Change.removed(tombstone.getId(), stampOf(tombstone, DeltaSync.DELETED_AT)));
+            }
+        }
+        listener.accept(changes);
+    }
+
+    private CollectionReference deletions() {
+        return FirestoreContext.getDB().collection(DeltaSync.deletionsCollection(type.getCollection()));
+    }
+
+    /**
+     * A copy of the document fields plus the write stamp delta sync relies on
+     */
+    private static Map<String, Object> stamped(Map<String, Object> fields) {
+        Map<String, Object> stamped = new HashMap<>(fields);
+        stamped.put(DeltaSync.UPDATED_AT, FieldValue.serverTimestamp());
+        return stamped;
+    }
+
+    private static Timestamp toTimestamp(long epochMillis) {
+        return Timestamp.ofTimeMicroseconds(epochMillis * 1000);
+    }
+
+    private static long stampOf(DocumentSnapshot doc, String field) {
+        Timestamp stamp = doc.getTimestamp(field);
+        return stamp == null ? Change.NO_STAMP : stamp.getSeconds() * 1000 + stamp.getNanos() / 1_000_000;
+    }
+
+    /**
+     * The collection, reading only the projected fields (Query.select) plus the write
+     * stamp unless it is ALL
+     */
+    protected Query project(Projection projection) {
+        if (projection.isAll()) return collection();
+        String[] fields = Arrays.copyOf(projection.fieldArray(), projection.fields().size() + 1);
+        fields[fields.length - 1] = DeltaSync.UPDATED_AT;
+        return collection().select(fields);
+    }
+
+    /**
+     * Maps a document to the model with the type's hand-written codec, keeping the entity
+     * id in sync with the document id
+     */
+    protected T map(DocumentSnapshot doc) {
+        return type.decode(doc.getId(), doc.getData());
+    }
+
+    /**
+     * Blocks on a Firestore call, translating failures into RepositoryException
+     */
+    protected static <V> V await(ApiFuture<V> future, String action) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted during " + action, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RepositoryException("Could not " + action + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    // ========================================
+    // DELTA LISTENER
+    // ========================================
+
+    /**
+     * Merges the two listeners of a delta subscription (documents and tombstones) into one
+     * stream. Their initial snapshots are held back and delivered together as a single
+     * batch, so the first batch covers everything since {@code since}. A tombstone is
+     * dropped if its document has been written again at or after the delete (the two
+     * listeners are not ordered with respect to each other).
+     */
+    private final class DeltaListener {
+        private final Consumer<List<Change<T>>> listener;
+        // Latest updatedAt seen per document
+        private final Map<String, Long> written = new HashMap<>();
+        // Initial snapshots, until both have arrived
+        private List<Change<T>> initialDocuments;
+        private List<Change<T>> initialTombstones;
+        private boolean initialSent = false;
+
+        DeltaListener(Consumer<List<Change<T>>> listener) {
+            this.listener = listener;
+        }
+
+        synchronized void onDocuments(List<Change<T>> changes) {
+            for (Change<T> c : changes) {
+                if (c.type() != Change.Type.REMOVED) written.merge(c.id(), c.stamp(), Math::max);
+            }
+            if (initialSent) {
+                if (!changes.isEmpty()) listener.accept(changes);
+            } else if (initialDocuments == null) {
+                initialDocuments = changes;
+                sendInitial();
+            } else {
+                initialDocuments.addAll(changes);
+            }
+        }
+
+        synchronized void onDeletions(List<Change<T>> tombstones) {
+            if (initialSent) {
+                List<Change<T>> changes = current(tombstones);
+                if (!changes.isEmpty()) listener.accept(changes);
+            } else if (initialTombstones == null) {
+                initialTombstones = tombstones;
+                sendInitial();
+            } else {
+                initialTombstones.addAll(tombstones);
+            }
+        }
+
+        private void sendInitial() {
+            if (initialDocuments == null || initialTombstones == null) return;
+            List<Change<T>> batch = new ArrayList<>(initialDocuments);
+            batch.addAll(current(initialTombstones));
+            initialDocuments = null;
+            initialTombstones = null;
+            initialSent = true;
+            listener.accept(batch);
+        }
+
+        /** The tombstones newer than the last write seen for their document */
+        private List<Change<T>> current(List<Change<T>> tombstones) {
+            List<Change<T>> result = new ArrayList<>(tombstones.size());
+            for (Change<T> t : tombstones) {
+                Long updatedAt = written.get(t.id());
+                if (updatedAt == null || t.stamp() > updatedAt) result.add(t);
+            }
+            return result;
+        }
+    }
+
+    // ========================================
+    // BATCHED WRITES
+    // ========================================
+
+    /**
+     * WriteBatch that commits every {@link #MAX_BATCH_OPS} operations. A save or delete
+     * and its tombstone write always land in the same commit.
+     */
+    private final class Batcher {
+        private final Firestore db = FirestoreContext.getDB();
+        private WriteBatch batch = db.batch();
+        private int ops = 0;
+
+        void save(String id, Map<String, Object> fields) {
+            makeRoom(2);
+            batch.set(collection().document(id), stamped(fields));
+            batch.delete(deletions().document(id));
+            ops += 2;
+        }
+
+        /** Merges the fields into the stored document (set with merge, so a batch never fails on a missing one) */
+        void update(String id, Map<String, Object> fields) {
+            makeRoom(2);
+            batch.set(collection().document(id), stamped(fields), SetOptions.merge());
+            batch.delete(deletions().document(id));
+            ops += 2;
+        }
+
+        void delete(String id) {
+            makeRoom(2);
+            batch.delete(collection().document(id));
+            batch.set(deletions().document(id), Map.of(DeltaSync.DELETED_AT, FieldValue.serverTimestamp()));
+            ops += 2;
+        }
+
+        /** Removes a document without leaving a tombstone */
+        void purge(DocumentReference ref) {
+            makeRoom(1);
+            batch.delete(ref);
+            ops++;
+        }
+
+        void commit() {
+            if (ops == 0) return;
+            await(batch.commit(), "write batch to " + type);
+            batch = db.batch();
+            ops = 0;
+        }
+
+        private void makeRoom(int needed) {
+            if (ops + needed > MAX_BATCH_OPS) commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.trucklogisticsapp.repository.firestore;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.AggregateField;
+import com.google.cloud.firestore.AggregateQuerySnapshot;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.ShipmentRepository;
+
+public class FirestoreShipmentRepository extends FirestoreRepository<Shipment> implements ShipmentRepository {
+
+    public FirestoreShipmentRepository() {
+        super(EntityType.SHIPMENT);
+    }
+
+    @Override
+    public ShipmentStats aggregateStats() {
+        AggregateField.SumAggregateField value = AggregateField.sum("value");
+        AggregateField.SumAggregateField totalValue = AggregateField.sum("totalValue");
+
+        // Four aggregation queries in parallel; each is billed per 1000 index entries, not per document
+        ApiFuture<AggregateQuerySnapshot> all =
+                collection().aggregate(AggregateField.count(), value, totalValue).get();
+        // "value" of the documents that report a numeric "totalValue" instead (see ShipmentStats.reportedValue);
+        // a range filter only matches values of its own type, i.e. numbers
+        ApiFuture<AggregateQuerySnapshot> superseded = collection()
+                .whereGreaterThanOrEqualTo("totalValue", Double.NEGATIVE_INFINITY).aggregate(value).get();
+        ApiFuture<AggregateQuerySnapshot> inTransit =
+                collection().whereIn("status", ShipmentStats.IN_TRANSIT_STATUSES).count().get();
+        ApiFuture<AggregateQuerySnapshot> pending =
+                collection().whereIn("status", ShipmentStats.PENDING_STATUSES).count().get();
+
+        AggregateQuerySnapshot totals = await(all, "aggregate shipments");
+        double sum = orZero(totals.getDouble(totalValue)) + orZero(totals.getDouble(value))
+                - orZero(await(superseded, "aggregate shipment totals").getDouble(value));
+        return new ShipmentStats(
+                totals.getCount(),
+                await(inTransit, "count in-transit shipments").getCount(),
+                await(pending, "count pending shipments").getCount(),
+                sum);
+    }
+
+    private static double orZero(Double sum) {
+        return sum == null ? 0 : sum;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.trucklogisticsapp.repository.firestore;
+
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.TruckRepository;
+
+public class FirestoreTruckRepository extends FirestoreRepository<Truck> implements TruckRepository {
+
+    public FirestoreTruckRepository() {
+        super(EntityType.TRUCK);
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.repository.RepositoryException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of PUT / DELETE records for one collection.
+ *
+ * Each record is framed as [length][crc32][payload], so a torn write at the end of the
+ * file (e.g. the app was killed mid-save) is detected on replay and truncated away.
+ */
+final class AppendOnlyLog implements Closeable {
+
+    private static final int MAGIC = 0x544C4F47; // "TLOG"
+    private static final int VERSION = 1;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_STRING = 1;
+    private static final byte T_BOOLEAN = 2;
+    private static final byte T_INT = 3;
+    private static final byte T_LONG = 4;
+    private static final byte T_DOUBLE = 5;
+
+    private final Path file;
+    private DataOutputStream out;
+    private int records;
+
+    AppendOnlyLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Number of records in the file (live + superseded)
+     */
+    int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Replays the log into the given map (id -> fields) and opens it for appending
+     */
+    void open(Map<String, Map<String, Object>> into) {
+        try {
+            Files.createDirectories(file.getParent());
+            long validLength = Files.exists(file) ? replay(into) : writeHeader();
+            if (validLength < Files.size(file)) {
+                System.err.println("⚠️ Truncating damaged tail of " + file.getFileName());
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(validLength);
+                }
+            }
+            out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            throw new RepositoryException("Could not open " + file, e);
+        }
+    }
+
+    void appendPut(String id, Map<String, Object> fields) {
+        append(encode(OP_PUT, id, fields));
+    }
+
+    void appendDelete(String id) {
+        append(encode(OP_DELETE, id, null));
+    }
+
+    /**
+     * Replaces the log with one PUT per live document (compaction)
+     */
+    void rewrite(Map<String, Map<String, Object>> live) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            close();
+            try (DataOutputStream tmpOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                tmpOut.writeInt(MAGIC);
+                tmpOut.writeInt(VERSION);
+                for (Map.Entry<String, Map<String, Object>> e : live.entrySet()) {
+                    writeFrame(tmpOut, encode(OP_PUT, e.getKey(), e.getValue()));
+                }
+            }
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ch.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            records = live.size();
+            out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            throw new RepositoryException("Could not compact " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // ========================================
+    // READ
+    // ========================================
+
+    /**
+     * @return byte length of the valid prefix of the file
+     */
+    private long replay(Map<String, Map<String, Object>> into) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file));
+             DataInputStream in = new DataInputStream(raw)) {
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new RepositoryException("Unrecognized data file: " + file);
+            }
+            long valid = 8;
+            long size = Files.size(file);
+            CRC32 crc = new CRC32();
+
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    // A damaged length can't be trusted to size the read buffer
+                    if (length < 0 || length > size - valid - 8) break;
+                    payload = in.readNBytes(length);
+                    if (payload.length != length) break;
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) break;
+                } catch (EOFException e) {
+                    break;
+                }
+
+                DataInputStream rec = new DataInputStream(new ByteArrayInputStream(payload));
+                byte op = rec.readByte();
+                String id = rec.readUTF();
+                if (op == OP_PUT) {
+                    int count = rec.readShort();
+                    Map<String, Object> fields = new LinkedHashMap<>(count * 2);
+                    for (int i = 0; i < count; i++) {
+                        fields.put(rec.readUTF(), readValue(rec));
+                    }
+                    into.put(id, fields);
+                } else {
+                    into.remove(id);
+                }
+                records++;
+                valid += 8 + payload.length;
+            }
+            return valid;
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case T_NULL -> null;
+            case T_STRING -> new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            case T_BOOLEAN -> in.readBoolean();
+            case T_INT -> in.readInt();
+            case T_LONG -> in.readLong();
+            case T_DOUBLE -> in.readDouble();
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    // ========================================
+    // WRITE
+    // ========================================
+
+    private long writeHeader() throws IOException {
+        try (DataOutputStream header = new DataOutputStream(Files.newOutputStream(file))) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+        }
+        return 8;
+    }
+
+    private void append(byte[] payload) {
+        try {
+            writeFrame(out, payload);
+            out.flush();
+            records++;
+        } catch (IOException e) {
+            throw new RepositoryException("Could not write to " + file, e);
+        }
+    }
+
+    private static void writeFrame(DataOutputStream target, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        target.writeInt(payload.length);
+        target.writeInt((int) crc.getValue());
+        target.write(payload);
+    }
+
+    private static byte[] encode(byte op, String id, Map<String, Object> fields) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream rec = new DataOutputStream(bytes);
+            rec.writeByte(op);
+            rec.writeUTF(id);
+            if (op == OP_PUT) {
+                rec.writeShort(fields.size());
+                for (Map.Entry<String, Object> e : fields.entrySet()) {
+                    rec.writeUTF(e.getKey());
+                    writeValue(rec, e.getValue());
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RepositoryException("Could not encode record " + id, e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(T_NULL);
+        } else if (value instanceof String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(T_STRING);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(T_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Integer i) {
+            out.writeByte(T_INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(T_LONG);
+            out.writeLong(l);
+        } else if (value instanceof Number n) {
+            out.writeByte(T_DOUBLE);
+            out.writeDouble(n.doubleValue());
+        } else {
+            // Anything else (enums etc.) is stored by its string form
+            writeValue(out, value.toString());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.DriverRepository;
+
+import java.nio.file.Path;
+
+public class LocalDriverRepository extends LocalRepository<Driver> implements DriverRepository {
+
+    public LocalDriverRepository(Path dataDir) {
+        super(EntityType.DRIVER, dataDir);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.MaintenanceRepository;
+
+import java.nio.file.Path;
+
+public class LocalMaintenanceRepository extends LocalRepository<MaintenanceRecord> implements MaintenanceRepository {
+
+    public LocalMaintenanceRepository(Path dataDir) {
+        super(EntityType.MAINTENANCE, dataDir);
+    }
+}
@@ -0,0 +1,298 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.DeltaSync;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Page;
+import org.example.trucklogisticsapp.repository.Projection;
+import org.example.trucklogisticsapp.repository.Repository;
+import org.example.trucklogisticsapp.repository.Subscription;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Embedded stand-in for a Firestore collection.
+ *
+ * Documents live in memory as field maps, sorted by id like a Firestore collection
+ * (so every read returns fresh objects and pages use the same cursor), and each write is appended to {@code <dataDir>/<collection>.log}.
+ * The log is compacted once superseded records outnumber live documents.
+ * Listeners are notified synchronously, in write order, on the writing thread.
+ * Writes are stamped and deletes leave tombstones ({@code <collection>_deletions.log}) just
+ * like the Firestore backend does (see {@link DeltaSync}), so delta sync can be exercised
+ * without a Firebase project.
+ * Passing a null directory gives a purely in-memory repository for load tests.
+ */
+public class LocalRepository<T> implements Repository<T> {
+
+    /** Don't bother compacting small logs */
+    private static final int MIN_COMPACT_RECORDS = 1_000;
+
+    private final EntityType<T> type;
+    private final AppendOnlyLog log;
+    private final AppendOnlyLog deletionLog;
+    private final NavigableMap<String, Map<String, Object>> documents = new TreeMap<>();
+    private final Map<String, Map<String, Object>> deletions = new HashMap<>();
+    private long lastStamp = 0;
+    private final List<Consumer<List<Change<T>>>> listeners = new CopyOnWriteArrayList<>();
+
+    protected LocalRepository(EntityType<T> type, Path dataDir) {
+        this.type = type;
+        this.log = dataDir == null ? null : new AppendOnlyLog(dataDir.resolve(type.getCollection() + ".log"));
+        this.deletionLog = dataDir == null ? null
+                : new AppendOnlyLog(dataDir.resolve(DeltaSync.deletionsCollection(type.getCollection()) + ".log"));
+
+        if (log != null) {
+            long start = System.nanoTime();
+            log.open(documents);
+            deletionLog.open(deletions);
+            System.out.printf("🗄️ Loaded %,d %s from local store in %d ms%n",
+                    documents.size(), type, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public EntityType<T> getType() {
+        return type;
+    }
+
+    @Override
+    public synchronized List<T> findAll() {
+        List<T> result = new ArrayList<>(documents.size());
+        for (Map.Entry<String, Map<String, Object>> e : documents.entrySet()) {
+            result.add(type.decode(e.getKey(), e.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Visits every stored document's raw fields (for backend-side aggregation)
+     */
+    protected synchronized void forEachDocument(Consumer<Map<String, Object>> visitor) {
+        documents.values().forEach(visitor);
+    }
+
+    @Override
+    public synchronized Page<T> findPage(String afterId, int pageSize) {
+        Map<String, Map<String, Object>> tail = afterId == null ? documents : documents.tailMap(afterId, false);
+        List<T> items = new ArrayList<>(Math.min(pageSize, tail.size()));
+        String last = null;
+        for (Map.Entry<String, Map<String, Object>> e : tail.entrySet()) {
+            if (items.size() == pageSize) {
+                return new Page<>(items, last);
+            }
+            items.add(type.decode(e.getKey(), e.getValue()));
+            last = e.getKey();
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public synchronized Optional<T> findById(String id) {
+        Map<String, Object> fields = documents.get(id);
+        return fields == null ? Optional.empty() : Optional.of(type.decode(id, fields));
+    }
+
+    @Override
+    public synchronized String save(T entity) {
+        if (!type.hasId(entity)) {
+            type.setId(entity, UUID.randomUUID().toString());
+        }
+        String id = type.getId(entity);
+        Map<String, Object> fields = stamped(type.encode(entity));
+
+        boolean existed = documents.put(id, fields) != null;
+        if (log != null) {
+            log.appendPut(id, fields);
+            compactIfNeeded();
+        }
+        clearDeletion(id);
+        long stamp = stampOf(fields, DeltaSync.UPDATED_AT);
+        for (Consumer<List<Change<T>>> listener : listeners) {
+            T copy = type.decode(id, fields);
+            listener.accept(List.of(existed ? Change.modified(id, copy, stamp) : Change.added(id, copy, stamp)));
+        }
+        return id;
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        if (documents.remove(id) == null) return;
+        if (log != null) {
+            log.appendDelete(id);
+            compactIfNeeded();
+        }
+        long stamp = recordDeletion(id);
+        for (Consumer<List<Change<T>>> listener : listeners) {
+            listener.accept(List.of(Change.removed(id, stamp)));
+        }
+    }
+
+    @Override
+    public synchronized void writeDocuments(Map<String, Map<String, Object>> saves,
+                                            Map<String, Map<String, Object>> updates, Collection<String> deletes) {
+        List<Change<T>> changes = new ArrayList<>(saves.size() + updates.size() + deletes.size());
+
+        for (Map.Entry<String, Map<String, Object>> save : saves.entrySet()) {
+            changes.add(put(save.getKey(), stamped(save.getValue())));
+        }
+        for (Map.Entry<String, Map<String, Object>> update : updates.entrySet()) {
+            Map<String, Object> fields = new HashMap<>(documents.getOrDefault(update.getKey(), Map.of()));
+            fields.putAll(update.getValue());
+            changes.add(put(update.getKey(), stamped(fields)));
+        }
+        for (String id : deletes) {
+            if (documents.remove(id) == null) continue;
+            if (log != null) log.appendDelete(id);
+            changes.add(Change.removed(id, recordDeletion(id)));
+        }
+        if (changes.isEmpty()) return;
+        if (log != null) compactIfNeeded();
+
+        // One notification for the whole batch, with fresh copies per listener
+        for (Consumer<List<Change<T>>> listener : listeners) {
+            List<Change<T>> copies = new ArrayList<>(changes.size());
+            for (Change<T> c : changes) {
+                if (c.type() == Change.Type.REMOVED) {
+                    copies.add(c);
+                    continue;
+                }
+                Map<String, Object> fields = documents.get(c.id());
+                if (fields != null) {   // null if the same batch also deleted it
+                    copies.add(new Change<>(c.type(), c.id(), type.decode(c.id(), fields), c.stamp()));
+                }
+            }
+            listener.accept(copies);
+        }
+    }
+
+    @Override
+    public synchronized Subscription listen(Consumer<List<Change<T>>> listener) {
+        List<Change<T>> initial = new ArrayList<>(documents.size());
+        for (Map.Entry<String, Map<String, Object>> e : documents.entrySet()) {
+            initial.add(Change.added(e.getKey(), type.decode(e.getKey(), e.getValue()),
+                    stampOf(e.getValue(), DeltaSync.UPDATED_AT)));
+        }
+        listeners.add(listener);
+        listener.accept(initial);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized Subscription listen(Projection projection, long since, Consumer<List<Change<T>>> listener) {
+        if (since == DeltaSync.EVERYTHING) {
+            return listen(projection, listener);
+        }
+        List<Change<T>> initial = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> e : documents.entrySet()) {
+            long stamp = stampOf(e.getValue(), DeltaSync.UPDATED_AT);
+            if (stamp > since) {
+                initial.add(Change.added(e.getKey(), type.decode(e.getKey(), e.getValue()), stamp));
+            }
+        }
+        for (Map.Entry<String, Map<String, Object>> e : deletions.entrySet()) {
+            long stamp = stampOf(e.getValue(), DeltaSync.DELETED_AT);
+            // A tombstone whose id has been saved again (logs written before saves cleared them)
+            Map<String, Object> current = documents.get(e.getKey());
+            if (stamp > since && (current == null || stamp > stampOf(current, DeltaSync.UPDATED_AT))) {
+                initial.add(Change.removed(e.getKey(), stamp));
+            }
+        }
+        listeners.add(listener);
+        listener.accept(initial);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized int purgeDeletions(long before) {
+        int size = deletions.size();
+        deletions.values().removeIf(tombstone -> stampOf(tombstone, DeltaSync.DELETED_AT) < before);
+        int purged = size - deletions.size();
+        if (purged > 0 && deletionLog != null) {
+            deletionLog.rewrite(deletions);
+        }
+        return purged;
+    }
+
+    /**
+     * Flushes and closes the backing files
+     */
+    public synchronized void close() {
+        if (log == null) return;
+        try {
+            log.close();
+            deletionLog.close();
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not close local store for " + type + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stores a stamped document within a batch
+     * @return its change, without a value (decoded per listener)
+     */
+    private Change<T> put(String id, Map<String, Object> fields) {
+        boolean existed = documents.put(id, fields) != null;
+        if (log != null) log.appendPut(id, fields);
+        clearDeletion(id);
+        long stamp = stampOf(fields, DeltaSync.UPDATED_AT);
+        return existed ? Change.modified(id, null, stamp) : Change.added(id, null, stamp);
+    }
+
+    /**
+     * A copy of the document fields plus the write stamp (epoch millis, strictly increasing)
+     */
+    private Map<String, Object> stamped(Map<String, Object> fields) {
+        Map<String, Object> stamped = new HashMap<>(fields);
+        stamped.put(DeltaSync.UPDATED_AT, nextStamp());
+        return stamped;
+    }
+
+    /**
+     * Leaves a tombstone for a deleted document
+     * @return its stamp
+     */
+    private long recordDeletion(String id) {
+        long stamp = nextStamp();
+        Map<String, Object> tombstone = Map.of(DeltaSync.DELETED_AT, stamp);
+        deletions.put(id, tombstone);
+        if (deletionLog != null) deletionLog.appendPut(id, tombstone);
+        return stamp;
+    }
+
+    /**
+     * Drops the tombstone of an id that is being saved again
+     */
+    private void clearDeletion(String id) {
+        if (deletions.remove(id) != null && deletionLog != null) deletionLog.appendDelete(id);
+    }
+
+    private long nextStamp() {
+        lastStamp = Math.max(System.currentTimeMillis(), lastStamp + 1);
+        return lastStamp;
+    }
+
+    private static long stampOf(Map<String, Object> fields, String field) {
+        // Documents written before stamping count as older than any sync
+        return fields.get(field) instanceof Number n ? n.longValue() : 0;
+    }
+
+    private void compactIfNeeded() {
+        int total = log.getRecordCount();
+        if (total > MIN_COMPACT_RECORDS && total > 2 * documents.size()) {
+            log.rewrite(documents);
+            System.out.println("🧹 Compacted local store for " + type + " to " + documents.size() + " records");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.ShipmentRepository;
+
+import java.nio.file.Path;
+
+public class LocalShipmentRepository extends LocalRepository<Shipment> implements ShipmentRepository {
+
+    public LocalShipmentRepository(Path dataDir) {
+        super(EntityType.SHIPMENT, dataDir);
+    }
+
+    @Override
+    public ShipmentStats aggregateStats() {
+        long[] counts = new long[3];   // total, in transit, pending
+        double[] value = new double[1];
+
+        // Reads the raw field maps, so nothing is decoded
+        forEachDocument(fields -> {
+            counts[0]++;
+            Object status = fields.get("status");
+            switch (ShipmentStats.bucketOf(status instanceof String s ? s : null)) {
+                case IN_TRANSIT -> counts[1]++;
+                case PENDING -> counts[2]++;
+                default -> { }
+            }
+            value[0] += ShipmentStats.reportedValue(fields.get("totalValue"), fields.get("value"));
+        });
+        return new ShipmentStats(counts[0], counts[1], counts[2], value[0]);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.trucklogisticsapp.repository.local;
+
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.TruckRepository;
+
+import java.nio.file.Path;
+
+public class LocalTruckRepository extends LocalRepository<Truck> implements TruckRepository {
+
+    public LocalTruckRepository(Path dataDir) {
+        super(EntityType.TRUCK, dataDir);
+    }
+}
@@ -0,0 +1,365 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.application.Platform;
+import org.example.trucklogisticsapp.model.ComplianceState;
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Matches pending shipments to crews: an available truck that isn't overdue for
+ * maintenance, driven by an available driver with valid license and medical certificate.
+ *
+ * Drivers already assigned to an eligible truck keep it; the remaining trucks are paired
+ * largest first with the remaining drivers, endorsement holders (HazMat, Tankers, Doubles)
+ * last so they stay free for work that needs them. Shipments carry no cargo class, so the
+ * endorsements can't be required; instead they make a crew slightly more "expensive" to use.
+ *
+ * Crews and shipments are read on the FX thread; the {@link AuctionSolver} runs on the
+ * common pool. The last solution is kept: when only a few shipments changed since (and
+ * the crews are the same), the next plan re-solves from it instead of from scratch.
+ */
+public final class AssignmentEngine {
+
+    private static final AssignmentEngine INSTANCE = new AssignmentEngine();
+
+    private static final double KG_PER_LB = 0.45359237;
+
+    /** Above this many changed shipments a full solve is cheaper than patching the last one */
+    public static final int MAX_INCREMENTAL = 64;
+
+    private final EntityStore<Shipment> shipments = DataStore.get().shipments();
+    private final EntityStore<Truck> trucks = DataStore.get().trucks();
+    private final EntityStore<Driver> drivers = DataStore.get().drivers();
+
+    // Last solution, and what changed since
+    private Solution last;
+    private final Set<String> changedShipments = new HashSet<>();
+    private boolean crewsChanged;
+
+    private AssignmentEngine() {
+        shipments.addListener(this::onShipmentsChanged);
+        trucks.addListener(changes -> crewsChanged = true);
+        drivers.addListener(changes -> crewsChanged = true);
+    }
+
+    public static AssignmentEngine get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // PLANNING
+    // ========================================
+
+    /**
+     * Proposes assignments for the pending shipments; nothing is changed until {@link #apply}.
+     * Completes on the FX thread.
+     */
+    public CompletableFuture<Plan> plan() {
+        Snapshot snapshot = snapshot();
+        Solution previous = last;
+        int[] changed = previous == null || crewsChanged || changedShipments.size() > MAX_INCREMENTAL
+                ? null
+                : previous.changedIn(snapshot, changedShipments);
+        changedShipments.clear();
+        crewsChanged = false;
+
+        CompletableFuture<Plan> result = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(() -> changed == null
+                        ? AuctionSolver.solve(snapshot.problem)
+                        : AuctionSolver.resolve(snapshot.problem, previous.pricesFor(snapshot),
+                                previous.pairsFor(snapshot), changed), ForkJoinPool.commonPool())
+                .whenComplete((solved, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        System.err.println("❌ Assignment solve failed: " + error.getMessage());
+                        result.completeExceptionally(error);
+                        return;
+                    }
+                    last = new Solution(snapshot, solved);
+                    Plan plan = snapshot.plan(solved, changed != null);
+                    System.out.println("⏱️ Assignment: " + plan.summary());
+                    result.complete(plan);
+                }));
+        return result;
+    }
+
+    /**
+     * Assigns the planned crews: the shipment gets status "Assigned" and the crew in its
+     * assignment text, the truck and driver become unavailable. Pairs that no longer hold
+     * (something changed since the plan) are skipped. Trucks and drivers in the stores only
+     * carry their list projection, so just the changed fields of those are written.
+     * Must run on the FX thread.
+     * @return the number of shipments assigned
+     */
+    public int apply(Plan plan) {
+        List<Change<Shipment>> shipmentChanges = new ArrayList<>();
+        List<Change<Truck>> truckChanges = new ArrayList<>();
+        List<Change<Driver>> driverChanges = new ArrayList<>();
+
+        for (Assignment a : plan.assignments()) {
+            Shipment shipment = a.shipment();
+            Truck truck = a.truck();
+            Driver driver = a.driver();
+            if (!isPending(shipment) || !isEligible(truck) || !isEligible(driver)) continue;
+
+            shipment.setStatus("Assigned");
+            shipment.setAssignment(truck.getDisplayName() + " · " + driver.getFullName());
+            truck.setAvailable(false);
+            driver.setAssignedTruckId(truck.getId());
+            driver.setAvailable(false);
+
+            shipmentChanges.add(Change.modified(shipment.getShipmentId(), shipment));
+            truckChanges.add(Change.modified(truck.getId(), truck));
+            driverChanges.add(Change.modified(driver.getId(), driver));
+        }
+
+        shipments.apply(shipmentChanges);
+        trucks.apply(truckChanges);
+        drivers.apply(driverChanges);
+        for (Change<Shipment> c : shipmentChanges) {
+            report(WriteBehindQueue.get().save(EntityType.SHIPMENT, c.value()));
+        }
+        for (Change<Truck> c : truckChanges) {
+            report(WriteBehindQueue.get().update(EntityType.TRUCK, c.id(), Map.of("available", false)));
+        }
+        for (Change<Driver> c : driverChanges) {
+            report(WriteBehindQueue.get().update(EntityType.DRIVER, c.id(),
+                    Map.of("available", false, "assignedTruckId", c.value().getAssignedTruckId())));
+        }
+
+        System.out.println("✅ Assigned " + shipmentChanges.size() + " shipments");
+        return shipmentChanges.size();
+    }
+
+    private static void report(CompletableFuture<Void> write) {
+        write.whenComplete((ok, error) -> {
+            if (error != null) System.err.println("❌ Could not save assignment: " + error.getMessage());
+        });
+    }
+
+    private void onShipmentsChanged(List<StoreListener.Change<Shipment>> changes) {
+        for (StoreListener.Change<Shipment> change : changes) changedShipments.add(change.id());
+    }
+
+    // ========================================
+    // ELIGIBILITY AND SCORING
+    // ========================================
+
+    public static boolean isPending(Shipment s) {
+        return ShipmentStats.bucketOf(s.getStatus()) == ShipmentStats.Bucket.PENDING;
+    }
+
+    public static boolean isEligible(Truck t) {
+        return t.isAvailable() && !t.isMaintenanceOverdue() && t.getCapacityKg() > 0;
+    }
+
+    public static boolean isEligible(Driver d) {
+        ComplianceState state = d.getComplianceState();
+        return d.isAvailable() && (state == ComplianceState.COMPLIANT || state == ComplianceState.EXPIRING_SOON);
+    }
+
+    /**
+     * Benefit of carrying a shipment at all: its priority, then (up to 100 points) its value
+     */
+    static double baseBenefit(Shipment s) {
+        int priority = switch (s.getPriority() == null ? "" : s.getPriority()) {
+            case "Urgent" -> 1600;
+            case "High" -> 800;
+            case "Low" -> 200;
+            default -> 400;
+        };
+        return priority + Math.min(100, s.getValue() / 1000.0);
+    }
+
+    /**
+     * Crew preference: better-rated drivers first, specialists and soon-expiring documents last
+     */
+    static double crewBonus(Driver d) {
+        double bonus = d.getRating() * 4 - 10 * endorsements(d);
+        if (d.getComplianceState() == ComplianceState.EXPIRING_SOON) bonus -= 20;
+        return bonus;
+    }
+
+    private static int endorsements(Driver d) {
+        return (d.isHazmatEndorsement() ? 1 : 0) + (d.isTankersEndorsement() ? 1 : 0) + (d.isDoublesEndorsement() ? 1 : 0);
+    }
+
+    // ========================================
+    // SNAPSHOT
+    // ========================================
+
+    /**
+     * Reads the pending shipments and builds the crews (FX thread)
+     */
+    private Snapshot snapshot() {
+        List<Shipment> pending = new ArrayList<>();
+        int unweighed = 0;
+        for (Shipment s : shipments.getItems()) {
+            if (!isPending(s)) continue;
+            if (s.getWeightLbs() == Shipment.NO_WEIGHT) unweighed++; else pending.add(s);
+        }
+
+        Map<String, Truck> freeTrucks = new LinkedHashMap<>();
+        for (Truck t : trucks.getItems()) {
+            if (isEligible(t)) freeTrucks.put(t.getId(), t);
+        }
+        List<Truck> crewTrucks = new ArrayList<>();
+        List<Driver> crewDrivers = new ArrayList<>();
+        List<Driver> freeDrivers = new ArrayList<>();
+        for (Driver d : drivers.getItems()) {
+            if (!isEligible(d)) continue;
+            Truck own = d.getAssignedTruckId() == null ? null : freeTrucks.remove(d.getAssignedTruckId());
+            if (own != null) {
+                crewTrucks.add(own);
+                crewDrivers.add(d);
+            } else {
+                freeDrivers.add(d);
+            }
+        }
+        List<Truck> restTrucks = new ArrayList<>(freeTrucks.values());
+        restTrucks.sort(Comparator.comparingInt(Truck::getCapacityKg).reversed());
+        freeDrivers.sort(Comparator.comparingInt(AssignmentEngine::endorsements)
+                .thenComparing(Comparator.comparingDouble(Driver::getRating).reversed()));
+        for (int i = 0; i < Math.min(restTrucks.size(), freeDrivers.size()); i++) {
+            crewTrucks.add(restTrucks.get(i));
+            crewDrivers.add(freeDrivers.get(i));
+        }
+
+        int n = pending.size();
+        int m = crewTrucks.size();
+        double[] weight = new double[n];
+        double[] base = new double[n];
+        for (int i = 0; i < n; i++) {
+            weight[i] = pending.get(i).getWeightLbs() * KG_PER_LB;
+            base[i] = baseBenefit(pending.get(i));
+        }
+        double[] capacity = new double[m];
+        double[] bonus = new double[m];
+        for (int c = 0; c < m; c++) {
+            capacity[c] = crewTrucks.get(c).getCapacityKg();
+            bonus[c] = crewBonus(crewDrivers.get(c));
+        }
+        return new Snapshot(pending, crewTrucks, crewDrivers, unweighed,
+                new AuctionSolver.Problem(weight, base, capacity, bonus));
+    }
+
+    private record Snapshot(List<Shipment> shipments, List<Truck> trucks, List<Driver> drivers,
+                            int unweighed, AuctionSolver.Problem problem) {
+
+        String crewKey(int c) {
+            return trucks.get(c).getId() + "/" + drivers.get(c).getId();
+        }
+
+        Plan plan(AuctionSolver.Result result, boolean incremental) {
+            List<Assignment> assignments = new ArrayList<>(result.assigned());
+            int[] shipmentOf = result.shipmentOf();
+            for (int c = 0; c < shipmentOf.length; c++) {
+                if (shipmentOf[c] == AuctionSolver.UNASSIGNED) continue;
+                assignments.add(new Assignment(shipments.get(shipmentOf[c]), trucks.get(c), drivers.get(c)));
+            }
+            return new Plan(assignments, shipments.size(), trucks.size(), unweighed,
+                    result.totalBenefit(problem), incremental, result.nanos());
+        }
+    }
+
+    /**
+     * The last solve, keyed by shipment id and crew so it can seed the next one
+     */
+    private static final class Solution {
+        private final String[] crewKeys;
+        private final Map<String, Double> prices = new HashMap<>();
+        private final Map<String, String> pairs = new HashMap<>();
+
+        Solution(Snapshot snapshot, AuctionSolver.Result result) {
+            crewKeys = new String[snapshot.trucks.size()];
+            for (int c = 0; c < crewKeys.length; c++) {
+                crewKeys[c] = snapshot.crewKey(c);
+                int s = result.shipmentOf()[c];
+                if (s != AuctionSolver.UNASSIGNED) pairs.put(crewKeys[c], snapshot.shipments.get(s).getShipmentId());
+            }
+            for (int s = 0; s < snapshot.shipments.size(); s++) {
+                prices.put(snapshot.shipments.get(s).getShipmentId(), result.prices()[s]);
+            }
+        }
+
+        /**
+         * Positions of the changed (or new) shipments in the snapshot, or null if the crews
+         * differ and a full solve is needed
+         */
+        int[] changedIn(Snapshot snapshot, Set<String> changedIds) {
+            if (crewKeys.length != snapshot.trucks.size()) return null;
+            for (int c = 0; c < crewKeys.length; c++) {
+                if (!crewKeys[c].equals(snapshot.crewKey(c))) return null;
+            }
+            List<Integer> changed = new ArrayList<>();
+            for (int s = 0; s < snapshot.shipments.size(); s++) {
+                String id = snapshot.shipments.get(s).getShipmentId();
+                if (changedIds.contains(id) || !prices.containsKey(id)) changed.add(s);
+            }
+            return changed.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        double[] pricesFor(Snapshot snapshot) {
+            double[] result = new double[snapshot.shipments.size()];
+            for (int s = 0; s < result.length; s++) {
+                result[s] = prices.getOrDefault(snapshot.shipments.get(s).getShipmentId(), 0.0);
+            }
+            return result;
+        }
+
+        int[] pairsFor(Snapshot snapshot) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int s = 0; s < snapshot.shipments.size(); s++) positions.put(snapshot.shipments.get(s).getShipmentId(), s);
+            int[] result = new int[crewKeys.length];
+            Arrays.fill(result, AuctionSolver.UNASSIGNED);
+            for (int c = 0; c < crewKeys.length; c++) {
+                Integer s = positions.get(pairs.get(crewKeys[c]));
+                if (s != null) result[c] = s;
+            }
+            return result;
+        }
+    }
+
+    // ========================================
+    // RESULTS
+    // ========================================
+
+    public record Assignment(Shipment shipment, Truck truck, Driver driver) {
+    }
+
+    /**
+     * @param pending     pending shipments considered (with a weight)
+     * @param crews       truck + driver pairs available
+     * @param unweighed   pending shipments skipped because their weight can't be read
+     * @param incremental re-solved from the previous plan rather than from scratch
+     * @param solveNanos  solver time, excluding the snapshot
+     */
+    public record Plan(List<Assignment> assignments, int pending, int crews, int unweighed,
+                       double benefit, boolean incremental, long solveNanos) {
+
+        public String summary() {
+            return Formats.integer(assignments.size()) + " of " + Formats.integer(pending) + " pending shipments on "
+                    + Formats.integer(crews) + " crews in " + Formats.decimal(solveNanos / 1e6, 1) + " ms"
+                    + (incremental ? " (incremental)" : "")
+                    + (unweighed > 0 ? ", " + unweighed + " skipped without weight" : "");
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package org.example.trucklogisticsapp.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns crews (a truck and its driver) to shipments with Bertsekas' auction algorithm.
+ *
+ * Crews are the bidders, since there are fewer of them. A crew's value for a shipment is
+ * its benefit minus the shipment's current price; the crew bids for its best shipment,
+ * raising the price by its margin over the second-best choice plus epsilon, and may
+ * displace the crew that held it. A crew can also stay idle at value 0.
+ *
+ * Epsilon starts large and shrinks by {@link #SCALE} per phase down to {@link #EPS}, so
+ * price wars between similar shipments are settled in a few big steps first. Since there
+ * are more shipments than crews, each phase ends with a reverse pass that lowers the
+ * prices of shipments left without a crew (such a shipment "bids" for the crew that
+ * values it most). The result is within {@code crews * EPS} of the best total benefit.
+ *
+ * Each crew keeps its {@link #CANDIDATES} best shipments from its last full scan and the
+ * value of the next best; prices only rise while bidding, so as long as the second-best
+ * candidate still beats that value a bid needs only the candidates. Rounds refresh the
+ * stale candidate lists in parallel, then run the (cheap) bids one after another.
+ *
+ * The benefit is {@code base[s] + bonus[c] - SLACK_PENALTY * unused capacity share}, and a
+ * crew can only take a shipment its capacity covers. Pure arrays, no model objects; safe
+ * to run off the FX thread.
+ */
+public final class AuctionSolver {
+
+    /** {@link Result#shipmentOf} for an idle crew, {@link Result#crewOf} for a shipment without one */
+    public static final int UNASSIGNED = -1;
+
+    /** Benefit lost for a completely empty truck (prefer the tightest fit) */
+    public static final double SLACK_PENALTY = 50;
+
+    /** Final bid increment; bounds the distance from the optimum */
+    public static final double EPS = 0.5;
+
+    /** Epsilon reduction per phase */
+    public static final double SCALE = 6;
+
+    /** Shipments remembered per crew between full scans */
+    public static final int CANDIDATES = 24;
+
+    /**
+     * @param weightKg   per shipment
+     * @param base       per shipment, benefit of carrying it at all
+     * @param capacityKg per crew
+     * @param bonus      per crew, e.g. driver rating
+     */
+    public record Problem(double[] weightKg, double[] base, double[] capacityKg, double[] bonus) {
+
+        public int shipments() {
+            return weightKg.length;
+        }
+
+        public int crews() {
+            return capacityKg.length;
+        }
+
+        public double benefit(int s, int c) {
+            double capacity = capacityKg[c];
+            double slack = capacity - weightKg[s];
+            if (slack < 0) return Double.NEGATIVE_INFINITY;
+            return base[s] + bonus[c] - (capacity > 0 ? SLACK_PENALTY * slack / capacity : 0);
+        }
+    }
+
+    /**
+     * @param shipmentOf shipment per crew, or {@link #UNASSIGNED}
+     * @param prices     final shipment prices (warm start for {@link #resolve})
+     * @param phases     epsilon phases run (1 for an incremental solve)
+     * @param bids       forward and reverse bids placed
+     */
+    public record Result(int[] shipmentOf, double[] prices, int phases, int bids, long nanos) {
+
+        /**
+         * Crew per shipment, or {@link #UNASSIGNED}
+         */
+        public int[] crewOf() {
+            int[] crewOf = new int[prices.length];
+            Arrays.fill(crewOf, UNASSIGNED);
+            for (int c = 0; c < shipmentOf.length; c++) {
+                if (shipmentOf[c] != UNASSIGNED) crewOf[shipmentOf[c]] = c;
+            }
+            return crewOf;
+        }
+
+        public int assigned() {
+            int n = 0;
+            for (int s : shipmentOf) if (s != UNASSIGNED) n++;
+            return n;
+        }
+
+        public double totalBenefit(Problem p) {
+            double sum = 0;
+            for (int c = 0; c < shipmentOf.length; c++) {
+                if (shipmentOf[c] != UNASSIGNED) sum += p.benefit(shipmentOf[c], c);
+            }
+            return sum;
+        }
+    }
+
+    private AuctionSolver() {
+    }
+
+    /**
+     * Full solve from zero prices
+     */
+    public static Result solve(Problem p) {
+        Auction auction = new Auction(p);
+        int[] crews = IntStream.range(0, auction.m).toArray();
+        double eps = Math.max(EPS, auction.maxBenefit() / 4);
+        while (true) {
+            auction.eps = eps;
+            for (int c : crews) auction.release(c);
+            auction.run(crews);
+            auction.settle();
+            if (eps == EPS) break;
+            eps = Math.max(EPS, eps / SCALE);
+        }
+        return auction.result();
+    }
+
+    /**
+     * Incremental solve after some shipments changed (or were added). Keeps the previous
+     * prices and pairs; only idle crews and those that lost their shipment bid again, then
+     * the reverse pass places the changed shipments.
+     *
+     * @param prices     previous price per shipment (anything for new ones)
+     * @param shipmentOf previous shipment per crew, or UNASSIGNED
+     * @param changed    shipments whose data changed since (their old pairs are dropped)
+     */
+    public static Result resolve(Problem p, double[] prices, int[] shipmentOf, int[] changed) {
+        Auction auction = new Auction(p);
+        auction.warmStart(prices, shipmentOf, changed);
+        return auction.result();
+    }
+
+    // ========================================
+    // AUCTION
+    // ========================================
+
+    /**
+     * One solve. Shipments are numbered by weight and crews by capacity internally, so the
+     * shipments a crew can carry are a prefix, the crews that can carry a shipment are a
+     * suffix, and every scan is a plain loop over arrays.
+     */
+    private static final class Auction {
+        private static final int STALE = -2;
+
+        private final int n;
+        private final int m;
+        private final int[] shipmentIds;
+        private final int[] crewIds;
+
+        // Shipments by weight
+        private final double[] weight;
+        private final double[] base;
+        private final double[] prices;
+        private final int[] owner;
+
+        // Crews by capacity: benefit(s, c) = base[s] + offset[c] + weight[s] * slope[c]
+        private final double[] capacity;
+        private final double[] offset;
+        private final double[] slope;
+        private final int[] fits;
+        private final int[] shipmentOf;
+
+        // Per crew: best shipments from the last full scan, and the value of the next one then
+        private final int[][] candidates;
+        private final double[] bound;
+        private final boolean[] stale;
+
+        private double eps = EPS;
+        private final long start = System.nanoTime();
+        private int phases;
+        private int bids;
+
+        Auction(Problem p) {
+            n = p.shipments();
+            m = p.crews();
+            shipmentIds = order(n, Comparator.comparingDouble(s -> p.weightKg[s]));
+            crewIds = order(m, Comparator.comparingDouble(c -> p.capacityKg[c]));
+
+            weight = new double[n];
+            base = new double[n];
+            for (int i = 0; i < n; i++) {
+                weight[i] = p.weightKg[shipmentIds[i]];
+                base[i] = p.base[shipmentIds[i]];
+            }
+            capacity = new double[m];
+            offset = new double[m];
+            slope = new double[m];
+            fits = new int[m];
+            for (int j = 0; j < m; j++) {
+                int c = crewIds[j];
+                capacity[j] = p.capacityKg[c];
+                boolean penalized = capacity[j] > 0;
+                offset[j] = p.bonus[c] - (penalized ? SLACK_PENALTY : 0);
+                slope[j] = penalized ? SLACK_PENALTY / capacity[j] : 0;
+                fits[j] = upperBound(weight, capacity[j]);
+            }
+
+            prices = new double[n];
+            owner = new int[n];
+            shipmentOf = new int[m];
+            candidates = new int[m][];
+            bound = new double[m];
+            stale = new boolean[m];
+            Arrays.fill(owner, UNASSIGNED);
+            Arrays.fill(shipmentOf, UNASSIGNED);
+            Arrays.fill(stale, true);
+        }
+
+        private double benefit(int s, int c) {
+            return s < fits[c] ? base[s] + offset[c] + weight[s] * slope[c] : Double.NEGATIVE_INFINITY;
+        }
+
+        double maxBenefit() {
+            double maxBase = 0;
+            double maxOffset = 0;
+            for (double b : base) maxBase = Math.max(maxBase, b);
+            for (double o : offset) maxOffset = Math.max(maxOffset, o);
+            return maxBase + maxOffset + SLACK_PENALTY;
+        }
+
+        /**
+         * Loads the previous prices and pairs. A changed shipment loses its crew and is priced
+         * at the most any crew would now pay for it over what it already earns, so no other
+         * crew has a reason to switch; the reverse pass then places it if it's worth it.
+         */
+        void warmStart(double[] previousPrices, int[] previousShipmentOf, int[] changed) {
+            int[] rank = new int[n];
+            for (int i = 0; i < n; i++) rank[shipmentIds[i]] = i;
+            boolean[] isChanged = new boolean[n];
+            for (int s : changed) isChanged[rank[s]] = true;
+
+            for (int i = 0; i < n; i++) prices[i] = previousPrices[shipmentIds[i]];
+            for (int j = 0; j < m; j++) {
+                int previous = previousShipmentOf[crewIds[j]];
+                if (previous == UNASSIGNED) continue;
+                int s = rank[previous];
+                if (!isChanged[s] && owner[s] == UNASSIGNED && s < fits[j]) {
+                    owner[s] = j;
+                    shipmentOf[j] = s;
+                }
+            }
+
+            for (int s : changed) {
+                int i = rank[s];
+                double price = 0;
+                for (int c = lowerBound(capacity, weight[i]); c < m; c++) {
+                    int held = shipmentOf[c];
+                    double profit = held == UNASSIGNED ? 0 : benefit(held, c) - prices[held];
+                    price = Math.max(price, benefit(i, c) - profit);
+                }
+                prices[i] = price;
+            }
+
+            run(IntStream.range(0, m).filter(c -> shipmentOf[c] == UNASSIGNED).toArray());
+            settle();
+        }
+
+        void release(int c) {
+            int s = shipmentOf[c];
+            if (s == UNASSIGNED) return;
+            owner[s] = UNASSIGNED;
+            shipmentOf[c] = UNASSIGNED;
+        }
+
+        Result result() {
+            int[] pairs = new int[m];
+            for (int j = 0; j < m; j++) {
+                pairs[crewIds[j]] = shipmentOf[j] == UNASSIGNED ? UNASSIGNED : shipmentIds[shipmentOf[j]];
+            }
+            double[] byId = new double[n];
+            for (int i = 0; i < n; i++) byId[shipmentIds[i]] = prices[i];
+            return new Result(pairs, byId, phases, bids, System.nanoTime() - start);
+        }
+
+        // ========================================
+        // FORWARD AUCTION
+        // ========================================
+
+        /**
+         * Bids until every crew holds a shipment or has gone idle. The bidders' stale
+         * candidate lists are refreshed first, in parallel; the bids themselves run one after
+         * another (Gauss-Seidel), a displaced crew bidding again right away and a crew whose
+         * candidates no longer suffice rescanning on the spot.
+         */
+        void run(int[] bidders) {
+            phases++;
+            IntStream.range(0, bidders.length).parallel().forEach(i -> {
+                if (stale[bidders[i]]) scan(bidders[i]);
+            });
+
+            int[] stack = new int[m];
+            int size = 0;
+            for (int i = bidders.length - 1; i >= 0; i--) stack[size++] = bidders[i];
+            while (size > 0) {
+                int c = stack[--size];
+                if (stale[c]) scan(c);
+                int s = bid(c);
+                if (s == STALE) {
+                    scan(c);
+                    s = bid(c);
+                }
+                if (s == UNASSIGNED) continue;
+                bids++;
+                int previous = owner[s];
+                if (previous != UNASSIGNED) {
+                    shipmentOf[previous] = UNASSIGNED;
+                    stack[size++] = previous;
+                }
+                owner[s] = c;
+                shipmentOf[c] = s;
+            }
+        }
+
+        /**
+         * Raises the price of the crew's best candidate by its margin over the second best.
+         * Returns that shipment, UNASSIGNED if the crew is better off idle, or STALE if a
+         * shipment outside its candidates might now be better.
+         */
+        private int bid(int c) {
+            int best = UNASSIGNED;
+            double v1 = Double.NEGATIVE_INFINITY;
+            double v2 = 0;                                         // staying idle is always an option
+            for (int s : candidates[c]) {
+                double v = benefit(s, c) - prices[s];
+                if (v > v1) {
+                    if (v1 > v2) v2 = v1;
+                    v1 = v;
+                    best = s;
+                } else if (v > v2) {
+                    v2 = v;
+                }
+            }
+            if (v2 < bound[c]) return STALE;
+            if (best == UNASSIGNED || v1 <= 0) return UNASSIGNED;
+            prices[best] += (v1 - v2) + eps;
+            return best;
+        }
+
+        /**
+         * Full scan over the shipments the crew can carry: refreshes its candidates and bound
+         */
+        private void scan(int c) {
+            int k = Math.min(CANDIDATES, fits[c]);
+            int[] top = new int[k];
+            double[] values = new double[k];
+            int size = 0;
+            double next = Double.NEGATIVE_INFINITY;
+            double off = offset[c];
+            double sl = slope[c];
+            for (int s = 0, end = fits[c]; s < end; s++) {
+                double v = base[s] + off + weight[s] * sl - prices[s];
+                if (size == k && v <= values[k - 1]) {
+                    if (v > next) next = v;
+                    continue;
+                }
+                if (size == k) next = Math.max(next, values[k - 1]); else size++;
+                int i = size - 1;
+                while (i > 0 && values[i - 1] < v) {
+                    values[i] = values[i - 1];
+                    top[i] = top[i - 1];
+                    i--;
+                }
+                values[i] = v;
+                top[i] = s;
+            }
+            candidates[c] = top;
+            bound[c] = next;
+            stale[c] = false;
+        }
+
+        // ========================================
+        // REVERSE PASS
+        // ========================================
+
+        /**
+         * Every shipment left without a crew must end up priced at most the cheapest assigned
+         * one (zero if any crew is idle). A shipment priced above that offers itself to the
+         * crew that would gain most from it, at what the runner-up crew would pay; the crew's
+         * previous shipment is then re-checked. Lowered prices can beat a crew's candidates,
+         * so candidate lists are refreshed before the next forward round.
+         */
+        void settle() {
+            double[] profit = new double[m];
+            double floor = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < m; c++) {
+                int s = shipmentOf[c];
+                if (s == UNASSIGNED) {
+                    floor = 0;
+                } else {
+                    profit[c] = benefit(s, c) - prices[s];
+                    floor = Math.min(floor, prices[s]);
+                }
+            }
+            if (floor == Double.POSITIVE_INFINITY) floor = 0;
+
+            int[] queue = new int[n];
+            int size = 0;
+            for (int s = 0; s < n; s++) {
+                if (owner[s] == UNASSIGNED && prices[s] > floor) queue[size++] = s;
+            }
+            if (size > 0) Arrays.fill(stale, true);
+            while (size > 0) {
+                int s = queue[--size];
+                if (owner[s] != UNASSIGNED || prices[s] <= floor) continue;
+
+                int best = UNASSIGNED;
+                double b1 = Double.NEGATIVE_INFINITY;
+                double b2 = Double.NEGATIVE_INFINITY;
+                double w = weight[s];
+                for (int c = lowerBound(capacity, w); c < m; c++) {
+                    double v = offset[c] + w * slope[c] - profit[c];
+                    if (v > b1) {
+                        b2 = b1;
+                        b1 = v;
+                        best = c;
+                    } else if (v > b2) {
+                        b2 = v;
+                    }
+                }
+                b1 += base[s];
+                b2 += base[s];
+                if (best == UNASSIGNED || b1 - eps <= floor) {
+                    prices[s] = floor;
+                    continue;
+                }
+                bids++;
+                prices[s] = Math.max(floor, b2 - eps);
+                int previous = shipmentOf[best];
+                if (previous != UNASSIGNED) {
+                    owner[previous] = UNASSIGNED;
+                    if (prices[previous] > floor) queue[size++] = previous;
+                }
+                owner[s] = best;
+                shipmentOf[best] = s;
+                profit[best] = benefit(s, best) - prices[s];
+            }
+        }
+
+        // ========================================
+        // HELPERS
+        // ========================================
+
+        private static int[] order(int size, Comparator<Integer> comparator) {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) boxed[i] = i;
+            Arrays.sort(boxed, comparator);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) order[i] = boxed[i];
+            return order;
+        }
+
+        private static int lowerBound(double[] sorted, double key) {
+            int lo = 0;
+            int hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] < key) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        private static int upperBound(double[] sorted, double key) {
+            int lo = 0;
+            int hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] <= key) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import org.example.trucklogisticsapp.model.ComplianceState;
+import org.example.trucklogisticsapp.model.DayClock;
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Driver compliance by state and by earliest document expiry.
+ *
+ * Drivers carry their expiry dates as pre-parsed epoch days and cache their own state
+ * (see {@link Driver#getComplianceState()}), so the table column never parses a date.
+ * This index keeps each state's drivers sorted by earliest expiry and answers "expiring
+ * within N days" as a range view, O(log n + k).
+ *
+ * It also records the days on which each driver's state can change (an expiry, or
+ * 30 days before the earliest one). When {@link DayClock} ticks, only drivers with a
+ * change day since the last tick are re-evaluated; those whose state moved are
+ * re-published so their rows refresh.
+ *
+ * Confined to the FX thread.
+ */
+public final class ComplianceIndex {
+
+    private static final ComplianceIndex INSTANCE = new ComplianceIndex();
+
+    private final EntityStore<Driver> store = DataStore.get().drivers();
+    private final Map<String, Indexed> drivers = new HashMap<>();
+    private final TreeSet<Key> byEarliestExpiry = new TreeSet<>();
+    private final TreeSet<Key> changeDays = new TreeSet<>();
+    private final Map<ComplianceState, TreeSet<Key>> byState = new EnumMap<>(ComplianceState.class);
+    private final Map<ComplianceState, ReadOnlyIntegerWrapper> counts = new EnumMap<>(ComplianceState.class);
+    private long evaluatedDay = DayClock.today();
+
+    private ComplianceIndex() {
+        for (ComplianceState state : ComplianceState.values()) {
+            byState.put(state, new TreeSet<>());
+            counts.put(state, new ReadOnlyIntegerWrapper(0));
+        }
+        store.addListenerWithReplay(this::onDriversChanged);
+        DayClock.addListener(this::onDayChanged);
+    }
+
+    public static ComplianceIndex get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    /**
+     * Drivers whose earliest expiry falls today or within the next {@code days} days, soonest first
+     */
+    public List<Driver> expiringWithin(int days) {
+        long today = DayClock.today();
+        return toDrivers(byEarliestExpiry.subSet(Key.first(today), true, Key.last(today + days), true));
+    }
+
+    /**
+     * Drivers in the given state, earliest expiry first (drivers without dates last)
+     */
+    public List<Driver> inState(ComplianceState state) {
+        return toDrivers(byState.get(state));
+    }
+
+    public ReadOnlyIntegerProperty countProperty(ComplianceState state) {
+        return counts.get(state).getReadOnlyProperty();
+    }
+
+    public int getCount(ComplianceState state) {
+        return counts.get(state).get();
+    }
+
+    private List<Driver> toDrivers(Set<Key> keys) {
+        List<Driver> result = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            Driver driver = store.get(key.driverId);
+            if (driver != null) result.add(driver);
+        }
+        return result;
+    }
+
+    // ========================================
+    // INDEX MAINTENANCE
+    // ========================================
+
+    private void onDriversChanged(List<StoreListener.Change<Driver>> changes) {
+        for (StoreListener.Change<Driver> change : changes) {
+            unindex(change.id(), drivers.remove(change.id()));
+            if (!change.isRemoved()) {
+                Indexed entry = Indexed.of(change.current());
+                drivers.put(change.id(), entry);
+                index(change.id(), entry);
+            }
+        }
+    }
+
+    private void index(String id, Indexed e) {
+        Key key = new Key(e.earliest, id);
+        if (e.earliest != Long.MAX_VALUE) byEarliestExpiry.add(key);
+        byState.get(e.state).add(key);
+        for (long day : e.changeDays) changeDays.add(new Key(day, id));
+        adjust(e.state, 1);
+    }
+
+    private void unindex(String id, Indexed e) {
+        if (e == null) return;
+        Key key = new Key(e.earliest, id);
+        byEarliestExpiry.remove(key);
+        byState.get(e.state).remove(key);
+        for (long day : e.changeDays) changeDays.remove(new Key(day, id));
+        adjust(e.state, -1);
+    }
+
+    private void adjust(ComplianceState state, int delta) {
+        ReadOnlyIntegerWrapper count = counts.get(state);
+        count.set(count.get() + delta);
+    }
+
+    private void onDayChanged(long today) {
+        // Only drivers with a change day between the last evaluated day and today can have
+        // moved (either direction, in case the clock was set back)
+        Set<String> candidates = new LinkedHashSet<>();
+        long from = Math.min(evaluatedDay, today);
+        long to = Math.max(evaluatedDay, today);
+        for (Key key : changeDays.subSet(Key.last(from), false, Key.last(to), true)) {
+            candidates.add(key.driverId);
+        }
+        evaluatedDay = today;
+
+        List<Change<Driver>> moved = new ArrayList<>();
+        for (String id : candidates) {
+            Driver driver = store.get(id);
+            Indexed entry = drivers.get(id);
+            if (driver != null && entry != null && driver.getComplianceState() != entry.state) {
+                moved.add(Change.modified(id, driver));
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            System.out.println("🗓️ New day: compliance changed for " + moved.size() + " drivers");
+            // Re-publishing re-indexes them and refreshes their rows
+            store.apply(moved);
+        }
+    }
+
+    // ========================================
+    // ENTRIES
+    // ========================================
+
+    /**
+     * @param earliest   earliest expiry epoch day, or Long.MAX_VALUE if the driver has none
+     * @param changeDays days on which the driver's state can change
+     */
+    private record Indexed(ComplianceState state, long earliest, long[] changeDays) {
+
+        static Indexed of(Driver d) {
+            int lic = d.getLicenseExpiryDay();
+            int med = d.getMedicalCertExpiryDay();
+            long earliest = Long.MAX_VALUE;
+            if (lic != Driver.NO_DATE) earliest = lic;
+            if (med != Driver.NO_DATE) earliest = Math.min(earliest, med);
+
+            long[] days;
+            if (lic != Driver.NO_DATE && med != Driver.NO_DATE) {
+                days = new long[]{lic, med, earliest - ComplianceState.EXPIRING_SOON_DAYS};
+            } else if (earliest != Long.MAX_VALUE) {
+                days = new long[]{earliest};
+            } else {
+                days = new long[0];
+            }
+            return new Indexed(d.getComplianceState(), earliest, days);
+        }
+    }
+
+    private record Key(long day, String driverId) implements Comparable<Key> {
+
+        static Key first(long day) {
+            return new Key(day, "");
+        }
+
+        static Key last(long day) {
+            return new Key(day, "\uffff");
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int c = Long.compare(day, o.day);
+            return c != 0 ? c : driverId.compareTo(o.driverId);
+        }
+    }
+}
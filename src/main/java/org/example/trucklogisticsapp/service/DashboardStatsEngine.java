@@ -0,0 +1,118 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import org.example.trucklogisticsapp.model.DashboardStats;
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceState;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running totals for the dashboard and the trucks / drivers headers, maintained from
+ * store change events.
+ *
+ * Each document's contribution is remembered by id, so a change only subtracts the old
+ * contribution and adds the new one. The overdue maintenance count comes from
+ * {@link MaintenanceStatusEngine} and shipment figures from {@link ShipmentStatsService}.
+ *
+ * Confined to the FX thread. Create it before the stores fill so it never has to catch up.
+ */
+public final class DashboardStatsEngine {
+
+    private static final DashboardStatsEngine INSTANCE = new DashboardStatsEngine();
+
+    private final ReadOnlyObjectWrapper<DashboardStats> stats = new ReadOnlyObjectWrapper<>(DashboardStats.EMPTY);
+
+    // Trucks
+    private final Map<String, TruckFigures> trucks = new HashMap<>();
+    private final ReadOnlyIntegerProperty overdue =
+            MaintenanceStatusEngine.get().countProperty(MaintenanceState.OVERDUE);
+    private long fleetCapacityKg;
+    private long availableTrucks;
+
+    // Drivers
+    private final Map<String, DriverFigures> drivers = new HashMap<>();
+    private long availableDrivers;
+    private double driverRatingSum;
+
+    private record TruckFigures(int capacityKg, boolean available) {
+    }
+
+    private record DriverFigures(boolean available, double rating) {
+    }
+
+    private DashboardStatsEngine() {
+        DataStore store = DataStore.get();
+        store.trucks().addListenerWithReplay(this::onTrucksChanged);
+        store.drivers().addListenerWithReplay(this::onDriversChanged);
+        overdue.addListener((obs, old, n) -> publish());
+        ShipmentStatsService.get().statsProperty().addListener((obs, old, s) -> publish());
+        publish();
+    }
+
+    public static DashboardStatsEngine get() {
+        return INSTANCE;
+    }
+
+    public ReadOnlyObjectProperty<DashboardStats> statsProperty() {
+        return stats.getReadOnlyProperty();
+    }
+
+    public DashboardStats getStats() {
+        return stats.get();
+    }
+
+    // ========================================
+    // CHANGE HANDLING
+    // ========================================
+
+    private void onTrucksChanged(List<StoreListener.Change<Truck>> changes) {
+        for (StoreListener.Change<Truck> change : changes) {
+            Truck t = change.current();
+            TruckFigures now = t == null ? null : new TruckFigures(t.getCapacityKg(), t.isAvailable());
+            TruckFigures old = now == null ? trucks.remove(change.id()) : trucks.put(change.id(), now);
+            if (old != null) {
+                fleetCapacityKg -= old.capacityKg();
+                if (old.available()) availableTrucks--;
+            }
+            if (now != null) {
+                fleetCapacityKg += now.capacityKg();
+                if (now.available()) availableTrucks++;
+            }
+        }
+        publish();
+    }
+
+    private void onDriversChanged(List<StoreListener.Change<Driver>> changes) {
+        for (StoreListener.Change<Driver> change : changes) {
+            Driver d = change.current();
+            DriverFigures now = d == null ? null : new DriverFigures(d.isAvailable(), d.getRating());
+            DriverFigures old = now == null ? drivers.remove(change.id()) : drivers.put(change.id(), now);
+            if (old != null) {
+                driverRatingSum -= old.rating();
+                if (old.available()) availableDrivers--;
+            }
+            if (now != null) {
+                driverRatingSum += now.rating();
+                if (now.available()) availableDrivers++;
+            }
+        }
+        // Subtracting doubles leaves residue; an empty store should read exactly zero
+        if (drivers.isEmpty()) driverRatingSum = 0;
+        publish();
+    }
+
+    private void publish() {
+        ShipmentStats shipments = ShipmentStatsService.get().getStats();
+        stats.set(new DashboardStats(trucks.size(), availableTrucks, drivers.size(), availableDrivers,
+                shipments.pending(), overdue.get(), fleetCapacityKg, driverRatingSum, shipments.totalValue()));
+    }
+}
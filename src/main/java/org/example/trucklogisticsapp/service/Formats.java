@@ -0,0 +1,134 @@
+package org.example.trucklogisticsapp.service;
+
+import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Number formatting for table cells and stat labels.
+ *
+ * NumberFormat is not thread-safe, so every thread gets its own instances (in practice
+ * only the FX thread formats). Whole-number results are also cached per thread in small
+ * direct-mapped tables: a fleet repeats the same capacities and values over and over,
+ * so most cell renders are a lookup that allocates nothing.
+ */
+public final class Formats {
+
+    private static final int CACHE_BITS = 10;
+    private static final int CACHE_SIZE = 1 << CACHE_BITS;
+
+    private static final ThreadLocal<Formatters> LOCAL = ThreadLocal.withInitial(Formatters::new);
+
+    private Formats() {
+    }
+
+    /**
+     * Whole number with grouping, e.g. 12,500
+     */
+    public static String integer(long value) {
+        return integer(value, "");
+    }
+
+    /**
+     * Whole number with grouping and a suffix, e.g. 12,500 lbs
+     */
+    public static String integer(long value, String suffix) {
+        return LOCAL.get().integers(suffix).get(value);
+    }
+
+    /**
+     * Rounded half-up to a whole number, e.g. 182,341
+     */
+    public static String integer(double value) {
+        return integer(value, "");
+    }
+
+    public static String integer(double value, String suffix) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return LOCAL.get().integer.format(value) + suffix;
+        }
+        return integer(Math.round(value), suffix);
+    }
+
+    /**
+     * Amount in the default currency, e.g. $1,250.00
+     */
+    public static String currency(double value) {
+        Formatters f = LOCAL.get();
+        long whole = (long) value;
+        // Only whole amounts are cached; cents vary too much to be worth it
+        return whole == value ? f.currencies.get(whole) : f.currency.format(value);
+    }
+
+    /**
+     * Fixed number of decimals without grouping, e.g. 4.7
+     */
+    public static String decimal(double value, int fractionDigits) {
+        return LOCAL.get().decimal(fractionDigits).format(value);
+    }
+
+    // ========================================
+    // PER-THREAD STATE
+    // ========================================
+
+    private static final class Formatters {
+        final NumberFormat integer = NumberFormat.getIntegerInstance();
+        final NumberFormat currency = NumberFormat.getCurrencyInstance();
+        final ValueCache currencies = new ValueCache(currency::format);
+        private final Map<String, ValueCache> integersBySuffix = new HashMap<>();
+        private final Map<Integer, NumberFormat> decimals = new HashMap<>();
+
+        Formatters() {
+            integer.setRoundingMode(RoundingMode.HALF_UP);
+        }
+
+        ValueCache integers(String suffix) {
+            ValueCache cache = integersBySuffix.get(suffix);
+            if (cache == null) {
+                cache = new ValueCache(suffix.isEmpty()
+                        ? integer::format
+                        : value -> integer.format(value) + suffix);
+                integersBySuffix.put(suffix, cache);
+            }
+            return cache;
+        }
+
+        NumberFormat decimal(int fractionDigits) {
+            return decimals.computeIfAbsent(fractionDigits, digits -> {
+                NumberFormat format = NumberFormat.getNumberInstance();
+                format.setGroupingUsed(false);
+                format.setMinimumFractionDigits(digits);
+                format.setMaximumFractionDigits(digits);
+                format.setRoundingMode(RoundingMode.HALF_UP);
+                return format;
+            });
+        }
+    }
+
+    /**
+     * Direct-mapped value -> string table; a collision simply replaces the older entry
+     */
+    private static final class ValueCache {
+        private final long[] keys = new long[CACHE_SIZE];
+        private final String[] values = new String[CACHE_SIZE];
+        private final LongFunction<String> formatter;
+
+        ValueCache(LongFunction<String> formatter) {
+            this.formatter = formatter;
+        }
+
+        String get(long value) {
+            // Fibonacci hashing: top bits spread round numbers (1000, 2000, ...) across slots
+            int slot = (int) ((value * 0x9E3779B97F4A7C15L) >>> (64 - CACHE_BITS));
+            String text = values[slot];
+            if (text == null || keys[slot] != value) {
+                text = formatter.apply(value);
+                keys[slot] = value;
+                values[slot] = text;
+            }
+            return text;
+        }
+    }
+}
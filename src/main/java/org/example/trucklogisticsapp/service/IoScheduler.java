@@ -0,0 +1,240 @@
+package org.example.trucklogisticsapp.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central scheduler for all Firestore I/O.
+ *
+ * Work is grouped into lanes (one per collection). Each lane has its own FIFO queue
+ * and a concurrency limit, and is drained by virtual threads, so a bulk import queues
+ * up instead of starting one platform thread per document.
+ */
+public final class IoScheduler {
+
+    /** Default number of concurrent requests per collection */
+    public static final int DEFAULT_LANE_LIMIT = 4;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final IoScheduler INSTANCE = new IoScheduler();
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("firestore-io-", 0).factory());
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean shuttingDown = false;
+
+    private IoScheduler() {
+    }
+
+    public static IoScheduler get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // SUBMISSION
+    // ========================================
+
+    /**
+     * Runs a fire-and-forget task on the given collection's lane.
+     * The task is expected to handle its own errors (as the controllers do).
+     */
+    public void execute(String collection, Runnable task) {
+        submit(collection, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queues a task on the given collection's lane
+     * @return future completed with the task's result (or its exception)
+     */
+    public <T> CompletableFuture<T> submit(String collection, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (shuttingDown) {
+            result.completeExceptionally(new RejectedExecutionException("I/O scheduler is shut down"));
+            return result;
+        }
+
+        Lane lane = lane(collection);
+        lane.submitted.incrementAndGet();
+        lane.queue.add(() -> {
+            try {
+                result.complete(task.call());
+                lane.completed.incrementAndGet();
+            } catch (Throwable t) {
+                lane.failed.incrementAndGet();
+                result.completeExceptionally(t);
+            }
+        });
+        lane.peakDepth.accumulateAndGet(lane.depth.incrementAndGet(), Math::max);
+        lane.dispatch();
+        return result;
+    }
+
+    // ========================================
+    // CONFIGURATION & METRICS
+    // ========================================
+
+    /**
+     * Sets how many requests may run at once against a collection
+     */
+    public void setLimit(String collection, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Lane limit must be at least 1");
+        }
+        Lane lane = lane(collection);
+        lane.limit = limit;
+        lane.dispatch();
+    }
+
+    /**
+     * Number of tasks waiting (not yet running) on a collection's lane
+     */
+    public int getQueueDepth(String collection) {
+        Lane lane = lanes.get(collection);
+        return lane == null ? 0 : lane.depth.get();
+    }
+
+    /**
+     * Snapshot of per-lane counters, keyed by collection
+     */
+    public Map<String, LaneStats> getStats() {
+        Map<String, LaneStats> stats = new LinkedHashMap<>();
+        lanes.forEach((name, lane) -> stats.put(name, lane.snapshot()));
+        return stats;
+    }
+
+    public void logStats() {
+        getStats().forEach((name, s) -> System.out.println("📊 I/O lane " + name + ": " + s));
+    }
+
+    // ========================================
+    // SHUTDOWN
+    // ========================================
+
+    /**
+     * Stops accepting work, lets queued tasks finish for a few seconds, then interrupts the rest
+     */
+    public void shutdown() {
+        if (shuttingDown) return;
+        shuttingDown = true;
+
+        System.out.println("🛑 Shutting down I/O scheduler...");
+        logStats();
+
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+            while (hasPendingWork() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                System.err.println("⚠️ I/O tasks still running after " + SHUTDOWN_TIMEOUT_SECONDS + "s, interrupting");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isShutdown() {
+        return shuttingDown;
+    }
+
+    private boolean hasPendingWork() {
+        for (Lane lane : lanes.values()) {
+            if (lane.depth.get() > 0 || lane.active.get() > 0) return true;
+        }
+        return false;
+    }
+
+    private Lane lane(String collection) {
+        return lanes.computeIfAbsent(collection, Lane::new);
+    }
+
+    // ========================================
+    // LANE
+    // ========================================
+
+    /**
+     * Immutable snapshot of a lane's counters
+     */
+    public record LaneStats(int limit, int active, int queued, int peakQueued,
+                            long submitted, long completed, long failed) {
+        @Override
+        public String toString() {
+            return "limit=" + limit + ", active=" + active + ", queued=" + queued +
+                    ", peakQueued=" + peakQueued + ", submitted=" + submitted +
+                    ", completed=" + completed + ", failed=" + failed;
+        }
+    }
+
+    private final class Lane {
+        private final String name;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicInteger peakDepth = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile int limit = DEFAULT_LANE_LIMIT;
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Starts another drainer if the lane has queued work and spare capacity
+         */
+        void dispatch() {
+            while (!queue.isEmpty()) {
+                int running = active.get();
+                if (running >= limit) return;
+                if (active.compareAndSet(running, running + 1)) {
+                    try {
+                        executor.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        active.decrementAndGet();
+                        System.err.println("❌ I/O lane " + name + " rejected work: " + e.getMessage());
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable next;
+                while ((next = queue.poll()) != null) {
+                    depth.decrementAndGet();
+                    next.run();
+                }
+            } finally {
+                active.decrementAndGet();
+                // Work may have been queued between the last poll and the decrement
+                dispatch();
+            }
+        }
+
+        LaneStats snapshot() {
+            return new LaneStats(limit, active.get(), depth.get(), peakDepth.get(),
+                    submitted.get(), completed.get(), failed.get());
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package org.example.trucklogisticsapp.service;
+
+import org.example.trucklogisticsapp.model.CargoItem;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Plans how shipments' cargo is loaded onto trucks.
+ *
+ * Each shipment is packed on its own, all of them in parallel, into loads of one shared
+ * size: the largest capacity the fleet has enough trucks of for the total weight. Item
+ * lines go in by decreasing unit weight, each into the first load with room (first-fit
+ * decreasing), and a line's quantity is split across loads when one can't take it all. A
+ * local search then works on the lightest load, moving its units into the others' spare
+ * room or swapping them for lighter units, until it empties or can't get lighter.
+ *
+ * Trucks are then handed out one shipment at a time, Urgent first (then heavier first),
+ * the smallest fitting truck per load. A shipment that no longer gets enough trucks is
+ * repacked sequentially onto exactly the trucks that are left; if it still doesn't fit it
+ * gets no trucks at all.
+ *
+ * {@link CargoItem#getWeight()} is taken to be in kg, like {@link Truck#getCapacityKg()}.
+ * Pure computation over the given lists; safe to run off the FX thread.
+ */
+public final class LoadPlanner {
+
+    /** Upper bound on local-search moves per shipment, so planning time stays predictable */
+    public static final int MAX_MOVES = 20_000;
+
+    private static final double TOLERANCE = 1e-9;
+
+    private LoadPlanner() {
+    }
+
+    // ========================================
+    // INPUT AND RESULTS
+    // ========================================
+
+    public record Manifest(Shipment shipment, List<CargoItem> items) {
+    }
+
+    /**
+     * {@code quantity} units of one cargo item
+     */
+    public record Piece(CargoItem item, int quantity) {
+
+        public double weightKg() {
+            return unitWeight(item) * quantity;
+        }
+    }
+
+    public record Load(Truck truck, List<Piece> pieces, double weightKg) {
+
+        public double utilization() {
+            return truck.getCapacityKg() <= 0 ? 0 : weightKg / truck.getCapacityKg();
+        }
+    }
+
+    /**
+     * @param problem why the shipment got no trucks, or null if it is planned
+     */
+    public record ShipmentLoad(Shipment shipment, List<Load> loads, String problem) {
+
+        public boolean isPlanned() {
+            return problem == null;
+        }
+    }
+
+    public record Plan(List<ShipmentLoad> shipments, long nanos) {
+
+        public int trucksUsed() {
+            int n = 0;
+            for (ShipmentLoad s : shipments) n += s.loads().size();
+            return n;
+        }
+
+        public String summary() {
+            long planned = shipments.stream().filter(ShipmentLoad::isPlanned).count();
+            return Formats.integer(planned) + " of " + Formats.integer(shipments.size()) + " shipments loaded on "
+                    + Formats.integer(trucksUsed()) + " trucks in " + Formats.decimal(nanos / 1e6, 1) + " ms";
+        }
+    }
+
+    // ========================================
+    // PLANNING
+    // ========================================
+
+    /**
+     * Plans every manifest against the given trucks, each used at most once. Callers pass
+     * the trucks that can take cargo, e.g. those {@link AssignmentEngine#isEligible(Truck)}.
+     */
+    public static Plan plan(List<Manifest> manifests, List<Truck> trucks) {
+        long start = System.nanoTime();
+        Fleet fleet = new Fleet(trucks);
+
+        // Packing only needs the truck sizes, so shipments are packed independently
+        double demand = manifests.parallelStream()
+                .flatMap(m -> m.items().stream())
+                .mapToDouble(CargoItem::getWeight)
+                .filter(w -> w > 0)
+                .sum();
+        double size = fleet.sharedSize(demand, manifests.size());
+        double largest = fleet.largest();
+        Packing[] packings = manifests.parallelStream()
+                .map(m -> Packing.uniform(m.items(), size, largest))
+                .toArray(Packing[]::new);
+
+        Integer[] order = new Integer[manifests.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> priorityRank(manifests.get(i).shipment()))
+                .thenComparing(i -> -packings[i].total));
+
+        ShipmentLoad[] results = new ShipmentLoad[manifests.size()];
+        for (int i : order) {
+            Manifest manifest = manifests.get(i);
+            Packing packing = packings[i];
+            List<Load> loads = packing.problem == null ? fleet.take(packing) : null;
+            if (loads == null && packing.problem == null) {
+                // Trucks of the shared size went to earlier shipments: repack onto what is left
+                packing = Packing.exact(manifest.items(), fleet.capacities());
+                if (packing.problem == null) loads = fleet.take(packing);
+            }
+            String problem = packing.problem != null ? packing.problem
+                    : loads == null ? "Not enough trucks left (" + Formats.integer(packing.total, " kg") + ")" : null;
+            results[i] = new ShipmentLoad(manifest.shipment(), loads == null ? List.of() : loads, problem);
+        }
+        return new Plan(List.of(results), System.nanoTime() - start);
+    }
+
+    /**
+     * Urgent first; unknown priorities rank with Medium
+     */
+    static int priorityRank(Shipment s) {
+        return switch (s.getPriority() == null ? "" : s.getPriority()) {
+            case "Urgent" -> 0;
+            case "High" -> 1;
+            case "Low" -> 3;
+            default -> 2;
+        };
+    }
+
+    private static double unitWeight(CargoItem item) {
+        return Math.max(0, item.getQuantity() == 0 ? 0 : item.getWeight() / item.getQuantity());
+    }
+
+    // ========================================
+    // FLEET
+    // ========================================
+
+    /**
+     * Trucks not yet loaded, by capacity
+     */
+    private static final class Fleet {
+        private final TreeMap<Integer, Deque<Truck>> byCapacity = new TreeMap<>();
+
+        Fleet(List<Truck> trucks) {
+            for (Truck t : trucks) {
+                if (t.getCapacityKg() > 0) byCapacity.computeIfAbsent(t.getCapacityKg(), k -> new ArrayDeque<>()).add(t);
+            }
+        }
+
+        double largest() {
+            return byCapacity.isEmpty() ? 0 : byCapacity.lastKey();
+        }
+
+        /**
+         * Capacities of the trucks left, largest first
+         */
+        double[] capacities() {
+            double[] result = new double[byCapacity.values().stream().mapToInt(Deque::size).sum()];
+            int i = 0;
+            for (Map.Entry<Integer, Deque<Truck>> e : byCapacity.descendingMap().entrySet()) {
+                for (int n = e.getValue().size(); n > 0; n--) result[i++] = e.getKey();
+            }
+            return result;
+        }
+
+        /**
+         * The largest capacity C with enough trucks of at least C to carry the demand, with
+         * 10% and one partly filled load per shipment to spare; the largest truck if none
+         */
+        double sharedSize(double demand, int shipments) {
+            double[] capacities = capacities();
+            for (int j = 0; j < capacities.length; j++) {
+                if ((j + 1 - shipments) * capacities[j] >= demand * 1.1) return capacities[j];
+            }
+            return largest();
+        }
+
+        /**
+         * The smallest fitting truck for each load, heaviest load first; null (and nothing
+         * taken) if some load doesn't fit
+         */
+        List<Load> take(Packing packing) {
+            List<Load> loads = new ArrayList<>(packing.bins);
+            for (int b : packing.heaviestFirst()) {
+                Map.Entry<Integer, Deque<Truck>> entry = byCapacity.ceilingEntry((int) Math.ceil(packing.load[b] - TOLERANCE));
+                if (entry == null) {
+                    for (Load load : loads) give(load.truck());
+                    return null;
+                }
+                Truck truck = entry.getValue().poll();
+                if (entry.getValue().isEmpty()) byCapacity.remove(entry.getKey());
+                loads.add(new Load(truck, packing.pieces(b), packing.load[b]));
+            }
+            return loads;
+        }
+
+        private void give(Truck t) {
+            byCapacity.computeIfAbsent(t.getCapacityKg(), k -> new ArrayDeque<>()).add(t);
+        }
+    }
+
+    // ========================================
+    // PACKING
+    // ========================================
+
+    /**
+     * One shipment's items packed into bins. Bin k holds {@code sizes[k]}, or the last size
+     * once past the end when unbounded. Bin contents are parallel int lists of (line, units).
+     */
+    private static final class Packing {
+        private final List<CargoItem> lines;
+        private final double[] unit;
+        private final boolean bounded;
+        private double[] sizes;
+        private String problem;
+        private double total;
+        private int heaviest = -1;
+
+        private int bins;
+        private double[] capacity = new double[8];
+        private double[] load = new double[8];
+        private int[][] pieceLine = new int[8][];
+        private int[][] pieceUnits = new int[8][];
+        private int[] pieceCount = new int[8];
+        private FreeTree free = new FreeTree(8);
+        private int sealed = -1;                        // the local-search target; takes no units
+
+        private Packing(List<CargoItem> lines, boolean bounded) {
+            this.lines = lines;
+            this.bounded = bounded;
+            this.unit = new double[lines.size()];
+            for (int i = 0; i < unit.length; i++) {
+                unit[i] = unitWeight(lines.get(i));
+                if (lines.get(i).getQuantity() <= 0) continue;
+                total += unit[i] * lines.get(i).getQuantity();
+                if (heaviest < 0 || unit[i] > unit[heaviest]) heaviest = i;
+            }
+        }
+
+        /**
+         * As many bins as needed, all of {@code size} (or the heaviest unit, if larger)
+         */
+        static Packing uniform(List<CargoItem> items, double size, double largest) {
+            Packing p = new Packing(items, false);
+            p.sizes = new double[]{p.heaviest < 0 ? size : Math.max(size, p.unit[p.heaviest])};
+            return p.pack(largest);
+        }
+
+        /**
+         * One bin per given capacity, largest first
+         */
+        static Packing exact(List<CargoItem> items, double[] capacities) {
+            Packing p = new Packing(items, true);
+            p.sizes = capacities;
+            return p.pack(capacities.length == 0 ? 0 : capacities[0]);
+        }
+
+        private Packing pack(double largest) {
+            if (heaviest >= 0 && unit[heaviest] > largest + TOLERANCE) {
+                CargoItem item = lines.get(heaviest);
+                problem = largest <= 0 ? "No trucks available" : (item.getName() == null ? "An item" : item.getName())
+                        + " (" + Formats.integer(unit[heaviest], " kg") + ") is heavier than any available truck";
+                return this;
+            }
+            firstFitDecreasing();
+            if (problem == null) improve();
+            return this;
+        }
+
+        private void firstFitDecreasing() {
+            Integer[] order = new Integer[lines.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(unit[b], unit[a]));
+
+            for (int i : order) {
+                int units = lines.get(i).getQuantity();
+                while (units > 0) {
+                    int b = free.firstAtLeast(unit[i] - TOLERANCE);
+                    if (b < 0) b = open();
+                    if (b < 0) {
+                        problem = "Not enough trucks left (" + Formats.integer(total, " kg") + ")";
+                        return;
+                    }
+                    units -= place(i, b, units);
+                }
+            }
+        }
+
+        /**
+         * Puts as many of {@code units} as fit into bin b; returns how many went in
+         */
+        private int place(int line, int b, int units) {
+            double room = capacity[b] - load[b];
+            int fit = unit[line] <= 0 ? units : (int) Math.min(units, Math.floor((room + TOLERANCE) / unit[line]));
+            if (fit <= 0) return 0;
+            add(b, line, fit);
+            return fit;
+        }
+
+        private void add(int b, int line, int units) {
+            int n = pieceCount[b];
+            if (n > 0 && pieceLine[b][n - 1] == line) {
+                pieceUnits[b][n - 1] += units;
+            } else {
+                if (n == pieceLine[b].length) {
+                    pieceLine[b] = Arrays.copyOf(pieceLine[b], n * 2);
+                    pieceUnits[b] = Arrays.copyOf(pieceUnits[b], n * 2);
+                }
+                pieceLine[b][n] = line;
+                pieceUnits[b][n] = units;
+                pieceCount[b] = n + 1;
+            }
+            load[b] += unit[line] * units;
+            refresh(b);
+        }
+
+        /**
+         * Takes units of the piece at index k out of bin b
+         */
+        private void takeOut(int b, int k, int units) {
+            int line = pieceLine[b][k];
+            pieceUnits[b][k] -= units;
+            if (pieceUnits[b][k] == 0) {
+                int last = --pieceCount[b];
+                pieceLine[b][k] = pieceLine[b][last];
+                pieceUnits[b][k] = pieceUnits[b][last];
+            }
+            load[b] = Math.max(0, load[b] - unit[line] * units);
+            refresh(b);
+        }
+
+        /**
+         * Index of a new empty bin, or -1 if bounded and out of sizes
+         */
+        private int open() {
+            if (bounded && bins == sizes.length) return -1;
+            if (bins == load.length) {
+                int size = bins * 2;
+                capacity = Arrays.copyOf(capacity, size);
+                load = Arrays.copyOf(load, size);
+                pieceLine = Arrays.copyOf(pieceLine, size);
+                pieceUnits = Arrays.copyOf(pieceUnits, size);
+                pieceCount = Arrays.copyOf(pieceCount, size);
+                FreeTree grown = new FreeTree(size);
+                for (int b = 0; b < bins; b++) grown.set(b, free.get(b));
+                free = grown;
+            }
+            int b = bins++;
+            pieceLine[b] = new int[4];
+            pieceUnits[b] = new int[4];
+            pieceCount[b] = 0;
+            capacity[b] = sizes[Math.min(b, sizes.length - 1)];
+            load[b] = 0;
+            refresh(b);
+            return b;
+        }
+
+        /**
+         * Moves the last bin into slot b (b becomes the last and is dropped)
+         */
+        private void close(int b) {
+            int last = --bins;
+            capacity[b] = capacity[last];
+            load[b] = load[last];
+            pieceLine[b] = pieceLine[last];
+            pieceUnits[b] = pieceUnits[last];
+            pieceCount[b] = pieceCount[last];
+            free.set(last, Double.NEGATIVE_INFINITY);
+            if (b != last) refresh(b);
+        }
+
+        private void refresh(int b) {
+            free.set(b, b == sealed ? Double.NEGATIVE_INFINITY : capacity[b] - load[b]);
+        }
+
+        // ========================================
+        // LOCAL SEARCH
+        // ========================================
+
+        /**
+         * Empties (or lightens) the lightest bin: its units move into other bins' spare room,
+         * or trade places with lighter units from other bins. Every move makes the target
+         * lighter, so the search ends; a bin that empties is dropped and the next lightest
+         * becomes the target.
+         */
+        private void improve() {
+            int moves = 0;
+            while (bins > 1 && moves < MAX_MOVES) {
+                int target = lightest();
+                sealed = target;
+                refresh(target);
+                boolean progress = true;
+                while (progress && pieceCount[target] > 0 && moves < MAX_MOVES) {
+                    progress = drain(target) | swap(target);
+                    moves++;
+                }
+                sealed = -1;
+                if (pieceCount[target] > 0) {
+                    refresh(target);
+                    return;
+                }
+                close(target);
+            }
+        }
+
+        private boolean drain(int target) {
+            boolean moved = false;
+            for (int k = pieceCount[target] - 1; k >= 0; k--) {
+                int line = pieceLine[target][k];
+                while (k < pieceCount[target] && pieceLine[target][k] == line) {
+                    int b = free.firstAtLeast(unit[line] - TOLERANCE);
+                    if (b < 0) break;
+                    int units = place(line, b, pieceUnits[target][k]);
+                    if (units == 0) break;
+                    takeOut(target, k, units);
+                    moved = true;
+                }
+            }
+            return moved;
+        }
+
+        /**
+         * Trades one unit in the target for a lighter one elsewhere, where the difference fits
+         */
+        private boolean swap(int target) {
+            for (int k = 0; k < pieceCount[target]; k++) {
+                int heavy = pieceLine[target][k];
+                for (int b = 0; b < bins; b++) {
+                    if (b == target) continue;
+                    double room = capacity[b] - load[b] + TOLERANCE;
+                    for (int j = 0; j < pieceCount[b]; j++) {
+                        int light = pieceLine[b][j];
+                        double gain = unit[heavy] - unit[light];
+                        if (gain <= TOLERANCE || gain > room) continue;
+                        takeOut(b, j, 1);
+                        add(b, heavy, 1);
+                        takeOut(target, k, 1);
+                        add(target, light, 1);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int lightest() {
+            int best = 0;
+            for (int b = 1; b < bins; b++) if (load[b] < load[best]) best = b;
+            return best;
+        }
+
+        // ========================================
+        // RESULT
+        // ========================================
+
+        int[] heaviestFirst() {
+            Integer[] order = new Integer[bins];
+            for (int b = 0; b < bins; b++) order[b] = b;
+            Arrays.sort(order, (a, b) -> Double.compare(load[b], load[a]));
+            int[] result = new int[bins];
+            for (int i = 0; i < bins; i++) result[i] = order[i];
+            return result;
+        }
+
+        List<Piece> pieces(int b) {
+            List<Piece> pieces = new ArrayList<>(pieceCount[b]);
+            for (int k = 0; k < pieceCount[b]; k++) pieces.add(new Piece(lines.get(pieceLine[b][k]), pieceUnits[b][k]));
+            return pieces;
+        }
+    }
+
+    /**
+     * Max segment tree over the bins' spare room: finds the first bin with at least some
+     * room in O(log bins)
+     */
+    private static final class FreeTree {
+        private final int size;
+        private final double[] max;
+
+        FreeTree(int capacity) {
+            int n = 1;
+            while (n < capacity) n <<= 1;
+            size = n;
+            max = new double[2 * n];
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        double get(int i) {
+            return max[size + i];
+        }
+
+        void set(int i, double value) {
+            int node = size + i;
+            max[node] = value;
+            for (node >>= 1; node > 0; node >>= 1) max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+        }
+
+        /**
+         * First index with a value of at least {@code value}, or -1
+         */
+        int firstAtLeast(double value) {
+            if (max[1] < value) return -1;
+            int node = 1;
+            while (node < size) node = max[2 * node] >= value ? 2 * node : 2 * node + 1;
+            return node - size;
+        }
+    }
+}
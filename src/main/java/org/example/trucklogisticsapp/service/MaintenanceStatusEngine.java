@@ -0,0 +1,94 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import org.example.trucklogisticsapp.model.DayClock;
+import org.example.trucklogisticsapp.model.MaintenanceState;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps every stored truck's maintenance state current.
+ *
+ * Trucks cache their own state (see {@link Truck#getMaintenanceState()}), so rendering a
+ * status is a field read. This engine counts trucks per state from store changes and,
+ * when {@link DayClock} ticks over to a new day, re-evaluates all trucks once and
+ * re-publishes only those whose state changed, so their table rows refresh.
+ *
+ * Confined to the FX thread.
+ */
+public final class MaintenanceStatusEngine {
+
+    private static final MaintenanceStatusEngine INSTANCE = new MaintenanceStatusEngine();
+
+    private final EntityStore<Truck> store = DataStore.get().trucks();
+    private final Map<String, MaintenanceState> states = new HashMap<>();
+    private final Map<MaintenanceState, ReadOnlyIntegerWrapper> counts = new EnumMap<>(MaintenanceState.class);
+
+    private MaintenanceStatusEngine() {
+        for (MaintenanceState state : MaintenanceState.values()) {
+            counts.put(state, new ReadOnlyIntegerWrapper(0));
+        }
+        store.addListenerWithReplay(this::onTrucksChanged);
+        DayClock.addListener(this::onDayChanged);
+    }
+
+    public static MaintenanceStatusEngine get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Number of stored trucks currently in the given state
+     */
+    public ReadOnlyIntegerProperty countProperty(MaintenanceState state) {
+        return counts.get(state).getReadOnlyProperty();
+    }
+
+    public int getCount(MaintenanceState state) {
+        return counts.get(state).get();
+    }
+
+    // ========================================
+    // CHANGE HANDLING
+    // ========================================
+
+    private void onTrucksChanged(List<StoreListener.Change<Truck>> changes) {
+        for (StoreListener.Change<Truck> change : changes) {
+            MaintenanceState old = change.isRemoved()
+                    ? states.remove(change.id())
+                    : states.put(change.id(), change.current().getMaintenanceState());
+            if (old != null) adjust(old, -1);
+            if (!change.isRemoved()) adjust(states.get(change.id()), 1);
+        }
+    }
+
+    private void onDayChanged(long today) {
+        List<Change<Truck>> moved = new ArrayList<>();
+        for (Truck truck : store.getItems()) {
+            MaintenanceState state = truck.getMaintenanceState();
+            if (state != states.get(truck.getId())) {
+                moved.add(Change.modified(truck.getId(), truck));
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            System.out.println("🗓️ New day: maintenance status changed for " + moved.size() + " trucks");
+            // Re-publishing updates the counts above and refreshes the affected rows
+            store.apply(moved);
+        }
+    }
+
+    private void adjust(MaintenanceState state, int delta) {
+        ReadOnlyIntegerWrapper count = counts.get(state);
+        count.set(count.get() + delta);
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+import org.example.trucklogisticsapp.model.AppConfig;
+import org.example.trucklogisticsapp.model.DayClock;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Maintenance due dates and reminders for the whole fleet.
+ *
+ * Trucks are indexed in two ordered sets: by next-due day (for "what is due in the next
+ * N days", O(log n + k)) and by reminder day, i.e. due day minus the truck's
+ * reminderDaysBefore (reminders not yet fired). When the day advances, reminders are
+ * popped off the front of the second set, so each fires exactly once per due date.
+ *
+ * The schedule, including which reminders have fired, is saved to reminders.bin in the
+ * data directory. After a restart it is answered from that snapshot straight away;
+ * store changes only touch the trucks whose schedule actually differs.
+ *
+ * Confined to the FX thread.
+ */
+public final class ReminderScheduler {
+
+    private static final int MAGIC = 0x54524D44; // "TRMD"
+    private static final int VERSION = 1;
+    private static final long NOT_FIRED = Long.MIN_VALUE;
+    private static final Duration SAVE_DELAY = Duration.seconds(2);
+
+    private static final ReminderScheduler INSTANCE = new ReminderScheduler();
+
+    /**
+     * A truck whose maintenance is due, as delivered to listeners and returned by queries
+     */
+    public record DueMaintenance(String truckId, String truckName, LocalDate dueDate, long daysUntil) {
+    }
+
+    private final EntityStore<Truck> store = DataStore.get().trucks();
+    private final Path file = AppConfig.getDataDir().resolve("reminders.bin");
+
+    private final Map<String, Schedule> schedules = new HashMap<>();
+    private final TreeSet<Entry> byDueDay = new TreeSet<>();
+    private final TreeSet<Entry> byReminderDay = new TreeSet<>();
+    private final List<Consumer<List<DueMaintenance>>> listeners = new CopyOnWriteArrayList<>();
+
+    private final PauseTransition saveTimer = new PauseTransition(SAVE_DELAY);
+    // Snapshots are numbered so a slow background save can't overwrite a newer file
+    private long snapshotSeq = 0;
+    private long writtenSeq = 0;
+
+    private ReminderScheduler() {
+        load();
+        saveTimer.setOnFinished(e -> saveInBackground());
+        store.addListenerWithReplay(this::onTrucksChanged);
+        store.loadedProperty().addListener((obs, was, loaded) -> {
+            if (loaded) pruneDeleted();
+        });
+        DayClock.addListener(today -> fireDue());
+    }
+
+    public static ReminderScheduler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Called on the FX thread with the reminders that became due (once per truck and due date)
+     */
+    public void addListener(Consumer<List<DueMaintenance>> listener) {
+        listeners.add(listener);
+        fireDue();
+    }
+
+    public void removeListener(Consumer<List<DueMaintenance>> listener) {
+        listeners.remove(listener);
+    }
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    /**
+     * Trucks due today or within the next {@code days} days, soonest first
+     */
+    public List<DueMaintenance> dueWithin(int days) {
+        long today = DayClock.today();
+        return toResults(byDueDay.subSet(Entry.first(today), true, Entry.last(today + days), true), today);
+    }
+
+    /**
+     * Trucks whose maintenance date has passed, most overdue first
+     */
+    public List<DueMaintenance> overdue() {
+        long today = DayClock.today();
+        return toResults(byDueDay.headSet(Entry.first(today), false), today);
+    }
+
+    private List<DueMaintenance> toResults(NavigableSet<Entry> entries, long today) {
+        List<DueMaintenance> result = new ArrayList<>(entries.size());
+        for (Entry e : entries) {
+            result.add(schedules.get(e.truckId).toDue(e.truckId, today));
+        }
+        return result;
+    }
+
+    // ========================================
+    // INDEX MAINTENANCE
+    // ========================================
+
+    private void onTrucksChanged(List<StoreListener.Change<Truck>> changes) {
+        boolean changed = false;
+        for (StoreListener.Change<Truck> change : changes) {
+            changed |= change.isRemoved()
+                    ? remove(change.id())
+                    : update(change.id(), change.current());
+        }
+        if (changed) {
+            fireDue();
+            saveTimer.playFromStart();
+        }
+    }
+
+    private boolean update(String id, Truck truck) {
+        Schedule old = schedules.get(id);
+        long dueDay = truck.getNextMaintenanceDueDay();
+        int daysBefore = truck.isRemindersEnabled() ? Math.max(0, truck.getReminderDaysBefore()) : -1;
+        String name = truck.getDisplayName();
+        if (old != null && old.dueDay == dueDay && old.daysBefore == daysBefore && old.name.equals(name)) {
+            return false;
+        }
+
+        // A reminder that fired for this due date stays fired; a new due date starts over
+        long firedFor = old != null && old.firedForDueDay == dueDay ? dueDay : NOT_FIRED;
+        unindex(id, old);
+        Schedule schedule = new Schedule(name, dueDay, daysBefore, firedFor);
+        schedules.put(id, schedule);
+        index(id, schedule);
+        return true;
+    }
+
+    private boolean remove(String id) {
+        Schedule old = schedules.remove(id);
+        unindex(id, old);
+        return old != null;
+    }
+
+    private void index(String id, Schedule s) {
+        if (s.dueDay == Truck.NO_DUE_DAY) return;
+        byDueDay.add(new Entry(s.dueDay, id));
+        if (s.hasPendingReminder()) {
+            byReminderDay.add(new Entry(s.reminderDay(), id));
+        }
+    }
+
+    private void unindex(String id, Schedule s) {
+        if (s == null || s.dueDay == Truck.NO_DUE_DAY) return;
+        byDueDay.remove(new Entry(s.dueDay, id));
+        if (s.hasPendingReminder()) {
+            byReminderDay.remove(new Entry(s.reminderDay(), id));
+        }
+    }
+
+    /**
+     * Drops trucks from the saved snapshot that no longer exist once the full fleet is known
+     */
+    private void pruneDeleted() {
+        List<String> gone = new ArrayList<>();
+        for (String id : schedules.keySet()) {
+            if (!store.contains(id)) gone.add(id);
+        }
+        gone.forEach(this::remove);
+        if (!gone.isEmpty()) saveTimer.playFromStart();
+    }
+
+    // ========================================
+    // FIRING
+    // ========================================
+
+    private void fireDue() {
+        if (listeners.isEmpty()) return;
+
+        long today = DayClock.today();
+        List<DueMaintenance> due = new ArrayList<>();
+        while (!byReminderDay.isEmpty() && byReminderDay.first().day <= today) {
+            String id = byReminderDay.pollFirst().truckId;
+            Schedule s = schedules.get(id);
+            Schedule fired = new Schedule(s.name, s.dueDay, s.daysBefore, s.dueDay);
+            schedules.put(id, fired);
+            due.add(fired.toDue(id, today));
+        }
+        if (due.isEmpty()) return;
+
+        System.out.println("🔔 " + due.size() + " maintenance reminder(s) due");
+        // Persist first (synchronously, it's one small file once a day), so a crash right
+        // after can't fire the same reminders twice
+        saveTimer.stop();
+        write(snapshot());
+        listeners.forEach(l -> l.accept(due));
+    }
+
+    // ========================================
+    // PERSISTENCE
+    // ========================================
+
+    /**
+     * Writes the schedule synchronously. Call on shutdown, before the I/O scheduler stops.
+     */
+    public void shutdown() {
+        saveTimer.stop();
+        write(snapshot());
+    }
+
+    private void saveInBackground() {
+        Snapshot snapshot = snapshot();
+        IoScheduler.get().execute("reminders", () -> write(snapshot));
+    }
+
+    private Snapshot snapshot() {
+        return new Snapshot(++snapshotSeq, new HashMap<>(schedules));
+    }
+
+    private synchronized void write(Snapshot snapshot) {
+        if (snapshot.seq < writtenSeq) return;
+        writtenSeq = snapshot.seq;
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.schedules.size());
+                for (Map.Entry<String, Schedule> e : snapshot.schedules.entrySet()) {
+                    Schedule s = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeUTF(s.name);
+                    out.writeLong(s.dueDay);
+                    out.writeInt(s.daysBefore);
+                    out.writeLong(s.firedForDueDay);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not save maintenance reminders: " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.err.println("⚠️ Ignoring unrecognized reminder file " + file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                Schedule s = new Schedule(in.readUTF(), in.readLong(), in.readInt(), in.readLong());
+                schedules.put(id, s);
+                index(id, s);
+            }
+            System.out.println("✅ Loaded " + count + " maintenance schedules");
+        } catch (NoSuchFileException e) {
+            // First run - the index fills from the truck store
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not read maintenance reminders, rebuilding: " + e.getMessage());
+            schedules.clear();
+            byDueDay.clear();
+            byReminderDay.clear();
+        }
+    }
+
+    // ========================================
+    // ENTRIES
+    // ========================================
+
+    /**
+     * @param daysBefore     reminder lead time, or -1 when reminders are off
+     * @param firedForDueDay due day the reminder already fired for, or NOT_FIRED
+     */
+    private record Schedule(String name, long dueDay, int daysBefore, long firedForDueDay) {
+
+        boolean hasPendingReminder() {
+            return daysBefore >= 0 && firedForDueDay != dueDay;
+        }
+
+        long reminderDay() {
+            return dueDay - daysBefore;
+        }
+
+        DueMaintenance toDue(String id, long today) {
+            return new DueMaintenance(id, name, LocalDate.ofEpochDay(dueDay), dueDay - today);
+        }
+    }
+
+    private record Snapshot(long seq, Map<String, Schedule> schedules) {
+    }
+
+    private record Entry(long day, String truckId) implements Comparable<Entry> {
+
+        static Entry first(long day) {
+            return new Entry(day, "");
+        }
+
+        static Entry last(long day) {
+            return new Entry(day, "\uffff");
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(day, o.day);
+            return c != 0 ? c : truckId.compareTo(o.truckId);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.trucklogisticsapp.service;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.ShipmentStats;
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.EntityStore;
+import org.example.trucklogisticsapp.store.StoreListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shipment counters for the header labels.
+ *
+ * Until the shipments store is fully loaded the figures come from a backend aggregation
+ * query (count/sum per status, no documents downloaded). After that they come from
+ * counters kept up to date with every store change, so a change costs O(1) and the
+ * labels never rescan the list.
+ *
+ * Confined to the FX thread.
+ */
+public final class ShipmentStatsService {
+
+    private static final ShipmentStatsService INSTANCE = new ShipmentStatsService();
+
+    private final EntityStore<Shipment> store = DataStore.get().shipments();
+    private final ReadOnlyObjectWrapper<ShipmentStats> stats = new ReadOnlyObjectWrapper<>(ShipmentStats.EMPTY);
+
+    // What each stored shipment currently contributes (models are edited in place)
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private long total;
+    private long inTransit;
+    private long pending;
+    private double totalValue;
+
+    private ShipmentStats serverStats;
+    private boolean aggregating = false;
+
+    private ShipmentStatsService() {
+        store.addListenerWithReplay(this::onChanged);
+        store.loadedProperty().addListener((obs, was, loaded) -> publish());
+    }
+
+    public static ShipmentStatsService get() {
+        return INSTANCE;
+    }
+
+    public ReadOnlyObjectProperty<ShipmentStats> statsProperty() {
+        return stats.getReadOnlyProperty();
+    }
+
+    public ShipmentStats getStats() {
+        return stats.get();
+    }
+
+    /**
+     * Asks the backend for collection-wide totals, unless the store already has them all
+     */
+    public void refresh() {
+        if (store.isLoaded() || aggregating) return;
+        aggregating = true;
+
+        IoScheduler.get()
+                .submit("shipments", () -> Repositories.shipments().aggregateStats())
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    aggregating = false;
+                    if (error != null) {
+                        System.err.println("⚠️ Shipment aggregation failed, using local counters: " + error.getMessage());
+                        return;
+                    }
+                    serverStats = result;
+                    publish();
+                }));
+    }
+
+    // ========================================
+    // INCREMENTAL COUNTERS
+    // ========================================
+
+    private void onChanged(List<StoreListener.Change<Shipment>> changes) {
+        for (StoreListener.Change<Shipment> change : changes) {
+            Contribution old = change.isRemoved()
+                    ? contributions.remove(change.id())
+                    : contributions.put(change.id(), Contribution.of(change.current()));
+            if (old != null) apply(old, -1);
+            if (!change.isRemoved()) apply(contributions.get(change.id()), 1);
+        }
+        publish();
+    }
+
+    private void apply(Contribution c, int sign) {
+        total += sign;
+        totalValue += sign * c.value;
+        switch (c.bucket) {
+            case IN_TRANSIT -> inTransit += sign;
+            case PENDING -> pending += sign;
+            default -> { }
+        }
+    }
+
+    private void publish() {
+        // Partially loaded store: prefer the backend's collection-wide figures
+        boolean useServer = serverStats != null && !store.isLoaded();
+        stats.set(useServer ? serverStats : new ShipmentStats(total, inTransit, pending, totalValue));
+        if (store.isLoaded()) serverStats = null;
+    }
+
+    private record Contribution(ShipmentStats.Bucket bucket, double value) {
+        static Contribution of(Shipment s) {
+            return new Contribution(ShipmentStats.bucketOf(s.getStatus()), s.getReportedValue());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.trucklogisticsapp.service;
+
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.store.DataStore;
+import org.example.trucklogisticsapp.store.LoadHandle;
+import org.example.trucklogisticsapp.store.SyncEngine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Staged application startup.
+ *
+ * The shell is shown right away while the backend is initialized off the FX thread.
+ * Once it is up, the network channel is warmed and the first collection is prefetched
+ * in parallel. Each stage is exposed as a future so other code can wait for exactly
+ * what it needs, and stage timings are logged relative to launch.
+ */
+public final class StartupPipeline {
+
+    private static final StartupPipeline INSTANCE = new StartupPipeline();
+
+    private final CompletableFuture<Void> backendReady = new CompletableFuture<>();
+    private final CompletableFuture<Void> channelWarm = new CompletableFuture<>();
+    private final CompletableFuture<Void> firstPage = new CompletableFuture<>();
+    private final CompletableFuture<Void> shellShown = new CompletableFuture<>();
+    private final CompletableFuture<Void> interactive = shellShown.thenCombine(firstPage, (a, b) -> null);
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long startNanos;
+    private boolean started = false;
+
+    private StartupPipeline() {
+    }
+
+    public static StartupPipeline get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // READINESS
+    // ========================================
+
+    /**
+     * Completes once the backend (Firebase app or local files) can serve requests
+     */
+    public CompletableFuture<Void> backendReady() {
+        return backendReady;
+    }
+
+    /**
+     * Completes once a first round-trip has opened the backend's connection
+     */
+    public CompletableFuture<Void> channelWarm() {
+        return channelWarm;
+    }
+
+    /**
+     * Completes when the first page of the prefetched collection is in the store
+     */
+    public CompletableFuture<Void> firstPage() {
+        return firstPage;
+    }
+
+    /**
+     * Completes when the shell is on screen and has data to show
+     */
+    public CompletableFuture<Void> interactive() {
+        return interactive;
+    }
+
+    // ========================================
+    // STAGES
+    // ========================================
+
+    /**
+     * Starts backend initialization, channel warm-up and prefetch. Call first thing on the FX thread.
+     */
+    public void start() {
+        if (started) return;
+        started = true;
+        startNanos = System.nanoTime();
+
+        IoScheduler.get().submit("startup", () -> {
+            Repositories.initialize();
+            return null;
+        }).whenComplete((ok, error) -> finish("backend", backendReady, error));
+
+        // Warm-up: one tiny read opens the channel and fetches an auth token
+        backendReady.thenRun(() -> IoScheduler.get()
+                .submit("startup", () -> Repositories.trucks().findPage(null, 1))
+                .whenComplete((ok, error) -> finish("channel", channelWarm, error)));
+
+        // Prefetch the first page of trucks (the first dashboard card); SyncEngine waits for the backend
+        LoadHandle prefetch = SyncEngine.get().acquire(DataStore.get().trucks());
+        awaitFirstPage(prefetch);
+
+        interactive.whenComplete((ok, error) -> {
+            record("interactive");
+            logTimings();
+        });
+    }
+
+    /**
+     * Completes the first-page stage once the trucks' first page is in. A failed attempt is
+     * logged and the stage keeps waiting: the next screen that acquires the trucks retries.
+     * @param prefetch released after the first attempt, or null
+     */
+    private void awaitFirstPage(LoadHandle prefetch) {
+        SyncEngine.get().firstPage(DataStore.get().trucks()).whenComplete((ok, error) -> {
+            if (prefetch != null) prefetch.release();
+            if (error == null) {
+                finish("first page", firstPage, null);
+                return;
+            }
+            System.err.println("❌ Startup stage 'first page' failed: " + error.getMessage() + " - waiting for a retry");
+            awaitFirstPage(null);
+        });
+    }
+
+    /**
+     * Called once the main window is showing
+     */
+    public void markShellShown() {
+        finish("shell", shellShown, null);
+    }
+
+    private void finish(String phase, CompletableFuture<Void> future, Throwable error) {
+        if (error != null) {
+            System.err.println("❌ Startup stage '" + phase + "' failed: " + error.getMessage());
+            future.completeExceptionally(error);
+            return;
+        }
+        record(phase);
+        future.complete(null);
+    }
+
+    private void record(String phase) {
+        long ms = (System.nanoTime() - startNanos) / 1_000_000;
+        synchronized (phases) {
+            phases.putIfAbsent(phase, ms);
+        }
+    }
+
+    private void logTimings() {
+        StringJoiner line = new StringJoiner(", ");
+        synchronized (phases) {
+            phases.forEach((phase, ms) -> line.add(phase + " " + ms + " ms"));
+        }
+        System.out.println("⏱️ Startup: " + line);
+    }
+}
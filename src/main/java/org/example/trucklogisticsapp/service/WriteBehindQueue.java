@@ -0,0 +1,377 @@
+package org.example.trucklogisticsapp.service;
+
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Buffers saves and deletes and writes them in batches.
+ *
+ * Pending writes are keyed by collection/docId, so repeated edits to the same document
+ * collapse into its latest state. A save is encoded to document fields when it is queued,
+ * on the caller's thread: models are edited in place, and a later edit must not leak into
+ * (or tear) a write that is already waiting. An {@link #update} writes only the given
+ * fields, for entities that were read through a projection. The buffer is flushed shortly
+ * after the first write (or as soon as it holds a full batch) using one
+ * {@link Repository#writeDocuments} per collection, i.e. WriteBatch commits of up to 500
+ * operations on Firestore.
+ *
+ * Flushes run one at a time, so writes to a document are applied in the order they
+ * were made. Failed writes are retried on a later flush, up to {@link #MAX_ATTEMPTS}; after a
+ * failed flush the next one waits twice as long as the last (up to {@link #MAX_RETRY_DELAY_MS}),
+ * so a backend outage doesn't burn through every attempt in a second.
+ */
+public final class WriteBehindQueue {
+
+    /** How long a write may sit in the buffer before it is flushed */
+    public static final long FLUSH_DELAY_MS = 250;
+
+    /** Buffered documents that trigger an immediate flush (one Firestore WriteBatch) */
+    public static final int BATCH_SIZE = 500;
+
+    /** Flushes a write may fail before it is dropped */
+    public static final int MAX_ATTEMPTS = 5;
+
+    /** Longest wait between a failed flush and the next one */
+    public static final long MAX_RETRY_DELAY_MS = 10_000;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final WriteBehindQueue INSTANCE = new WriteBehindQueue();
+
+    // Single thread: flushes never overlap
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Function<EntityType<?>, Repository<?>> repositories;
+    private final long flushDelayMs;
+
+    private final Object lock = new Object();
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    // Flushes failed in a row, and when the next one may start (System.nanoTime)
+    private int failedFlushes = 0;
+    private long retryAtNanos;
+    private volatile boolean shuttingDown = false;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private WriteBehindQueue() {
+        this(Repositories::of, FLUSH_DELAY_MS);
+    }
+
+    /**
+     * A queue writing to the given repositories (tests)
+     */
+    WriteBehindQueue(Function<EntityType<?>, Repository<?>> repositories, long flushDelayMs) {
+        this.repositories = repositories;
+        this.flushDelayMs = flushDelayMs;
+    }
+
+    public static WriteBehindQueue get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // ENQUEUE
+    // ========================================
+
+    /**
+     * Queues a create/replace of the entity as it is now. Assigns a new id first if the
+     * entity has none. Call from the thread that edits the entity.
+     * @return future completed once this (or a later) state of the document is written;
+     *         completed exceptionally if the write is given up on
+     */
+    public <T> CompletableFuture<Void> save(EntityType<T> type, T entity) {
+        if (!type.hasId(entity)) {
+            type.setId(entity, UUID.randomUUID().toString());
+        }
+        return enqueue(type, type.getId(entity), type.encode(entity), false);
+    }
+
+    /**
+     * Queues a change to just these stored fields; the rest of the document is left as it
+     * is. Use it for entities that only carry a projection.
+     */
+    public CompletableFuture<Void> update(EntityType<?> type, String id, Map<String, Object> fields) {
+        return enqueue(type, id, new HashMap<>(fields), true);
+    }
+
+    /**
+     * Queues a delete
+     */
+    public CompletableFuture<Void> delete(EntityType<?> type, String id) {
+        return enqueue(type, id, null, false);
+    }
+
+    private CompletableFuture<Void> enqueue(EntityType<?> type, String id, Map<String, Object> fields, boolean merge) {
+        if (shuttingDown) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write queue is shut down"));
+        }
+
+        String key = type.getCollection() + "/" + id;
+        synchronized (lock) {
+            PendingWrite previous = pending.get(key);
+            PendingWrite write;
+            if (previous != null) {
+                // Latest state wins; callers of the earlier write share its outcome
+                coalesced.incrementAndGet();
+                if (merge && previous.fields == null) {
+                    // Nothing left to update once the delete is written
+                    return previous.result;
+                }
+                if (merge) {
+                    // Folded into the pending save or update, which keeps its kind
+                    Map<String, Object> combined = new HashMap<>(previous.fields);
+                    combined.putAll(fields);
+                    fields = combined;
+                }
+                write = new PendingWrite(type, id, fields, merge && previous.merge, 0, previous.result);
+            } else {
+                write = new PendingWrite(type, id, fields, merge, 0, new CompletableFuture<>());
+            }
+            pending.put(key, write);
+            scheduleFlush(pending.size() >= BATCH_SIZE);
+            return write.result;
+        }
+    }
+
+    private void scheduleFlush(boolean now) {
+        // Caller holds the lock
+        if (now) {
+            flushScheduled = true;
+            flusher.execute(() -> flush(false));
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            flusher.schedule(() -> flush(false), flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ========================================
+    // FLUSH (write-behind thread only)
+    // ========================================
+
+    /**
+     * @param force flush even while backing off after a failed flush
+     */
+    private void flush(boolean force) {
+        Map<String, PendingWrite> batch;
+        synchronized (lock) {
+            long wait = retryAtNanos - System.nanoTime();
+            if (!force && failedFlushes > 0 && wait > 0) {
+                // Still backing off - writes keep coalescing in the buffer meanwhile
+                flusher.schedule(() -> flush(false), wait, TimeUnit.NANOSECONDS);
+                return;
+            }
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        // One writeAll per collection, all collections in parallel
+        Map<EntityType<?>, List<PendingWrite>> byType = new LinkedHashMap<>();
+        for (PendingWrite w : batch.values()) {
+            byType.computeIfAbsent(w.type, t -> new ArrayList<>()).add(w);
+        }
+
+        List<CompletableFuture<Boolean>> commitsInFlight = new ArrayList<>();
+        byType.forEach((type, writes) -> commitsInFlight.add(commit(type, writes)));
+
+        // Wait so the next flush can't overtake this one
+        boolean ok = true;
+        for (CompletableFuture<Boolean> commit : commitsInFlight) {
+            ok &= commit.join();
+        }
+
+        synchronized (lock) {
+            if (ok) {
+                failedFlushes = 0;
+            } else {
+                failedFlushes++;
+                retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMs());
+            }
+            // Retries went back into the buffer
+            if (!pending.isEmpty()) scheduleFlush(false);
+        }
+    }
+
+    /**
+     * Wait before the next flush after {@link #failedFlushes} failed ones in a row
+     */
+    private long retryDelayMs() {
+        int doublings = Math.min(failedFlushes, 20);
+        return Math.min(flushDelayMs << doublings, MAX_RETRY_DELAY_MS);
+    }
+
+    /**
+     * @return future completed with true if the writes were committed
+     */
+    private CompletableFuture<Boolean> commit(EntityType<?> type, List<PendingWrite> writes) {
+        return IoScheduler.get()
+                .submit(type.getCollection(), () -> {
+                    writeAll(type, writes);
+                    return null;
+                })
+                .handle((ok, error) -> {
+                    if (error == null) {
+                        commits.incrementAndGet();
+                        written.addAndGet(writes.size());
+                        writes.forEach(w -> w.result.complete(null));
+                        return true;
+                    } else {
+                        failed.addAndGet(writes.size());
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        System.err.println("❌ Batch write to " + type + " failed (" + writes.size() +
+                                " docs): " + cause.getMessage());
+                        writes.forEach(w -> retry(w, cause));
+                        return false;
+                    }
+                });
+    }
+
+    private void writeAll(EntityType<?> type, List<PendingWrite> writes) {
+        Map<String, Map<String, Object>> saves = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+        List<String> deletes = new ArrayList<>();
+        for (PendingWrite w : writes) {
+            if (w.fields == null) {
+                deletes.add(w.id);
+            } else if (w.merge) {
+                updates.put(w.id, w.fields);
+            } else {
+                saves.put(w.id, w.fields);
+            }
+        }
+        repositories.apply(type).writeDocuments(saves, updates, deletes);
+    }
+
+    private void retry(PendingWrite write, Throwable cause) {
+        synchronized (lock) {
+            String key = write.type.getCollection() + "/" + write.id;
+            PendingWrite newer = pending.get(key);
+            if (newer != null) {
+                // Superseded while in flight - the newer state will be written instead. A newer
+                // update only has some fields, so it still carries this write's as well.
+                if (newer.merge && write.fields != null) {
+                    Map<String, Object> combined = new HashMap<>(write.fields);
+                    combined.putAll(newer.fields);
+                    pending.put(key, new PendingWrite(write.type, write.id, combined, write.merge, newer.attempts,
+                            newer.result));
+                }
+                newer.result.whenComplete((v, e) -> {
+                    if (e == null) write.result.complete(null);
+                    else write.result.completeExceptionally(e);
+                });
+                return;
+            }
+
+            if (write.attempts + 1 >= MAX_ATTEMPTS || shuttingDown) {
+                dropped.incrementAndGet();
+                write.result.completeExceptionally(cause);
+                return;
+            }
+
+            // Flushed again once the failed flush has set its backoff
+            pending.put(key, new PendingWrite(write.type, write.id, write.fields, write.merge, write.attempts + 1,
+                    write.result));
+        }
+    }
+
+    // ========================================
+    // METRICS
+    // ========================================
+
+    /**
+     * Documents waiting to be written
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Document writes that have failed (including ones later retried successfully)
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Document writes given up on after {@link #MAX_ATTEMPTS}
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void logStats() {
+        System.out.println("📊 Write-behind: pending=" + getPendingCount() + ", written=" + written.get() +
+                ", coalesced=" + coalesced.get() + ", commits=" + commits.get() +
+                ", failed=" + failed.get() + ", dropped=" + dropped.get());
+    }
+
+    // ========================================
+    // SHUTDOWN
+    // ========================================
+
+    /**
+     * Writes everything still buffered, then stops. Call before the I/O scheduler shuts down.
+     */
+    public void shutdown() {
+        if (shuttingDown) return;
+
+        System.out.println("🛑 Flushing write-behind queue...");
+        try {
+            // Flush repeatedly so retries of a failed flush still get their chance
+            for (int i = 0; i < MAX_ATTEMPTS && getPendingCount() > 0; i++) {
+                flusher.submit(() -> flush(true)).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("⚠️ Write-behind flush did not finish: " + e.getMessage());
+        }
+
+        shuttingDown = true;
+        flusher.shutdownNow();
+        logStats();
+    }
+
+    /**
+     * Flushes the buffer now, ignoring the flush delay and any backoff, and waits for it (tests)
+     */
+    void flushNow() throws InterruptedException, ExecutionException {
+        flusher.submit(() -> flush(true)).get();
+    }
+
+    /**
+     * @param fields the encoded document, or null for a delete
+     * @param merge  true if {@code fields} are only some of the document's fields ({@link #update})
+     */
+    private record PendingWrite(EntityType<?> type, String id, Map<String, Object> fields, boolean merge,
+                                int attempts, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.trucklogisticsapp.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over a few low-cardinality fields of a store (status, priority,
+ * availability...), and the source of the {@link LiveView}s built on them.
+ *
+ * Every document gets an int ordinal; each field keeps one BitSet of ordinals per value.
+ * "status == Pending and priority in (High, Urgent)" is then a couple of ORs and an AND
+ * over bit words, without touching a document. Ordinals are reused after removal, at
+ * the end of the change batch that freed them.
+ *
+ * Kept current from store change events, after which the changed ordinals are passed on
+ * to the views. Confined to the FX thread.
+ */
+public final class BitmapIndex<T> {
+
+    private final EntityStore<T> store;
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+    private final List<LiveView<T>> views = new ArrayList<>();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final List<Integer> free = new ArrayList<>();
+    private String[] ids = new String[1024];
+    private int capacity;
+
+    BitmapIndex(EntityStore<T> store) {
+        this.store = store;
+        store.addListenerWithReplay(this::onChanged);
+    }
+
+    /**
+     * Adds a bitmap-indexed field, built from the documents already in the store
+     */
+    public BitmapIndex<T> field(String name, Function<T, ?> value) {
+        Field<T> field = new Field<>(value, ids.length);
+        fields.put(name, field);
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            field.set(doc, store.get(ids[doc]));
+        }
+        return this;
+    }
+
+    /**
+     * A new live view of this store, initially unfiltered
+     */
+    public LiveView<T> view(SearchIndex<T> search) {
+        LiveView<T> view = new LiveView<>(this, search);
+        views.add(view);
+        return view;
+    }
+
+    /**
+     * Stops passing changes to a view ({@link LiveView#dispose})
+     */
+    void release(LiveView<T> view) {
+        views.remove(view);
+    }
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Ordinals of every document (a copy)
+     */
+    public BitSet all() {
+        return (BitSet) live.clone();
+    }
+
+    /**
+     * Ordinals of the documents whose field has one of the given values (a new BitSet)
+     */
+    public BitSet matching(String field, Iterable<?> values) {
+        Field<T> f = field(field);
+        BitSet result = new BitSet(capacity);
+        for (Object value : values) {
+            BitSet bits = f.bitmaps.get(value);
+            if (bits != null) result.or(bits);
+        }
+        return result;
+    }
+
+    /**
+     * The field's value for the document with the given ordinal
+     */
+    public Object valueAt(String field, int doc) {
+        return field(field).values[doc];
+    }
+
+    public int ordinalOf(String id) {
+        Integer doc = ordinals.get(id);
+        return doc == null ? -1 : doc;
+    }
+
+    public T at(int doc) {
+        return store.get(ids[doc]);
+    }
+
+    private Field<T> field(String name) {
+        Field<T> field = fields.get(name);
+        if (field == null) throw new IllegalArgumentException("No bitmap index on '" + name + "'");
+        return field;
+    }
+
+    // ========================================
+    // INDEX MAINTENANCE
+    // ========================================
+
+    private void onChanged(List<StoreListener.Change<T>> changes) {
+        List<Delta<T>> deltas = new ArrayList<>(changes.size());
+        List<Integer> released = new ArrayList<>();
+
+        for (StoreListener.Change<T> change : changes) {
+            String id = change.id();
+            if (change.isRemoved()) {
+                Integer doc = ordinals.remove(id);
+                if (doc == null) continue;
+                for (Field<T> field : fields.values()) field.clear(doc);
+                live.clear(doc);
+                ids[doc] = null;
+                released.add(doc);
+                deltas.add(new Delta<>(doc, id, null));
+            } else {
+                Integer doc = ordinals.get(id);
+                if (doc == null) doc = allocate(id);
+                for (Field<T> field : fields.values()) field.set(doc, change.current());
+                deltas.add(new Delta<>(doc, id, change.current()));
+            }
+        }
+
+        for (LiveView<T> view : views) view.onChanged(deltas);
+        free.addAll(released);
+    }
+
+    private int allocate(String id) {
+        int doc;
+        if (!free.isEmpty()) {
+            doc = free.remove(free.size() - 1);
+        } else {
+            doc = capacity++;
+            if (doc == ids.length) {
+                ids = Arrays.copyOf(ids, doc * 2);
+                for (Field<T> field : fields.values()) field.values = Arrays.copyOf(field.values, doc * 2);
+            }
+        }
+        ordinals.put(id, doc);
+        ids[doc] = id;
+        live.set(doc);
+        return doc;
+    }
+
+    /**
+     * A changed document: {@code current} is null if it was removed
+     */
+    record Delta<T>(int doc, String id, T current) {
+    }
+
+    private static final class Field<T> {
+        private final Function<T, ?> extractor;
+        private final Map<Object, BitSet> bitmaps = new HashMap<>();
+        private Object[] values;
+
+        Field(Function<T, ?> extractor, int capacity) {
+            this.extractor = extractor;
+            this.values = new Object[capacity];
+        }
+
+        void set(int doc, T entity) {
+            Object value = extractor.apply(entity);
+            Object old = values[doc];
+            if (old != null && old.equals(value)) return;
+            clear(doc);
+            values[doc] = value;
+            if (value != null) bitmaps.computeIfAbsent(value, v -> new BitSet()).set(doc);
+        }
+
+        void clear(int doc) {
+            Object old = values[doc];
+            if (old == null) return;
+            bitmaps.get(old).clear(doc);
+            values[doc] = null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.trucklogisticsapp.store;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Projection;
+
+/**
+ * Shared in-memory copies of all four collections, kept current by the {@link SyncEngine}.
+ * Screens read from here instead of querying the backend.
+ */
+public final class DataStore {
+
+    private static final DataStore INSTANCE = new DataStore();
+
+    private final EntityStore<Truck> trucks = new EntityStore<>(EntityType.TRUCK, ListProjections.TRUCKS);
+    private final EntityStore<Driver> drivers = new EntityStore<>(EntityType.DRIVER, ListProjections.DRIVERS);
+    private final EntityStore<Shipment> shipments = new EntityStore<>(EntityType.SHIPMENT, Projection.ALL);
+    private final EntityStore<MaintenanceRecord> maintenance = new EntityStore<>(EntityType.MAINTENANCE, Projection.ALL);
+
+    private DataStore() {
+    }
+
+    public static DataStore get() {
+        return INSTANCE;
+    }
+
+    public EntityStore<Truck> trucks() {
+        return trucks;
+    }
+
+    public EntityStore<Driver> drivers() {
+        return drivers;
+    }
+
+    public EntityStore<Shipment> shipments() {
+        return shipments;
+    }
+
+    public EntityStore<MaintenanceRecord> maintenance() {
+        return maintenance;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.trucklogisticsapp.store;
+
+import javafx.application.Platform;
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.service.IoScheduler;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Full documents for stores that only hold a list projection.
+ *
+ * A detail or edit dialog asks for the entity here instead of using the table row: the
+ * whole document is fetched once, by id, and kept until the store reports a newer copy
+ * of it (or it falls out of the small LRU). A full entity that is put back into the
+ * store stays cached, since the store then holds that same instance.
+ *
+ * Confined to the FX thread; futures complete on it.
+ */
+public final class DetailCache {
+
+    private static final int MAX_ENTRIES_PER_STORE = 128;
+
+    private static final DetailCache INSTANCE = new DetailCache();
+
+    private final Map<EntityStore<?>, Map<String, Object>> caches = new HashMap<>();
+
+    private DetailCache() {
+    }
+
+    public static DetailCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * The full entity for {@code id}. Completes immediately if the store holds whole
+     * documents or the entity is cached. If the backend has no such document yet (e.g. a
+     * new one still waiting in the write-behind queue), the store's own copy is used.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> load(EntityStore<T> store, String id) {
+        if (store.getProjection().isAll()) {
+            return CompletableFuture.completedFuture(store.get(id));
+        }
+
+        Map<String, Object> cache = cache(store);
+        T cached = (T) cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        String collection = store.getType().getCollection();
+        IoScheduler.get()
+                .submit(collection, () -> Repositories.of(store.getType()).findById(id))
+                .whenComplete((found, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        System.err.println("❌ Could not load " + collection + "/" + id + ": " + error.getMessage());
+                        result.completeExceptionally(error);
+                        return;
+                    }
+                    T full = found.orElseGet(() -> store.get(id));
+                    if (full != null && found.isPresent()) cache.put(id, full);
+                    result.complete(full);
+                }));
+        return result;
+    }
+
+    private <T> Map<String, Object> cache(EntityStore<T> store) {
+        Map<String, Object> cache = caches.get(store);
+        if (cache == null) {
+            Map<String, Object> lru = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > MAX_ENTRIES_PER_STORE;
+                }
+            };
+            store.addListener(changes -> invalidate(lru, changes));
+            caches.put(store, lru);
+            cache = lru;
+        }
+        return cache;
+    }
+
+    private static <T> void invalidate(Map<String, Object> cache, List<StoreListener.Change<T>> changes) {
+        for (StoreListener.Change<T> change : changes) {
+            // A different instance means a newer (projected) copy arrived from the backend
+            if (cache.get(change.id()) != change.current()) cache.remove(change.id());
+        }
+    }
+}
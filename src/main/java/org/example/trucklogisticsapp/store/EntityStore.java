@@ -0,0 +1,201 @@
+package org.example.trucklogisticsapp.store;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Projection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory copy of one collection, shared by every screen.
+ *
+ * Confined to the FX thread. Documents are kept by id with their list position, so
+ * upserts and removals never scan the list (removal swaps the last row into the gap).
+ */
+public class EntityStore<T> {
+
+    private final EntityType<T> type;
+    private final Projection projection;
+    private final Map<String, T> byId = new HashMap<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final ObservableList<T> readOnlyItems = FXCollections.unmodifiableObservableList(items);
+    private final List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final ReadOnlyBooleanWrapper loaded = new ReadOnlyBooleanWrapper(false);
+
+    public EntityStore(EntityType<T> type, Projection projection) {
+        this.type = type;
+        this.projection = projection;
+    }
+
+    public EntityType<T> getType() {
+        return type;
+    }
+
+    /**
+     * Fields the sync loads into this store. Unless it is {@link Projection#ALL}, stored
+     * entities may be partial - use {@link DetailCache} before showing or saving one in full.
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Live, read-only view of all documents. Wrap it in a SortedList before handing it to a
+     * TableView so column sorting doesn't reorder the store.
+     */
+    public ObservableList<T> getItems() {
+        return readOnlyItems;
+    }
+
+    public T get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public boolean contains(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * True once the first full snapshot has been applied
+     */
+    public boolean isLoaded() {
+        return loaded.get();
+    }
+
+    public ReadOnlyBooleanProperty loadedProperty() {
+        return loaded.getReadOnlyProperty();
+    }
+
+    void markLoaded() {
+        loaded.set(true);
+    }
+
+    public void addListener(StoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener and immediately replays the current contents to it as additions,
+     * so derived state built from change events starts out complete
+     */
+    public void addListenerWithReplay(StoreListener<T> listener) {
+        listeners.add(listener);
+        if (items.isEmpty()) return;
+
+        List<StoreListener.Change<T>> current = new ArrayList<>(items.size());
+        for (T item : items) {
+            current.add(new StoreListener.Change<>(type.getId(item), null, item));
+        }
+        listener.onChanged(current);
+    }
+
+    public void removeListener(StoreListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    // ========================================
+    // LOCAL EDITS
+    // ========================================
+
+    /**
+     * Adds or replaces a document after a local edit (assigns an id if it has none).
+     * Also used to re-publish an entity that was edited in place.
+     */
+    public void put(T entity) {
+        if (!type.hasId(entity)) {
+            type.setId(entity, UUID.randomUUID().toString());
+        }
+        apply(List.of(Change.modified(type.getId(entity), entity)));
+    }
+
+    /**
+     * Removes a document after a local delete
+     */
+    public void remove(String id) {
+        apply(List.of(Change.removed(id)));
+    }
+
+    // ========================================
+    // APPLY CHANGES
+    // ========================================
+
+    /**
+     * Applies a batch of repository changes and notifies listeners once.
+     * New documents are appended with a single list update.
+     */
+    public void apply(List<Change<T>> changes) {
+        if (changes.isEmpty()) return;
+
+        List<StoreListener.Change<T>> applied = new ArrayList<>(changes.size());
+        List<T> appended = new ArrayList<>();
+
+        for (Change<T> change : changes) {
+            String id = change.id();
+
+            if (change.type() == Change.Type.REMOVED) {
+                flush(appended);
+                T previous = removeInternal(id);
+                if (previous != null) {
+                    applied.add(new StoreListener.Change<>(id, previous, null));
+                }
+                continue;
+            }
+
+            T value = change.value();
+            T previous = byId.put(id, value);
+            if (previous == null) {
+                positions.put(id, items.size() + appended.size());
+                appended.add(value);
+            } else {
+                int pos = positions.get(id);
+                if (pos < items.size()) {
+                    items.set(pos, value);
+                } else {
+                    appended.set(pos - items.size(), value);
+                }
+            }
+            applied.add(new StoreListener.Change<>(id, previous, value));
+        }
+        flush(appended);
+
+        if (applied.isEmpty()) return;
+        for (StoreListener<T> listener : listeners) {
+            listener.onChanged(applied);
+        }
+    }
+
+    private void flush(List<T> appended) {
+        if (appended.isEmpty()) return;
+        items.addAll(appended);
+        appended.clear();
+    }
+
+    private T removeInternal(String id) {
+        T previous = byId.remove(id);
+        if (previous == null) return null;
+
+        int pos = positions.remove(id);
+        int last = items.size() - 1;
+        if (pos != last) {
+            T moved = items.get(last);
+            items.set(pos, moved);
+            positions.put(type.getId(moved), pos);
+        }
+        items.remove(last);
+        return previous;
+    }
+}
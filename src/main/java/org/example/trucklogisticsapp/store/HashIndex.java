@@ -0,0 +1,129 @@
+package org.example.trucklogisticsapp.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hash index from one field of a store's entities to their ids.
+ *
+ * Kept current from the store's change events. Models are edited in place, so the key
+ * each id was indexed under is remembered rather than re-read from {@code previous}.
+ * Keys are trimmed and upper-cased ("1hgcm 82633a" finds "1HGCM 82633A"), and blank
+ * keys are not indexed.
+ *
+ * Most keys map to a single id, so a bucket is the id itself until a second one arrives.
+ *
+ * Confined to the FX thread.
+ */
+public final class HashIndex<T> {
+
+    private final EntityStore<T> store;
+    private final Function<T, String> field;
+    private final Map<String, Object> buckets = new HashMap<>();   // key -> id or Set<id>
+    private final Map<String, String> keyOf = new HashMap<>();     // id -> key it is indexed under
+
+    HashIndex(EntityStore<T> store, Function<T, String> field) {
+        this.store = store;
+        this.field = field;
+        store.addListenerWithReplay(this::onChanged);
+    }
+
+    /**
+     * Entities whose field equals {@code value}
+     */
+    public List<T> get(String value) {
+        Object bucket = buckets.get(normalize(value));
+        if (bucket == null) return List.of();
+        if (bucket instanceof String id) return List.of(store.get(id));
+        List<T> result = new ArrayList<>();
+        for (String id : idSet(bucket)) result.add(store.get(id));
+        return result;
+    }
+
+    /**
+     * An entity whose field equals {@code value}, or null
+     */
+    public T first(String value) {
+        Object bucket = buckets.get(normalize(value));
+        if (bucket == null) return null;
+        return store.get(bucket instanceof String id ? id : idSet(bucket).iterator().next());
+    }
+
+    public boolean contains(String value) {
+        return buckets.containsKey(normalize(value));
+    }
+
+    /**
+     * True if an entity other than {@code exceptId} has this value (uniqueness checks while editing)
+     */
+    public boolean containsOther(String value, String exceptId) {
+        Object bucket = buckets.get(normalize(value));
+        if (bucket == null) return false;
+        if (bucket instanceof String id) return !id.equals(exceptId);
+        return idSet(bucket).size() > (idSet(bucket).contains(exceptId) ? 1 : 0);
+    }
+
+    // ========================================
+    // MAINTENANCE
+    // ========================================
+
+    private void onChanged(List<StoreListener.Change<T>> changes) {
+        for (StoreListener.Change<T> change : changes) {
+            String id = change.id();
+            String oldKey = keyOf.get(id);
+            String newKey = change.isRemoved() ? null : normalize(field.apply(change.current()));
+            if (oldKey != null && oldKey.equals(newKey)) continue;
+
+            if (oldKey != null) {
+                keyOf.remove(id);
+                unlink(oldKey, id);
+            }
+            if (newKey != null) {
+                keyOf.put(id, newKey);
+                link(newKey, id);
+            }
+        }
+    }
+
+    private void link(String key, String id) {
+        Object bucket = buckets.get(key);
+        if (bucket == null) {
+            buckets.put(key, id);
+        } else if (bucket instanceof String other) {
+            Set<String> ids = new LinkedHashSet<>(4);
+            ids.add(other);
+            ids.add(id);
+            buckets.put(key, ids);
+        } else {
+            idSet(bucket).add(id);
+        }
+    }
+
+    private void unlink(String key, String id) {
+        Object bucket = buckets.get(key);
+        if (bucket instanceof String) {
+            buckets.remove(key);
+        } else if (bucket != null) {
+            Set<String> ids = idSet(bucket);
+            ids.remove(id);
+            if (ids.size() == 1) buckets.put(key, ids.iterator().next());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> idSet(Object bucket) {
+        return (Set<String>) bucket;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return null;
+        String key = value.trim();
+        return key.isEmpty() ? null : key.toUpperCase(Locale.ROOT);
+    }
+}
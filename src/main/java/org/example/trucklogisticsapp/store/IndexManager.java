@@ -0,0 +1,205 @@
+package org.example.trucklogisticsapp.store;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.Change;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Secondary indexes over the shared {@link DataStore}, for lookups and joins without
+ * scanning a list: trucks by VIN and plate, drivers by license number and assigned
+ * truck, maintenance records by truck. Lookups by document id go straight to the
+ * store's own id map ({@link EntityStore#get}). The typeahead search indexes and the
+ * bitmap indexes behind the screens' {@link LiveView}s live here too.
+ *
+ * Every index follows its store's change events, so it only covers what has been loaded.
+ * When a driver's assigned truck changes, the trucks on both sides are re-published so
+ * rows showing the truck's driver are redrawn. Confined to the FX thread.
+ */
+public final class IndexManager {
+
+    private static final IndexManager INSTANCE = new IndexManager(DataStore.get());
+
+    private final EntityStore<Truck> trucks;
+    private final HashIndex<Truck> trucksByVin;
+    private final HashIndex<Truck> trucksByPlate;
+    private final HashIndex<Driver> driversByLicense;
+    private final HashIndex<Driver> driversByTruck;
+    private final HashIndex<MaintenanceRecord> maintenanceByTruck;
+    // Assigned truck per driver id, as last seen - drivers are edited in place
+    private final Map<String, String> truckOfDriver = new HashMap<>();
+    private final SearchIndex<Truck> truckSearch;
+    private final SearchIndex<Driver> driverSearch;
+    private final SearchIndex<Shipment> shipmentSearch;
+    private final BitmapIndex<Truck> truckBitmaps;
+    private final BitmapIndex<Driver> driverBitmaps;
+    private final BitmapIndex<Shipment> shipmentBitmaps;
+
+    private IndexManager(DataStore data) {
+        trucks = data.trucks();
+        trucksByVin = new HashIndex<>(data.trucks(), Truck::getVin);
+        trucksByPlate = new HashIndex<>(data.trucks(), Truck::getPlateNumber);
+        driversByLicense = new HashIndex<>(data.drivers(), Driver::getLicenseNumber);
+        driversByTruck = new HashIndex<>(data.drivers(), Driver::getAssignedTruckId);
+        maintenanceByTruck = new HashIndex<>(data.maintenance(), MaintenanceRecord::getTruckId);
+        // After driversByTruck, so redrawn rows already see the new assignment
+        data.drivers().addListener(this::republishReassignedTrucks);
+
+        truckSearch = new SearchIndex<>(data.trucks(), (t, terms) -> terms
+                .text(t.getMake()).text(t.getModel()).text(t.getNotes())
+                .code(t.getVin()).code(t.getPlateNumber()));
+        driverSearch = new SearchIndex<>(data.drivers(), (d, terms) -> terms
+                .text(d.getFirstName()).text(d.getLastName())
+                .code(d.getPhone()).code(d.getLicenseNumber()));
+        shipmentSearch = new SearchIndex<>(data.shipments(), (s, terms) -> terms
+                .text(s.getCustomer()).text(s.getRoute())
+                .code(s.getShipmentId()));
+
+        // After the search indexes: views re-test changed rows against both
+        truckBitmaps = new BitmapIndex<>(data.trucks())
+                .field("available", Truck::isAvailable)
+                .field("maintenance", Truck::getMaintenanceState);
+        driverBitmaps = new BitmapIndex<>(data.drivers())
+                .field("available", Driver::isAvailable)
+                .field("compliance", Driver::getComplianceState);
+        shipmentBitmaps = new BitmapIndex<>(data.shipments())
+                .field("status", Shipment::getStatus)
+                .field("priority", Shipment::getPriority);
+    }
+
+    public static IndexManager get() {
+        return INSTANCE;
+    }
+
+    // ========================================
+    // TRUCKS
+    // ========================================
+
+    public Truck truckById(String id) {
+        return trucks.get(id);
+    }
+
+    public HashIndex<Truck> trucksByVin() {
+        return trucksByVin;
+    }
+
+    public HashIndex<Truck> trucksByPlate() {
+        return trucksByPlate;
+    }
+
+    /**
+     * True if a truck other than {@code exceptTruckId} (null when adding) already has this VIN
+     */
+    public boolean isVinTaken(String vin, String exceptTruckId) {
+        return trucksByVin.containsOther(vin, exceptTruckId);
+    }
+
+    // ========================================
+    // DRIVERS
+    // ========================================
+
+    public HashIndex<Driver> driversByLicense() {
+        return driversByLicense;
+    }
+
+    /**
+     * The driver assigned to the truck, or null
+     */
+    public Driver driverForTruck(String truckId) {
+        return driversByTruck.first(truckId);
+    }
+
+    /**
+     * The truck the driver is assigned to, or null
+     */
+    public Truck truckForDriver(Driver driver) {
+        return trucks.get(driver.getAssignedTruckId());
+    }
+
+    private void republishReassignedTrucks(List<StoreListener.Change<Driver>> changes) {
+        Set<String> truckIds = new LinkedHashSet<>();
+        for (StoreListener.Change<Driver> change : changes) {
+            String before = truckOfDriver.get(change.id());
+            String after = change.isRemoved() ? null : change.current().getAssignedTruckId();
+            if (Objects.equals(before, after)) continue;
+
+            if (after == null) truckOfDriver.remove(change.id()); else truckOfDriver.put(change.id(), after);
+            if (before != null) truckIds.add(before);
+            if (after != null) truckIds.add(after);
+        }
+
+        List<Change<Truck>> republished = new ArrayList<>(truckIds.size());
+        for (String truckId : truckIds) {
+            Truck truck = trucks.get(truckId);
+            if (truck != null) republished.add(Change.modified(truckId, truck));
+        }
+        trucks.apply(republished);
+    }
+
+    // ========================================
+    // MAINTENANCE
+    // ========================================
+
+    public List<MaintenanceRecord> maintenanceForTruck(String truckId) {
+        return maintenanceByTruck.get(truckId);
+    }
+
+    // ========================================
+    // SEARCH
+    // ========================================
+
+    /**
+     * Make, model, notes (when the full document is loaded), VIN and plate
+     */
+    public SearchIndex<Truck> truckSearch() {
+        return truckSearch;
+    }
+
+    /**
+     * Name, phone and license number
+     */
+    public SearchIndex<Driver> driverSearch() {
+        return driverSearch;
+    }
+
+    /**
+     * Shipment id, customer and route
+     */
+    public SearchIndex<Shipment> shipmentSearch() {
+        return shipmentSearch;
+    }
+
+    // ========================================
+    // VIEWS
+    // ========================================
+
+    /**
+     * A new live view of the trucks; filterable on "available" and "maintenance" ({@code MaintenanceState})
+     */
+    public LiveView<Truck> truckView() {
+        return truckBitmaps.view(truckSearch);
+    }
+
+    /**
+     * A new live view of the drivers; filterable on "available" and "compliance" ({@code ComplianceState})
+     */
+    public LiveView<Driver> driverView() {
+        return driverBitmaps.view(driverSearch);
+    }
+
+    /**
+     * A new live view of the shipments; filterable on "status" and "priority"
+     */
+    public LiveView<Shipment> shipmentView() {
+        return shipmentBitmaps.view(shipmentSearch);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.trucklogisticsapp.store;
+
+import org.example.trucklogisticsapp.repository.Projection;
+
+/**
+ * Fields fetched into the shared stores for the list screens.
+ *
+ * A store is shared by its table, the dashboard and the background engines, so each
+ * spec is the union of what they read. Free-text and contact fields that are only shown
+ * in detail / edit dialogs are left out; those dialogs load the full document through
+ * {@link DetailCache}. Shipments and maintenance records are small and shown whole.
+ */
+public final class ListProjections {
+
+    /**
+     * Truck table (id, plate, source, make/model, capacity, status, mileage), maintenance
+     * and reminder engines, and the VIN / availability used by the dashboard and dialogs.
+     * Leaves out notes.
+     */
+    public static final Projection TRUCKS = Projection.of("truck-list",
+            "vin", "make", "model", "year", "mileage", "capacityKg", "plateNumber", "source",
+            "available", "needsMaintenance", "lastMaintenanceDate", "maintenanceIntervalMonths",
+            "remindersEnabled", "reminderDaysBefore");
+
+    /**
+     * Driver table (name, license, phone, status, compliance, endorsements), rating stats
+     * and the compliance index. Leaves out email, address, date of birth, HR figures and notes.
+     */
+    public static final Projection DRIVERS = Projection.of("driver-list",
+            "firstName", "lastName", "phone", "licenseNumber", "licenseClass", "licenseExpiry",
+            "medicalCertExpiry", "status", "available", "assignedTruckId", "hazmatEndorsement",
+            "tankersEndorsement", "doublesEndorsement", "rating");
+
+    private ListProjections() {
+    }
+}
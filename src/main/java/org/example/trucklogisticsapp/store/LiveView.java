@@ -0,0 +1,237 @@
+package org.example.trucklogisticsapp.store;
+
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Live, filtered, read-only view of a store for a table (wrap it in a SortedList to sort).
+ *
+ * Filters on bitmap-indexed fields ({@link #where}) and the search text are resolved
+ * against the indexes as BitSets; only an extra {@link #setPredicate predicate} looks at
+ * documents, and only at those the indexes let through. Changing a filter diffs the old
+ * and new member sets and reports just the rows that came or went. A store change
+ * re-tests only the changed documents.
+ *
+ * Rows are kept in document-ordinal order: the members are a {@link RankedBits}, so a
+ * row's position (and the row at a position) is found in O(log n) and a store change costs
+ * O(log n) per document rather than a shift of the whole list.
+ *
+ * {@link #dispose() Dispose} of a view when its screen is dropped. Confined to the FX thread.
+ */
+public final class LiveView<T> extends ObservableListBase<T> {
+
+    // Above this many rows coming and going at once, the whole list is reported replaced:
+    // a SortedList re-sorts once instead of patching itself per row
+    private static final int BULK_CHANGE = 64;
+
+    private final BitmapIndex<T> index;
+    private final SearchIndex<T> search;
+    private final Map<String, Set<Object>> conditions = new LinkedHashMap<>();
+    private String searchText = "";
+    private Predicate<T> predicate;
+
+    private final RankedBits members = new RankedBits();
+    // The row for each member, by ordinal
+    private Object[] rows = new Object[1024];
+    private boolean disposed = false;
+
+    LiveView(BitmapIndex<T> index, SearchIndex<T> search) {
+        this.index = index;
+        this.search = search;
+        refilter();
+    }
+
+    @Override
+    public T get(int i) {
+        return row(members.select(i));
+    }
+
+    @Override
+    public int size() {
+        return members.cardinality();
+    }
+
+    /**
+     * Stops following the store, so the view can be collected. It keeps its current rows.
+     */
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        index.release(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T row(int doc) {
+        return (T) rows[doc];
+    }
+
+    private void setRow(int doc, T row) {
+        if (doc >= rows.length) rows = Arrays.copyOf(rows, Math.max(doc + 1, rows.length * 2));
+        rows[doc] = row;
+    }
+
+    // ========================================
+    // FILTERS
+    // ========================================
+
+    /**
+     * Keeps documents whose indexed field has one of {@code values}; no values clears the filter
+     */
+    public void where(String field, Object... values) {
+        if (values.length == 0) {
+            if (conditions.remove(field) == null) return;
+        } else {
+            conditions.put(field, Set.of(values));
+        }
+        refilter();
+    }
+
+    public void clearFilters() {
+        conditions.clear();
+        predicate = null;
+        searchText = "";
+        refilter();
+    }
+
+    public void setSearch(String text) {
+        String next = text == null ? "" : text.trim();
+        if (next.equals(searchText)) return;
+        searchText = next;
+        refilter();
+    }
+
+    /**
+     * Follows a search box's text
+     */
+    public void bindSearch(ObservableValue<String> text) {
+        text.addListener((obs, old, value) -> setSearch(value));
+        setSearch(text.getValue());
+    }
+
+    /**
+     * A filter the indexes can't answer; tested only against documents the other filters keep
+     */
+    public void setPredicate(Predicate<T> predicate) {
+        this.predicate = predicate;
+        refilter();
+    }
+
+    private void refilter() {
+        if (disposed) return;
+        BitSet next = index.all();
+        for (Map.Entry<String, Set<Object>> condition : conditions.entrySet()) {
+            next.and(index.matching(condition.getKey(), condition.getValue()));
+        }
+        if (search != null && !searchText.isEmpty() && !next.isEmpty()) {
+            next.and(searchHits());
+        }
+        if (predicate != null) {
+            for (int doc = next.nextSetBit(0); doc >= 0; doc = next.nextSetBit(doc + 1)) {
+                if (!predicate.test(index.at(doc))) next.clear(doc);
+            }
+        }
+        apply(next);
+    }
+
+    /**
+     * The search result, moved from the search index's ordinals to this view's
+     */
+    private BitSet searchHits() {
+        BitSet hits = search.query(searchText);
+        BitSet result = new BitSet();
+        for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+            int ordinal = index.ordinalOf(search.idAt(doc));
+            if (ordinal >= 0) result.set(ordinal);
+        }
+        return result;
+    }
+
+    private boolean accepts(BitmapIndex.Delta<T> delta) {
+        if (delta.current() == null) return false;
+        for (Map.Entry<String, Set<Object>> condition : conditions.entrySet()) {
+            if (!condition.getValue().contains(index.valueAt(condition.getKey(), delta.doc()))) return false;
+        }
+        if (search != null && !search.matches(delta.id(), searchText)) return false;
+        return predicate == null || predicate.test(delta.current());
+    }
+
+    // ========================================
+    // CHANGE REPORTING
+    // ========================================
+
+    /**
+     * Moves to a new member set, reporting only the rows that differ
+     */
+    private void apply(BitSet next) {
+        BitSet previous = members.toBitSet();
+        BitSet changed = (BitSet) previous.clone();
+        changed.xor(next);
+        if (changed.isEmpty()) return;
+
+        boolean bulk = changed.cardinality() > BULK_CHANGE;
+        List<T> old = new ArrayList<>(bulk ? previous.cardinality() : 0);
+        if (bulk) {
+            for (int doc = previous.nextSetBit(0); doc >= 0; doc = previous.nextSetBit(doc + 1)) old.add(row(doc));
+        }
+        // Rows of documents leaving the view stay until they have been reported
+        for (int doc = next.nextSetBit(0); doc >= 0; doc = next.nextSetBit(doc + 1)) {
+            setRow(doc, index.at(doc));
+        }
+        members.reset(next);
+
+        beginChange();
+        if (bulk) {
+            nextRemove(0, old);
+            nextAdd(0, members.cardinality());
+        } else {
+            // In ordinal order, the list as patched so far holds the new members below doc
+            // and the old ones from doc on, so doc's row is its rank among the new members
+            for (int doc = changed.nextSetBit(0); doc >= 0; doc = changed.nextSetBit(doc + 1)) {
+                int pos = members.rank(doc);
+                if (previous.get(doc)) nextRemove(pos, row(doc)); else nextAdd(pos, pos + 1);
+            }
+        }
+        endChange();
+
+        previous.andNot(next);
+        for (int doc = previous.nextSetBit(0); doc >= 0; doc = previous.nextSetBit(doc + 1)) rows[doc] = null;
+    }
+
+    /**
+     * Re-tests the documents of one store change batch
+     */
+    void onChanged(List<BitmapIndex.Delta<T>> deltas) {
+        beginChange();
+        for (BitmapIndex.Delta<T> delta : deltas) {
+            int doc = delta.doc();
+            boolean was = members.get(doc);
+            boolean is = accepts(delta);
+            if (was && is) {
+                T old = row(doc);
+                rows[doc] = delta.current();
+                nextSet(members.rank(doc), old);
+            } else if (was) {
+                T old = row(doc);
+                rows[doc] = null;
+                int pos = members.rank(doc);
+                members.clear(doc);
+                nextRemove(pos, old);
+            } else if (is) {
+                setRow(doc, delta.current());
+                members.set(doc);
+                int pos = members.rank(doc);
+                nextAdd(pos, pos + 1);
+            }
+        }
+        endChange();
+    }
+}
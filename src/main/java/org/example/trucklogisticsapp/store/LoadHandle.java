@@ -0,0 +1,11 @@
+package org.example.trucklogisticsapp.store;
+
+/**
+ * A screen's claim on a collection being loaded. Releasing the last claim pauses the
+ * load after the page in flight; acquiring it again resumes from the same cursor.
+ */
+@FunctionalInterface
+public interface LoadHandle {
+
+    void release();
+}
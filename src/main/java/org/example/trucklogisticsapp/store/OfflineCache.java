@@ -0,0 +1,237 @@
+package org.example.trucklogisticsapp.store;
+
+import org.example.trucklogisticsapp.model.AppConfig;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.DeltaSync;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Projection;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * On-disk copy of a synced store, for a warm start.
+ *
+ * One file per collection under {@code <dataDir>/cache/<backend>/}, rewritten whole (temp
+ * file + atomic rename). It records the high-water mark the copy is current to, so after
+ * loading it only changes made since then need to be fetched (see {@link DeltaSync}).
+ *
+ * Layout: [magic][version][projection hash][high-water mark][field names][count], then
+ * per document [id][field count] and [name index][tag][value] per field. Field names are
+ * stored once and referenced by index. Files are read through a memory-mapped buffer.
+ *
+ * A file is ignored when it was written for a different projection or is older than the
+ * tombstone retention (deletes since then can no longer be seen).
+ */
+final class OfflineCache {
+
+    private static final int MAGIC = 0x54434348; // "TCCH"
+    private static final int VERSION = 1;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_STRING = 1;
+    private static final byte T_TRUE = 2;
+    private static final byte T_FALSE = 3;
+    private static final byte T_INT = 4;
+    private static final byte T_LONG = 5;
+    private static final byte T_DOUBLE = 6;
+
+    /**
+     * @param highWaterMark epoch millis the documents are current to
+     */
+    record Snapshot<T>(long highWaterMark, List<Change<T>> documents) {
+    }
+
+    private OfflineCache() {
+    }
+
+    // ========================================
+    // READ
+    // ========================================
+
+    /**
+     * @return the cached documents as additions, or null if there is no usable cache
+     */
+    static <T> Snapshot<T> read(EntityType<T> type, Projection projection) {
+        Path file = fileFor(type);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                System.err.println("⚠️ Ignoring unrecognized cache file " + file);
+                return null;
+            }
+            if (buf.getInt() != projection.fields().hashCode()) {
+                System.out.println("🗂️ Offline cache for " + type + " was written for other fields - reloading");
+                return null;
+            }
+            long highWaterMark = buf.getLong();
+            if (highWaterMark < System.currentTimeMillis() - DeltaSync.TOMBSTONE_TTL_MS) {
+                System.out.println("🗂️ Offline cache for " + type + " is too old for a delta sync - reloading");
+                return null;
+            }
+
+            String[] names = new String[buf.getShort()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(buf);
+            }
+
+            int count = buf.getInt();
+            List<Change<T>> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString(buf);
+                int fieldCount = buf.get() & 0xFF;
+                Map<String, Object> fields = new HashMap<>(fieldCount * 2);
+                for (int f = 0; f < fieldCount; f++) {
+                    fields.put(names[buf.getShort()], readValue(buf));
+                }
+                documents.add(Change.added(id, type.decode(id, fields)));
+            }
+            return new Snapshot<>(highWaterMark, documents);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("⚠️ Could not read offline cache for " + type + ", reloading: " + e);
+            return null;
+        }
+    }
+
+    private static String readString(MappedByteBuffer buf) {
+        byte[] utf8 = new byte[buf.getInt()];
+        buf.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static Object readValue(MappedByteBuffer buf) throws IOException {
+        byte tag = buf.get();
+        return switch (tag) {
+            case T_NULL -> null;
+            case T_STRING -> readString(buf);
+            case T_TRUE -> Boolean.TRUE;
+            case T_FALSE -> Boolean.FALSE;
+            case T_INT -> buf.getInt();
+            case T_LONG -> buf.getLong();
+            case T_DOUBLE -> buf.getDouble();
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    // ========================================
+    // WRITE
+    // ========================================
+
+    /**
+     * Encodes the store's documents, limited to its projection. Call on the FX thread and
+     * hand the result to {@link #write} on an I/O thread.
+     */
+    static <T> List<Map.Entry<String, Map<String, Object>>> snapshot(EntityStore<T> store) {
+        EntityType<T> type = store.getType();
+        Projection projection = store.getProjection();
+        List<Map.Entry<String, Map<String, Object>>> documents = new ArrayList<>(store.size());
+        for (T entity : store.getItems()) {
+            Map<String, Object> fields = type.encode(entity);
+            if (!projection.isAll()) {
+                fields.keySet().retainAll(projection.fields());
+            }
+            documents.add(new AbstractMap.SimpleImmutableEntry<>(type.getId(entity), fields));
+        }
+        return documents;
+    }
+
+    /**
+     * Replaces the cache file. Serialized, since a background save can overlap the one on shutdown.
+     */
+    static synchronized void write(EntityType<?> type, Projection projection, long highWaterMark,
+                      List<Map.Entry<String, Map<String, Object>>> documents) {
+        Path file = fileFor(type);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(file.getParent());
+
+            Map<String, Integer> names = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, Object>> doc : documents) {
+                for (String name : doc.getValue().keySet()) {
+                    names.putIfAbsent(name, names.size());
+                }
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(projection.fields().hashCode());
+                out.writeLong(highWaterMark);
+                out.writeShort(names.size());
+                for (String name : names.keySet()) {
+                    writeString(out, name);
+                }
+                out.writeInt(documents.size());
+                for (Map.Entry<String, Map<String, Object>> doc : documents) {
+                    writeString(out, doc.getKey());
+                    out.writeByte(doc.getValue().size());
+                    for (Map.Entry<String, Object> field : doc.getValue().entrySet()) {
+                        out.writeShort(names.get(field.getKey()));
+                        writeValue(out, field.getValue());
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.printf("🗂️ Cached %,d %s offline (%,d KB, %d ms)%n", documents.size(), type,
+                    Files.size(file) / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not write offline cache for " + type + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(T_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(T_STRING);
+            writeString(out, s);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? T_TRUE : T_FALSE);
+        } else if (value instanceof Integer i) {
+            out.writeByte(T_INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(T_LONG);
+            out.writeLong(l);
+        } else if (value instanceof Number n) {
+            out.writeByte(T_DOUBLE);
+            out.writeDouble(n.doubleValue());
+        } else {
+            out.writeByte(T_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Path fileFor(EntityType<?> type) {
+        return AppConfig.getDataDir()
+                .resolve("cache")
+                .resolve(AppConfig.getBackend().name().toLowerCase(Locale.ROOT))
+                .resolve(type.getCollection() + ".bin");
+    }
+}
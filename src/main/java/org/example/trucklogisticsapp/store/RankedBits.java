@@ -0,0 +1,126 @@
+package org.example.trucklogisticsapp.store;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A bit set that also answers "how many bits are set below i" (rank) and "where is the
+ * k-th set bit" (select) in O(log n), for {@link LiveView} rows.
+ *
+ * The bits are kept in 64-bit words; a Fenwick tree over the words' bit counts gives the
+ * prefix sums, so setting or clearing a bit updates O(log words) tree nodes.
+ */
+final class RankedBits {
+
+    private long[] words;
+    // Fenwick tree (1-based) over Long.bitCount(words[i])
+    private int[] tree;
+    private int count;
+
+    RankedBits() {
+        this(new BitSet());
+    }
+
+    RankedBits(BitSet bits) {
+        reset(bits);
+    }
+
+    /**
+     * Replaces the contents with {@code bits}, in O(n)
+     */
+    void reset(BitSet bits) {
+        long[] source = bits.toLongArray();
+        words = Arrays.copyOf(source, Math.max(16, source.length));
+        rebuild();
+    }
+
+    BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    int cardinality() {
+        return count;
+    }
+
+    boolean get(int bit) {
+        int w = bit >>> 6;
+        return w < words.length && (words[w] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @return true if the bit was clear
+     */
+    boolean set(int bit) {
+        int w = bit >>> 6;
+        if (w >= words.length) {
+            words = Arrays.copyOf(words, Math.max(w + 1, words.length * 2));
+            rebuild();
+        }
+        long mask = 1L << bit;
+        if ((words[w] & mask) != 0) return false;
+        words[w] |= mask;
+        add(w, 1);
+        return true;
+    }
+
+    /**
+     * @return true if the bit was set
+     */
+    boolean clear(int bit) {
+        int w = bit >>> 6;
+        if (w >= words.length) return false;
+        long mask = 1L << bit;
+        if ((words[w] & mask) == 0) return false;
+        words[w] &= ~mask;
+        add(w, -1);
+        return true;
+    }
+
+    /**
+     * Number of set bits below {@code bit}
+     */
+    int rank(int bit) {
+        int w = bit >>> 6;
+        if (w >= words.length) return count;
+        int sum = 0;
+        for (int i = w; i > 0; i -= i & -i) sum += tree[i];
+        return sum + Long.bitCount(words[w] & ((1L << bit) - 1));
+    }
+
+    /**
+     * Position of the {@code k}-th set bit (0-based)
+     */
+    int select(int k) {
+        if (k < 0 || k >= count) throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + count);
+
+        // Descend the tree to the word holding the bit; w counts the words skipped
+        int w = 0;
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1) {
+            int next = w + step;
+            if (next <= words.length && tree[next] <= k) {
+                w = next;
+                k -= tree[next];
+            }
+        }
+        long word = words[w];
+        for (; k > 0; k--) word &= word - 1;
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private void add(int w, int delta) {
+        count += delta;
+        for (int i = w + 1; i <= words.length; i += i & -i) tree[i] += delta;
+    }
+
+    private void rebuild() {
+        tree = new int[words.length + 1];
+        count = 0;
+        for (int i = 1; i <= words.length; i++) {
+            int bits = Long.bitCount(words[i - 1]);
+            count += bits;
+            tree[i] += bits;
+            int parent = i + (i & -i);
+            if (parent <= words.length) tree[parent] += tree[i];
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.example.trucklogisticsapp.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index for the typeahead search boxes.
+ *
+ * Field text is split into lower-case letter/digit words. Code fields (VIN, plate, phone,
+ * ids) are also indexed with their separators removed, so "abc12" finds "ABC-1234".
+ * Each query word matches the indexed terms that contain it: words shorter than three
+ * characters match as a prefix (sorted word map), longer ones through a trigram index
+ * over the terms. A document matches when every query word does.
+ *
+ * Documents get int ordinals so postings are int lists and a query result is a BitSet.
+ * Terms are never removed, so the dictionary only grows by the distinct values ever seen.
+ *
+ * Kept current from store change events. Confined to the FX thread.
+ */
+public final class SearchIndex<T> {
+
+    /**
+     * Feeds one entity's searchable fields to the index
+     */
+    public interface Fields<T> {
+        void extract(T entity, Terms terms);
+    }
+
+    private static final int GRAM = 3;
+
+    private final EntityStore<T> store;
+    private final Fields<T> fields;
+
+    // Terms
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final NavigableMap<String, Integer> words = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final Map<Long, IntList> grams = new HashMap<>();
+
+    // Documents
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final IntList freeDocs = new IntList();
+    private int[][] docTerms = new int[1024][];
+    // Position of the document in each of its terms' postings (parallel to docTerms)
+    private int[][] docSlots = new int[1024][];
+    private String[] docKeys = new String[1024];
+    private int docCount;
+
+    private final Terms scratch = new Terms(this);
+
+    SearchIndex(EntityStore<T> store, Fields<T> fields) {
+        this.store = store;
+        this.fields = fields;
+        store.addListenerWithReplay(this::onChanged);
+    }
+
+    public int size() {
+        return docIds.size();
+    }
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    /**
+     * Ordinals of the documents matching every word of {@code query}, or null for a blank query
+     */
+    public BitSet query(String query) {
+        List<String> queryWords = new ArrayList<>();
+        tokenize(query, queryWords);
+        if (queryWords.isEmpty()) return null;
+
+        // Longest words are usually the most selective, so an empty result shows up early
+        queryWords.sort((a, b) -> b.length() - a.length());
+        BitSet result = null;
+        for (String word : queryWords) {
+            BitSet matches = matching(word);
+            if (result == null) result = matches; else result.and(matches);
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    /**
+     * Predicate for a filtered list, or null (show everything) for a blank query.
+     * It reflects the index at the time of the call.
+     */
+    public Predicate<T> matcher(String query) {
+        BitSet matches = query(query);
+        if (matches == null) return null;
+        return entity -> {
+            Integer doc = docIds.get(store.getType().getId(entity));
+            return doc != null && matches.get(doc);
+        };
+    }
+
+    /**
+     * Id of the document with the given ordinal (a bit of a {@link #query} result)
+     */
+    public String idAt(int doc) {
+        return docKeys[doc];
+    }
+
+    /**
+     * True if the document matches every word of {@code query} (a blank query matches all).
+     * Checks only that document's terms, for re-testing a single changed row.
+     */
+    public boolean matches(String id, String query) {
+        List<String> queryWords = new ArrayList<>();
+        tokenize(query, queryWords);
+        if (queryWords.isEmpty()) return true;
+
+        Integer doc = docIds.get(id);
+        if (doc == null) return false;
+        for (String word : queryWords) {
+            if (!containsWord(docTerms[doc], word)) return false;
+        }
+        return true;
+    }
+
+    private boolean containsWord(int[] docTerms, String word) {
+        for (int term : docTerms) {
+            String text = terms.get(term);
+            if (word.length() < GRAM ? words.containsKey(text) && text.startsWith(word) : text.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BitSet matching(String word) {
+        BitSet docs = new BitSet(docCount);
+        if (word.length() < GRAM) {
+            for (int term : words.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                postings.get(term).setAll(docs);
+            }
+            return docs;
+        }
+
+        // Scan the terms of the rarest trigram in the word, keep those that contain it
+        IntList candidates = null;
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            IntList list = grams.get(gram(word, i));
+            if (list == null) return docs;
+            if (candidates == null || list.size < candidates.size) candidates = list;
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int term = candidates.values[i];
+            if (terms.get(term).contains(word)) postings.get(term).setAll(docs);
+        }
+        return docs;
+    }
+
+    // ========================================
+    // INDEX MAINTENANCE
+    // ========================================
+
+    private void onChanged(List<StoreListener.Change<T>> changes) {
+        for (StoreListener.Change<T> change : changes) {
+            if (change.isRemoved()) {
+                remove(change.id());
+            } else {
+                update(change.id(), change.current());
+            }
+        }
+    }
+
+    private void update(String id, T entity) {
+        scratch.clear();
+        fields.extract(entity, scratch);
+        int[] next = scratch.distinct();
+
+        int[] slots = new int[next.length];
+        Integer doc = docIds.get(id);
+        if (doc == null) {
+            doc = allocate(id);
+            for (int k = 0; k < next.length; k++) slots[k] = addPosting(next[k], doc);
+        } else {
+            diff(doc, next, slots);
+        }
+        docTerms[doc] = next;
+        docSlots[doc] = slots;
+    }
+
+    private void remove(String id) {
+        Integer doc = docIds.remove(id);
+        if (doc == null) return;
+        int[] old = docTerms[doc];
+        for (int k = 0; k < old.length; k++) removePosting(old[k], docSlots[doc][k]);
+        docTerms[doc] = null;
+        docSlots[doc] = null;
+        docKeys[doc] = null;
+        freeDocs.add(doc);
+    }
+
+    /**
+     * Moves a document from its old terms to {@code next}, touching only the terms that
+     * differ, and fills in its positions in the new terms' postings
+     */
+    private void diff(int doc, int[] next, int[] nextSlots) {
+        int[] old = docTerms[doc];
+        int[] oldSlots = docSlots[doc];
+        int i = 0, j = 0;
+        while (i < old.length || j < next.length) {
+            if (j == next.length || (i < old.length && old[i] < next[j])) {
+                removePosting(old[i], oldSlots[i]);
+                i++;
+            } else if (i == old.length || next[j] < old[i]) {
+                nextSlots[j] = addPosting(next[j], doc);
+                j++;
+            } else {
+                nextSlots[j++] = oldSlots[i++];
+            }
+        }
+    }
+
+    /**
+     * Appends the document to a term's postings
+     * @return its position there
+     */
+    private int addPosting(int term, int doc) {
+        IntList list = postings.get(term);
+        list.add(doc);
+        return list.size - 1;
+    }
+
+    /**
+     * Removes the entry at {@code slot} from a term's postings by moving the last entry
+     * into it, and updates the moved document's recorded position
+     */
+    private void removePosting(int term, int slot) {
+        IntList list = postings.get(term);
+        int last = --list.size;
+        if (slot == last) return;
+        int moved = list.values[last];
+        list.values[slot] = moved;
+        docSlots[moved][Arrays.binarySearch(docTerms[moved], term)] = slot;
+    }
+
+    private int allocate(String id) {
+        int doc;
+        if (freeDocs.size > 0) {
+            doc = freeDocs.values[--freeDocs.size];
+        } else {
+            if (docCount == docTerms.length) {
+                docTerms = Arrays.copyOf(docTerms, docCount * 2);
+                docSlots = Arrays.copyOf(docSlots, docCount * 2);
+                docKeys = Arrays.copyOf(docKeys, docCount * 2);
+            }
+            doc = docCount++;
+        }
+        docIds.put(id, doc);
+        docKeys[doc] = id;
+        return doc;
+    }
+
+    private int termId(String term, boolean word) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = terms.size();
+            termIds.put(term, id);
+            terms.add(term);
+            postings.add(new IntList());
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                IntList list = grams.computeIfAbsent(gram(term, i), k -> new IntList());
+                // A trigram repeated within the term is listed once
+                if (list.size == 0 || list.values[list.size - 1] != id) list.add(id);
+            }
+        }
+        if (word) words.putIfAbsent(term, id);
+        return id;
+    }
+
+    private static long gram(String s, int from) {
+        return ((long) s.charAt(from) << 32) | ((long) s.charAt(from + 1) << 16) | s.charAt(from + 2);
+    }
+
+    /**
+     * Lower-case letter/digit runs of {@code text}, appended to {@code out}
+     */
+    private static void tokenize(String text, List<String> out) {
+        if (text == null) return;
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                out.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) out.add(word.toString());
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    /**
+     * Collects the terms of one entity while it is being indexed
+     */
+    public static final class Terms {
+        private final SearchIndex<?> index;
+        private final List<String> tokens = new ArrayList<>();
+        private final IntList ids = new IntList();
+
+        private Terms(SearchIndex<?> index) {
+            this.index = index;
+        }
+
+        /**
+         * Free text, searchable by word
+         */
+        public Terms text(String value) {
+            tokens.clear();
+            tokenize(value, tokens);
+            for (String token : tokens) ids.add(index.termId(token, true));
+            return this;
+        }
+
+        /**
+         * An identifier, searchable by word and with its separators removed
+         */
+        public Terms code(String value) {
+            text(value);
+            if (tokens.size() > 1) ids.add(index.termId(String.join("", tokens), false));
+            return this;
+        }
+
+        void clear() {
+            ids.size = 0;
+        }
+
+        int[] distinct() {
+            int[] sorted = Arrays.copyOf(ids.values, ids.size);
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[n - 1] != sorted[i]) sorted[n++] = sorted[i];
+            }
+            return Arrays.copyOf(sorted, n);
+        }
+    }
+
+    /**
+     * Growable int list (postings are unordered, see {@link #removePosting})
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void setAll(BitSet bits) {
+            for (int i = 0; i < size; i++) bits.set(values[i]);
+        }
+    }
+}
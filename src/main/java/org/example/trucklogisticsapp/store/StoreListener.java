@@ -0,0 +1,31 @@
+package org.example.trucklogisticsapp.store;
+
+import java.util.List;
+
+/**
+ * Receives every batch applied to an {@link EntityStore}, on the FX thread.
+ *
+ * Models are mutable and edited in place, so {@code previous} may be the same object as
+ * {@code current}. Listeners that maintain derived state should remember what they
+ * derived per id rather than re-reading {@code previous}.
+ */
+@FunctionalInterface
+public interface StoreListener<T> {
+
+    void onChanged(List<Change<T>> changes);
+
+    /**
+     * @param previous value before the change (null if added)
+     * @param current  value after the change (null if removed)
+     */
+    record Change<T>(String id, T previous, T current) {
+
+        public boolean isAdded() {
+            return previous == null;
+        }
+
+        public boolean isRemoved() {
+            return current == null;
+        }
+    }
+}
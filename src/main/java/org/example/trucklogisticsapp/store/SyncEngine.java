@@ -0,0 +1,321 @@
+package org.example.trucklogisticsapp.store;
+
+import javafx.application.Platform;
+import org.example.trucklogisticsapp.model.AppConfig;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.DeltaSync;
+import org.example.trucklogisticsapp.repository.Page;
+import org.example.trucklogisticsapp.repository.Repositories;
+import org.example.trucklogisticsapp.repository.Repository;
+import org.example.trucklogisticsapp.repository.Subscription;
+import org.example.trucklogisticsapp.service.IoScheduler;
+import org.example.trucklogisticsapp.service.StartupPipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link DataStore} in sync with the backend.
+ *
+ * A collection is filled on demand while at least one screen holds a {@link LoadHandle}
+ * for it. If an {@link OfflineCache} from an earlier run is on disk, the store is filled
+ * from it straight away (without waiting for the backend) and the listener then fetches
+ * only what changed since the cache's high-water mark. Otherwise the collection is paged
+ * in (ordered by document id), each page appended to the store as soon as it arrives, so
+ * tables fill progressively; once the last page is in, the listener picks up whatever
+ * changed while paging. Both read only the store's {@link EntityStore#getProjection()
+ * projection}.
+ *
+ * The cache is rewritten after the first listener batch of a run and on {@link #stop()}.
+ * Its high-water mark is the newest backend write stamp the listener has delivered (or
+ * the mark the listener started from, if nothing newer has arrived).
+ *
+ * Must be used from the FX thread.
+ */
+public final class SyncEngine {
+
+    /**
+     * Delta queries reach back this far before the high-water mark, to absorb clock skew
+     * between this machine and the server's write stamps (re-applying a change is harmless)
+     */
+    private static final long OVERLAP_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final SyncEngine INSTANCE = new SyncEngine();
+
+    private final Map<EntityStore<?>, CollectionSync<?>> syncs = new HashMap<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile boolean stopped = false;
+
+    private SyncEngine() {
+    }
+
+    public static SyncEngine get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts (or resumes) loading the store's collection. Release the handle when the
+     * screen that needed it goes away.
+     */
+    public <T> LoadHandle acquire(EntityStore<T> store) {
+        return sync(store).acquire();
+    }
+
+    /**
+     * Completes when the first page of the store's collection has been applied. Fails if
+     * the attempt in progress could not load it; call again to wait for the retry (the
+     * next {@link #acquire}).
+     */
+    public CompletableFuture<Void> firstPage(EntityStore<?> store) {
+        return sync(store).firstPage;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CollectionSync<T> sync(EntityStore<T> store) {
+        return (CollectionSync<T>) syncs.computeIfAbsent(store, s -> new CollectionSync<>(store));
+    }
+
+    /**
+     * Stops paging, detaches all listeners and saves the offline caches (on shutdown)
+     */
+    public void stop() {
+        synchronized (subscriptions) {
+            stopped = true;
+            subscriptions.forEach(Subscription::cancel);
+            subscriptions.clear();
+        }
+        syncs.values().forEach(sync -> sync.saveCache(true));
+    }
+
+    private void register(Subscription subscription) {
+        synchronized (subscriptions) {
+            if (stopped) {
+                subscription.cancel();
+            } else {
+                subscriptions.add(subscription);
+            }
+        }
+    }
+
+    // ========================================
+    // PER-COLLECTION LOADER
+    // ========================================
+
+    private final class CollectionSync<T> {
+        private final EntityStore<T> store;
+        private Repository<T> repository;
+        private final int pageSize = AppConfig.getPageSize();
+        private CompletableFuture<Void> firstPage = new CompletableFuture<>();
+
+        private int holders = 0;
+        private boolean fetching = false;
+        private boolean complete = false;
+        private boolean cacheChecked = false;
+        private String cursor = null;
+        private int pages = 0;
+        private long loadNanos = 0;
+        private long pagingStartedAt = 0;
+
+        // Backend write time (epoch millis) the store is known to be current to, once the listener has reported
+        private long highWaterMark = DeltaSync.EVERYTHING;
+        private boolean listenerReported = false;
+
+        CollectionSync(EntityStore<T> store) {
+            this.store = store;
+        }
+
+        private Repository<T> repository() {
+            // Resolved lazily: the backend may still be starting up when a screen acquires
+            if (repository == null) repository = Repositories.of(store.getType());
+            return repository;
+        }
+
+        LoadHandle acquire() {
+            holders++;
+            fetchNext();
+
+            boolean[] released = {false};
+            return () -> {
+                if (released[0]) return;
+                released[0] = true;
+                holders--;
+                if (holders == 0 && !complete) {
+                    System.out.printf("⏸️ Paused loading %s after %,d rows%n", collection(), store.size());
+                }
+            };
+        }
+
+        private String collection() {
+            return store.getType().getCollection();
+        }
+
+        private void fetchNext() {
+            if (complete || fetching || holders == 0 || stopped) return;
+            if (!cacheChecked) {
+                readCache();
+                return;
+            }
+            fetching = true;
+
+            CompletableFuture<Void> backend = StartupPipeline.get().backendReady();
+            if (!backend.isDone()) {
+                // Shell is up before the backend - start once it is ready (or has failed)
+                backend.whenComplete((ok, error) -> Platform.runLater(() -> {
+                    fetching = false;
+                    fetchNext();
+                }));
+                return;
+            }
+
+            String after = cursor;
+            if (after == null) pagingStartedAt = System.currentTimeMillis();
+            long start = System.nanoTime();
+            IoScheduler.get()
+                    .submit(collection(), () -> repository().findPage(after, pageSize, store.getProjection()))
+                    .whenComplete((page, error) -> Platform.runLater(() -> {
+                        loadNanos += System.nanoTime() - start;
+                        onPage(page, error);
+                    }));
+        }
+
+        private void onPage(Page<T> page, Throwable error) {
+            fetching = false;
+            if (error != null) {
+                // Left incomplete: the next acquire retries from the same cursor
+                System.err.println("❌ Could not load " + collection() + ": " + error.getMessage());
+                if (!firstPage.isDone()) {
+                    // Current waiters see the failure; later ones wait for the retry
+                    CompletableFuture<Void> failed = firstPage;
+                    firstPage = new CompletableFuture<>();
+                    failed.completeExceptionally(error);
+                }
+                return;
+            }
+
+            List<Change<T>> changes = new ArrayList<>(page.items().size());
+            for (T item : page.items()) {
+                changes.add(Change.added(store.getType().getId(item), item));
+            }
+            store.apply(changes);
+            pages++;
+            firstPage.complete(null);
+
+            if (page.hasMore()) {
+                cursor = page.nextCursor();
+                fetchNext();
+                return;
+            }
+
+            complete = true;
+            cursor = null;
+            store.markLoaded();
+            System.out.printf("📦 Loaded %,d %s in %d pages (%d ms)%n",
+                    store.size(), collection(), pages, loadNanos / 1_000_000);
+            attachListener(pagingStartedAt);
+        }
+
+        // ========================================
+        // WARM START
+        // ========================================
+
+        private void readCache() {
+            cacheChecked = true;
+            if (!AppConfig.isOfflineCache()) {
+                fetchNext();
+                return;
+            }
+
+            fetching = true;
+            long start = System.nanoTime();
+            IoScheduler.get()
+                    .submit(collection(), () -> OfflineCache.read(store.getType(), store.getProjection()))
+                    .whenComplete((snapshot, error) -> Platform.runLater(() -> {
+                        fetching = false;
+                        if (snapshot == null || error != null || stopped) {
+                            // Cold start: page the collection in
+                            fetchNext();
+                            return;
+                        }
+                        store.apply(snapshot.documents());
+                        complete = true;
+                        store.markLoaded();
+                        firstPage.complete(null);
+                        System.out.printf("🗂️ Warm start: %,d %s from offline cache in %d ms%n",
+                                store.size(), collection(), (System.nanoTime() - start) / 1_000_000);
+                        attachListener(snapshot.highWaterMark());
+                    }));
+        }
+
+        /**
+         * Writes the store to the offline cache, if the listener has brought it up to date this run
+         * @param now true to write on the calling thread (shutdown), false for the I/O scheduler
+         */
+        void saveCache(boolean now) {
+            if (!AppConfig.isOfflineCache() || !listenerReported) return;
+            List<Map.Entry<String, Map<String, Object>>> documents = OfflineCache.snapshot(store);
+            long mark = highWaterMark;
+            Runnable write = () -> OfflineCache.write(store.getType(), store.getProjection(), mark, documents);
+            if (now) {
+                write.run();
+            } else {
+                IoScheduler.get().execute(collection(), write);
+            }
+        }
+
+        // ========================================
+        // LIVE CHANGES
+        // ========================================
+
+        /**
+         * Listens for changes stamped after {@code mark} (less the overlap), once the backend is up
+         * @param mark what the store is already current to: the cache's high-water mark, or
+         *             when paging started
+         */
+        private void attachListener(long mark) {
+            highWaterMark = mark;
+            long since = mark - OVERLAP_MS;
+            StartupPipeline.get().backendReady().whenComplete((ok, error) -> {
+                if (error != null) {
+                    System.err.println("⚠️ Backend unavailable - " + collection() + " shows cached data");
+                    return;
+                }
+                if (stopped) return;
+
+                // Registering a Firestore listener opens a stream - keep it off the FX thread
+                IoScheduler.get().execute(collection(), () -> {
+                    try {
+                        register(repository().listen(store.getProjection(), since,
+                                changes -> Platform.runLater(() -> onChanges(changes))));
+                    } catch (RuntimeException e) {
+                        System.err.println("❌ Could not start sync for " + collection() + ": " + e.getMessage());
+                        e.printStackTrace();
+                    }
+                });
+            });
+        }
+
+        private void onChanges(List<Change<T>> changes) {
+            store.apply(changes);
+            for (Change<T> change : changes) {
+                highWaterMark = Math.max(highWaterMark, change.stamp());
+            }
+            if (listenerReported) return;
+
+            // First batch: everything since the cache / paging started (the backend
+            // delivers its document and tombstone results together)
+            listenerReported = true;
+            System.out.printf("🔄 %s in sync (%,d changes since last sync)%n", collection(), changes.size());
+            saveCache(false);
+            IoScheduler.get().execute(collection(), () -> {
+                int purged = repository().purgeDeletions(System.currentTimeMillis() - DeltaSync.TOMBSTONE_TTL_MS);
+                if (purged > 0) {
+                    System.out.println("🧹 Purged " + purged + " old " + collection() + " tombstones");
+                }
+            });
+        }
+    }
+}
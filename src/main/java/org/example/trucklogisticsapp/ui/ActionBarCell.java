@@ -0,0 +1,55 @@
+package org.example.trucklogisticsapp.ui;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.layout.HBox;
+import javafx.util.Callback;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A row of action buttons acting on the row's item.
+ *
+ * Buttons and their container are built once per cell and only attached or detached
+ * on update.
+ */
+public class ActionBarCell<S> extends TableCell<S, Void> {
+
+    /**
+     * One button: how to build it and what to do with the row item when clicked
+     */
+    public record Action<S>(Supplier<Button> button, Consumer<S> handler) {
+    }
+
+    private final HBox bar;
+
+    public ActionBarCell(double spacing, List<Action<S>> actions, String... barClasses) {
+        bar = new HBox(spacing);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.getStyleClass().addAll(barClasses);
+
+        for (Action<S> action : actions) {
+            Button btn = action.button().get();
+            btn.setOnAction(e -> {
+                S item = getTableRow() == null ? null : getTableRow().getItem();
+                if (item != null) action.handler().accept(item);
+            });
+            bar.getChildren().add(btn);
+        }
+    }
+
+    public static <S> Callback<TableColumn<S, Void>, TableCell<S, Void>> forColumn(
+            double spacing, List<Action<S>> actions, String... barClasses) {
+        return col -> new ActionBarCell<>(spacing, actions, barClasses);
+    }
+
+    @Override
+    protected void updateItem(Void item, boolean empty) {
+        super.updateItem(item, empty);
+        setGraphic(empty ? null : bar);
+    }
+}
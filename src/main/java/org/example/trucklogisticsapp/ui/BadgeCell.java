@@ -0,0 +1,55 @@
+package org.example.trucklogisticsapp.ui;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.function.Function;
+
+/**
+ * Shows a value as a styled badge.
+ *
+ * The label is created once per cell; an update only changes its text and swaps the
+ * variant style class when it differs, so scrolling allocates no nodes.
+ */
+public class BadgeCell<S> extends TableCell<S, String> {
+
+    private final Label badge = new Label();
+    private final Function<String, String> variantFor;
+    private String variant;
+
+    /**
+     * @param variantFor  style class for a value (null for none)
+     * @param baseClasses style classes every badge carries, replacing the default "label" class (none keeps it)
+     */
+    public BadgeCell(Function<String, String> variantFor, String... baseClasses) {
+        this.variantFor = variantFor;
+        if (baseClasses.length > 0) {
+            badge.getStyleClass().setAll(baseClasses);
+        }
+    }
+
+    public static <S> Callback<TableColumn<S, String>, TableCell<S, String>> forColumn(
+            Function<String, String> variantFor, String... baseClasses) {
+        return col -> new BadgeCell<>(variantFor, baseClasses);
+    }
+
+    @Override
+    protected void updateItem(String item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+
+        badge.setText(item);
+        String next = variantFor.apply(item);
+        if (next == null ? variant != null : !next.equals(variant)) {
+            if (variant != null) badge.getStyleClass().remove(variant);
+            if (next != null) badge.getStyleClass().add(next);
+            variant = next;
+        }
+        if (getGraphic() != badge) setGraphic(badge);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.trucklogisticsapp.ui;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+import org.example.trucklogisticsapp.service.Formats;
+
+import java.util.function.Function;
+
+/**
+ * Shows a number as text produced by a formatter, typically one of the {@link Formats} methods.
+ *
+ * Avoids String.format (which parses its pattern on every call) and skips formatting
+ * entirely when the cell is updated with the value it already shows.
+ */
+public class FormattedNumberCell<S, T extends Number> extends TableCell<S, T> {
+
+    private final Function<? super T, String> formatter;
+    private T shown;
+
+    public FormattedNumberCell(Function<? super T, String> formatter) {
+        this.formatter = formatter;
+    }
+
+    public static <S, T extends Number> Callback<TableColumn<S, T>, TableCell<S, T>> forColumn(
+            Function<? super T, String> formatter) {
+        return col -> new FormattedNumberCell<>(formatter);
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            shown = null;
+            setText(null);
+            return;
+        }
+        if (item.equals(shown) && getText() != null) return;
+
+        shown = item;
+        setText(formatter.apply(item));
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.trucklogisticsapp.repository;
+
+import org.example.trucklogisticsapp.model.Driver;
+import org.example.trucklogisticsapp.model.MaintenanceRecord;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DocumentCodecs} round trips, plus documents as the reflective mapping used to
+ * write them. Every field of the fixtures differs from the model default, so a field that
+ * is encoded under one name and decoded under another shows up as a changed re-encoding.
+ */
+class DocumentCodecsTest {
+
+    @Test
+    void truckRoundTrip() {
+        Truck t = new Truck("T-1", "1HGBH41JXMN109186", "Volvo", "FH16", 2019, 182_345.5, 24_000, "ABC-1234");
+        t.setSource("Import");
+        t.setNotes("Spare tyre");
+        t.setAvailable(false);
+        t.setNeedsMaintenance(true);
+        t.setLastMaintenanceDate(LocalDate.of(2024, 3, 9));
+        t.setMaintenanceIntervalMonths(4);
+        t.setRemindersEnabled(false);
+        t.setReminderDaysBefore(21);
+
+        Map<String, Object> fields = DocumentCodecs.TRUCK.encode(t);
+        assertEquals("2024-03-09", fields.get("lastMaintenanceDate"));
+        assertRoundTrip(DocumentCodecs.TRUCK, fields);
+        assertRoundTrip(DocumentCodecs.TRUCK, asFirestoreReturns(fields));
+    }
+
+    @Test
+    void driverRoundTrip() {
+        Driver d = new Driver("Ana", "Lopez", "D1234567", "TX", "555-0100", "ana@example.com");
+        d.setDateOfBirth("1985-06-01");
+        d.setAddress("1 Main St");
+        d.setCity("Austin");
+        d.setState("TX");
+        d.setZipCode("73301");
+        d.setLicenseClass("Class B");
+        d.setLicenseExpiry("2027-01-31");
+        d.setMedicalCertExpiry("2026-05-15");
+        d.setHireDate("2015-09-01");
+        d.setStatus("On Leave");
+        d.setAvailable(false);
+        d.setAssignedTruckId("T-1");
+        d.setHazmatEndorsement(true);
+        d.setTankersEndorsement(true);
+        d.setDoublesEndorsement(true);
+        d.setRating(4.3);
+        d.setTotalTrips(312);
+        d.setTotalMiles(512_300.25);
+        d.setNotes("Prefers nights");
+
+        assertRoundTrip(DocumentCodecs.DRIVER, DocumentCodecs.DRIVER.encode(d));
+        assertRoundTrip(DocumentCodecs.DRIVER, asFirestoreReturns(DocumentCodecs.DRIVER.encode(d)));
+    }
+
+    @Test
+    void shipmentRoundTrip() {
+        Shipment s = new Shipment("SH-1", "Austin → Denver", "Acme Freight", "12,000 lbs", 8_500,
+                "High", "In Transit", "T-1 / Ana Lopez", "2024-04-02");
+        s.setTotalValue(9_100.5);
+
+        assertRoundTrip(DocumentCodecs.SHIPMENT, DocumentCodecs.SHIPMENT.encode(s));
+        assertRoundTrip(DocumentCodecs.SHIPMENT, asFirestoreReturns(DocumentCodecs.SHIPMENT.encode(s)));
+
+        // No totalValue stays absent rather than becoming 0
+        s.setTotalValue(null);
+        assertFalse(DocumentCodecs.SHIPMENT.encode(s).containsKey("totalValue"));
+    }
+
+    @Test
+    void maintenanceRoundTrip() {
+        MaintenanceRecord m = new MaintenanceRecord("M-1", "T-1", "Oil Change", "2024-05-20", 349.99, "Scheduled");
+
+        assertRoundTrip(DocumentCodecs.MAINTENANCE, DocumentCodecs.MAINTENANCE.encode(m));
+        assertRoundTrip(DocumentCodecs.MAINTENANCE, asFirestoreReturns(DocumentCodecs.MAINTENANCE.encode(m)));
+    }
+
+    @Test
+    void readsLegacyTruckDocument() {
+        // As Firestore's bean mapping stored it: every getter, numbers as Long / Double,
+        // LocalDate as a bean map
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("id", "T-9");
+        doc.put("vin", "2FMDK3JC4BBA12345");
+        doc.put("make", "Kenworth");
+        doc.put("model", "T680");
+        doc.put("year", 2017L);
+        doc.put("mileage", 240_000L);
+        doc.put("capacityKg", 20_000L);
+        doc.put("plateNumber", "XYZ-987");
+        doc.put("source", "");
+        doc.put("available", false);
+        doc.put("needsMaintenance", true);
+        doc.put("notes", "");
+        doc.put("lastMaintenanceDate", Map.of(
+                "year", 2023L, "monthValue", 11L, "dayOfMonth", 30L,
+                "month", "NOVEMBER", "dayOfWeek", "THURSDAY", "dayOfYear", 334L,
+                "leapYear", false, "chronology", Map.of("id", "ISO", "calendarType", "iso8601")));
+        doc.put("maintenanceIntervalMonths", 6L);
+        // Derived getters the bean mapping also wrote
+        doc.put("nextMaintenanceDue", Map.of("year", 2024L, "monthValue", 5L, "dayOfMonth", 30L));
+        doc.put("maintenanceStatus", "Overdue");
+        doc.put("maintenanceOverdue", true);
+        doc.put("maintenanceDueSoon", false);
+        doc.put("daysUntilMaintenance", -12L);
+        doc.put("displayName", "Kenworth T680 (XYZ-987)");
+        doc.put("valid", true);
+
+        Truck t = DocumentCodecs.TRUCK.decode(doc);
+        assertEquals("2FMDK3JC4BBA12345", t.getVin());
+        assertEquals("T680", t.getModel());
+        assertEquals(2017, t.getYear());
+        assertEquals(240_000.0, t.getMileage());
+        assertEquals(20_000, t.getCapacityKg());
+        assertEquals("XYZ-987", t.getPlateNumber());
+        assertFalse(t.isAvailable());
+        assertTrue(t.isNeedsMaintenance());
+        assertEquals(LocalDate.of(2023, 11, 30), t.getLastMaintenanceDate());
+        assertEquals(6, t.getMaintenanceIntervalMonths());
+
+        // Re-saved in the current shape: stored fields only, dates as strings
+        Map<String, Object> saved = DocumentCodecs.TRUCK.encode(t);
+        assertEquals("2023-11-30", saved.get("lastMaintenanceDate"));
+        assertFalse(saved.containsKey("maintenanceStatus"));
+        assertFalse(saved.containsKey("displayName"));
+    }
+
+    @Test
+    void readsLegacyDriverShipmentAndMaintenanceDocuments() {
+        Map<String, Object> driverDoc = new HashMap<>();
+        driverDoc.put("firstName", "Sam");
+        driverDoc.put("lastName", "Reed");
+        driverDoc.put("licenseExpiry", "2025-02-28");
+        driverDoc.put("rating", 4L);             // whole numbers come back as Long
+        driverDoc.put("totalTrips", 57L);
+        driverDoc.put("totalMiles", 80_120L);
+        driverDoc.put("available", true);
+        driverDoc.put("assignedTruckId", null);
+        driverDoc.put("fullName", "Sam Reed");
+        driverDoc.put("complianceStatus", "Compliant");
+        driverDoc.put("endorsements", "None");
+
+        Driver d = DocumentCodecs.DRIVER.decode(driverDoc);
+        assertEquals("Sam", d.getFirstName());
+        assertEquals(4.0, d.getRating());
+        assertEquals(57, d.getTotalTrips());
+        assertEquals(80_120.0, d.getTotalMiles());
+        assertEquals("2025-02-28", d.getLicenseExpiry());
+        assertNull(d.getAssignedTruckId());
+        // Absent fields keep the model's defaults
+        assertEquals("Class A", d.getLicenseClass());
+        assertEquals("Active", d.getStatus());
+
+        Map<String, Object> shipmentDoc = new HashMap<>();
+        shipmentDoc.put("shipmentId", "SH-7");
+        shipmentDoc.put("customer", "Zeta Corp");
+        shipmentDoc.put("value", 1_200L);
+        shipmentDoc.put("totalValue", 1_350L);
+        shipmentDoc.put("status", "Pending");
+
+        Shipment s = DocumentCodecs.SHIPMENT.decode(shipmentDoc);
+        assertEquals("SH-7", s.getShipmentId());
+        assertEquals(1_200, s.getValue());
+        assertEquals(1_350.0, s.getTotalValue().doubleValue());
+        assertEquals(1_350.0, s.getReportedValue());
+
+        Map<String, Object> maintenanceDoc = new HashMap<>();
+        maintenanceDoc.put("recordId", "M-3");
+        maintenanceDoc.put("truckId", "T-9");
+        maintenanceDoc.put("cost", 250L);
+        maintenanceDoc.put("scheduledDate", "2024-01-15");
+
+        MaintenanceRecord m = DocumentCodecs.MAINTENANCE.decode(maintenanceDoc);
+        assertEquals("M-3", m.getRecordId());
+        assertEquals(250.0, m.getCost());
+        assertEquals("2024-01-15", m.getScheduledDate());
+    }
+
+    /**
+     * Decodes {@code fields} and checks that encoding the result gives them back
+     */
+    private static <T> void assertRoundTrip(DocumentCodec<T> codec, Map<String, Object> fields) {
+        Map<String, Object> expected = normalized(fields);
+        Map<String, Object> actual = normalized(codec.encode(codec.decode(fields)));
+        assertEquals(expected.keySet(), actual.keySet(), "encoded fields");
+        for (String name : expected.keySet()) {
+            assertEquals(expected.get(name), actual.get(name), "field " + name);
+        }
+    }
+
+    // The id is not a decoded field (the caller sets it); numbers compare by value
+    private static Map<String, Object> normalized(Map<String, Object> fields) {
+        Map<String, Object> result = new HashMap<>();
+        fields.forEach((name, value) -> {
+            if (name.equals("id")) return;
+            result.put(name, value instanceof Number n ? (Object) n.doubleValue() : value);
+        });
+        return result;
+    }
+
+    /**
+     * The fields as a Firestore read returns them: whole numbers as Long, others as Double
+     */
+    private static Map<String, Object> asFirestoreReturns(Map<String, Object> fields) {
+        Map<String, Object> result = new HashMap<>();
+        fields.forEach((name, value) -> result.put(name, switch (value) {
+            case Integer i -> (long) i;
+            case Float f -> (double) f;
+            case null, default -> value;
+        }));
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.trucklogisticsapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AuctionSolver} against exhaustive search on instances small enough to enumerate:
+ * every result must be a valid assignment within {@code crews * EPS} of the optimum.
+ */
+class AuctionSolverTest {
+
+    private static final int INSTANCES = 2_000;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void fullSolveIsWithinBoundOfOptimum() {
+        for (int i = 0; i < INSTANCES; i++) {
+            AuctionSolver.Problem p = randomProblem();
+            check(p, AuctionSolver.solve(p), "instance " + i);
+        }
+    }
+
+    @Test
+    void incrementalSolveIsWithinBoundOfOptimum() {
+        for (int i = 0; i < INSTANCES; i++) {
+            AuctionSolver.Problem before = randomProblem();
+            AuctionSolver.Result previous = AuctionSolver.solve(before);
+
+            // Re-draw a few shipments, keeping the crews
+            AuctionSolver.Problem after = new AuctionSolver.Problem(before.weightKg().clone(), before.base().clone(),
+                    before.capacityKg(), before.bonus());
+            int[] changed = random.ints(1 + random.nextInt(2), 0, after.shipments()).distinct().toArray();
+            for (int s : changed) {
+                after.weightKg()[s] = weight();
+                after.base()[s] = base();
+            }
+
+            AuctionSolver.Result result = AuctionSolver.resolve(after, previous.prices().clone(),
+                    previous.shipmentOf().clone(), changed);
+            check(after, result, "instance " + i);
+        }
+    }
+
+    private void check(AuctionSolver.Problem p, AuctionSolver.Result result, String label) {
+        boolean[] taken = new boolean[p.shipments()];
+        for (int c = 0; c < p.crews(); c++) {
+            int s = result.shipmentOf()[c];
+            if (s == AuctionSolver.UNASSIGNED) continue;
+            assertFalse(taken[s], label + ": shipment " + s + " assigned twice");
+            taken[s] = true;
+            assertTrue(p.capacityKg()[c] >= p.weightKg()[s], label + ": crew " + c + " overloaded");
+        }
+
+        double optimum = best(p, 0, new boolean[p.shipments()]);
+        double total = result.totalBenefit(p);
+        assertTrue(total >= optimum - p.crews() * AuctionSolver.EPS - 1e-9,
+                label + ": benefit " + total + ", optimum " + optimum);
+        assertTrue(total <= optimum + 1e-9, label + ": benefit above the optimum");
+        assertEquals(result.assigned(), p.crews() - count(result.shipmentOf(), AuctionSolver.UNASSIGNED));
+    }
+
+    /**
+     * Best total benefit for crews {@code c..}, each idle or on a free shipment it can carry
+     */
+    private static double best(AuctionSolver.Problem p, int c, boolean[] taken) {
+        if (c == p.crews()) return 0;
+        double best = best(p, c + 1, taken);
+        for (int s = 0; s < p.shipments(); s++) {
+            double benefit = p.benefit(s, c);
+            if (taken[s] || benefit == Double.NEGATIVE_INFINITY) continue;
+            taken[s] = true;
+            best = Math.max(best, benefit + best(p, c + 1, taken));
+            taken[s] = false;
+        }
+        return best;
+    }
+
+    private AuctionSolver.Problem randomProblem() {
+        int crews = 1 + random.nextInt(5);
+        int shipments = crews + random.nextInt(4);
+        double[] weight = new double[shipments];
+        double[] base = new double[shipments];
+        for (int s = 0; s < shipments; s++) {
+            weight[s] = weight();
+            base[s] = base();
+        }
+        double[] capacity = new double[crews];
+        double[] bonus = new double[crews];
+        for (int c = 0; c < crews; c++) {
+            capacity[c] = 2_000 + random.nextInt(20_000);
+            bonus[c] = random.nextInt(60) - 30;
+        }
+        return new AuctionSolver.Problem(weight, base, capacity, bonus);
+    }
+
+    private double weight() {
+        return 500 + random.nextInt(20_000);
+    }
+
+    // Priority tiers plus value points, like AssignmentEngine.baseBenefit
+    private double base() {
+        return 200 * (1 + random.nextInt(8)) + random.nextInt(100);
+    }
+
+    private static int count(int[] values, int value) {
+        int n = 0;
+        for (int v : values) if (v == value) n++;
+        return n;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.trucklogisticsapp.service;
+
+import org.example.trucklogisticsapp.model.CargoItem;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.model.Truck;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LoadPlanner} on random fleets and manifests, from roomy to short of trucks: every
+ * plan must load each unit of a planned shipment exactly once, keep every load within its
+ * truck's capacity, use each truck at most once, and give unplanned shipments no trucks.
+ */
+class LoadPlannerTest {
+
+    private static final int INSTANCES = 1_000;
+    private static final int[] CAPACITIES = {2_000, 5_000, 8_000, 12_000, 24_000};
+    private static final String[] PRIORITIES = {"Urgent", "High", "Medium", "Low", null};
+    private static final double TOLERANCE = 1e-6;
+
+    private final Random random = new Random(11);
+
+    @Test
+    void plansAreValid() {
+        int planned = 0;
+        int unplanned = 0;
+        for (int i = 0; i < INSTANCES; i++) {
+            List<LoadPlanner.Manifest> manifests = randomManifests();
+            List<Truck> trucks = randomTrucks();
+            LoadPlanner.Plan plan = LoadPlanner.plan(manifests, trucks);
+            check(manifests, trucks, plan, "instance " + i);
+
+            for (LoadPlanner.ShipmentLoad s : plan.shipments()) {
+                if (s.isPlanned()) planned++; else unplanned++;
+            }
+        }
+        // Both outcomes occur, so neither half of the checks is vacuous
+        assertTrue(planned > 0, "no shipment was ever planned");
+        assertTrue(unplanned > 0, "no shipment was ever left unplanned");
+    }
+
+    @Test
+    void noTrucksPlansNothing() {
+        List<LoadPlanner.Manifest> manifests = randomManifests();
+        LoadPlanner.Plan plan = LoadPlanner.plan(manifests, List.of());
+        check(manifests, List.of(), plan, "no trucks");
+        assertEquals(0, plan.trucksUsed());
+    }
+
+    private static void check(List<LoadPlanner.Manifest> manifests, List<Truck> trucks,
+                              LoadPlanner.Plan plan, String label) {
+        assertEquals(manifests.size(), plan.shipments().size(), label + ": one result per manifest");
+        Set<Truck> fleet = identitySet(trucks);
+        Set<Truck> used = identitySet(List.of());
+
+        for (int i = 0; i < manifests.size(); i++) {
+            LoadPlanner.Manifest manifest = manifests.get(i);
+            LoadPlanner.ShipmentLoad result = plan.shipments().get(i);
+            String shipment = label + ", " + manifest.shipment().getShipmentId();
+            assertSame(manifest.shipment(), result.shipment(), shipment + ": results in manifest order");
+
+            if (!result.isPlanned()) {
+                assertTrue(result.loads().isEmpty(), shipment + ": unplanned but given trucks");
+                continue;
+            }
+            assertNull(result.problem());
+
+            Map<CargoItem, Integer> units = new IdentityHashMap<>();
+            for (LoadPlanner.Load load : result.loads()) {
+                Truck truck = load.truck();
+                assertNotNull(truck, shipment + ": load without a truck");
+                assertTrue(fleet.contains(truck), shipment + ": truck not from the fleet");
+                assertTrue(used.add(truck), shipment + ": truck " + truck.getId() + " used twice");
+                assertFalse(load.pieces().isEmpty(), shipment + ": empty load on " + truck.getId());
+
+                double weight = 0;
+                for (LoadPlanner.Piece piece : load.pieces()) {
+                    assertTrue(piece.quantity() > 0, shipment + ": piece of " + piece.quantity() + " units");
+                    units.merge(piece.item(), piece.quantity(), Integer::sum);
+                    weight += piece.weightKg();
+                }
+                assertEquals(weight, load.weightKg(), TOLERANCE, shipment + ": load weight");
+                assertTrue(load.weightKg() <= truck.getCapacityKg() + TOLERANCE,
+                        shipment + ": " + load.weightKg() + " kg on " + truck.getCapacityKg() + " kg truck " + truck.getId());
+            }
+
+            // Each unit exactly once: no unit missing, duplicated, or taken from another manifest
+            for (CargoItem item : manifest.items()) {
+                int loaded = units.getOrDefault(item, 0);
+                assertEquals(Math.max(0, item.getQuantity()), loaded, shipment + ": units of " + item.getId());
+                units.remove(item);
+            }
+            assertTrue(units.isEmpty(), shipment + ": loads hold items not on the manifest");
+        }
+        assertEquals(used.size(), plan.trucksUsed(), label + ": trucks used");
+    }
+
+    private List<LoadPlanner.Manifest> randomManifests() {
+        int count = 1 + random.nextInt(6);
+        List<LoadPlanner.Manifest> manifests = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            Shipment shipment = new Shipment("SH-" + s, "A → B", "Acme Freight", null, 1_000,
+                    PRIORITIES[random.nextInt(PRIORITIES.length)], "Pending", null, null);
+            int lines = 1 + random.nextInt(5);
+            List<CargoItem> items = new ArrayList<>(lines);
+            for (int l = 0; l < lines; l++) {
+                // Mostly light units in bulk, now and then one heavier than small trucks (or any truck)
+                double unitKg = random.nextInt(10) == 0 ? 1_000 + random.nextInt(30_000) : 5 + random.nextInt(1_500);
+                int quantity = random.nextInt(12) == 0 ? 0 : 1 + random.nextInt(40);
+                items.add(new CargoItem("SH-" + s + "/" + l, "Item " + l, null, quantity, 10, unitKg));
+            }
+            manifests.add(new LoadPlanner.Manifest(shipment, items));
+        }
+        return manifests;
+    }
+
+    private List<Truck> randomTrucks() {
+        int count = random.nextInt(14);
+        List<Truck> trucks = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            // Standard sizes repeat (as in a real fleet), with the odd one-off and out-of-service 0
+            int capacity = switch (random.nextInt(10)) {
+                case 0 -> 0;
+                case 1 -> 1_000 + random.nextInt(30_000);
+                default -> CAPACITIES[random.nextInt(CAPACITIES.length)];
+            };
+            trucks.add(new Truck("T-" + t, "VIN-" + t, "Volvo", "FH", 2020, 0, capacity, null));
+        }
+        return trucks;
+    }
+
+    private static Set<Truck> identitySet(List<Truck> trucks) {
+        Set<Truck> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(trucks);
+        return set;
+    }
+}
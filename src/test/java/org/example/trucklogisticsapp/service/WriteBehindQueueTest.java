@@ -0,0 +1,189 @@
+package org.example.trucklogisticsapp.service;
+
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.RepositoryException;
+import org.example.trucklogisticsapp.repository.local.LocalTruckRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coalescing and retries of {@link WriteBehindQueue}, against an in-memory local repository.
+ * The queues here are flushed by hand ({@link WriteBehindQueue#flushNow}) unless a test is
+ * about timing.
+ */
+class WriteBehindQueueTest {
+
+    private static final long NEVER_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final FlakyTruckRepository repo = new FlakyTruckRepository();
+
+    @Test
+    void updateFoldsIntoPendingSave() throws Exception {
+        WriteBehindQueue queue = queue(NEVER_MS);
+        Truck truck = truck("T-1");
+
+        CompletableFuture<Void> saved = queue.save(EntityType.TRUCK, truck);
+        CompletableFuture<Void> updated = queue.update(EntityType.TRUCK, "T-1", Map.of("available", false));
+        assertSame(saved, updated);
+        assertEquals(1, queue.getPendingCount());
+
+        queue.flushNow();
+        assertTrue(saved.isDone() && !saved.isCompletedExceptionally());
+        assertEquals(1, repo.writes);
+        Truck stored = repo.findById("T-1").orElseThrow();
+        assertFalse(stored.isAvailable());
+        assertEquals("PLT-T-1", stored.getPlateNumber());
+    }
+
+    @Test
+    void updateAfterPendingDeleteDoesNotRecreate() throws Exception {
+        WriteBehindQueue queue = queue(NEVER_MS);
+        queue.save(EntityType.TRUCK, truck("T-1"));
+        queue.flushNow();
+
+        CompletableFuture<Void> deleted = queue.delete(EntityType.TRUCK, "T-1");
+        CompletableFuture<Void> updated = queue.update(EntityType.TRUCK, "T-1", Map.of("available", false));
+        assertSame(deleted, updated);
+
+        queue.flushNow();
+        assertTrue(updated.isDone() && !updated.isCompletedExceptionally());
+        assertTrue(repo.findById("T-1").isEmpty());
+    }
+
+    @Test
+    void failedSaveIsRetriedWithNewerUpdate() throws Exception {
+        WriteBehindQueue queue = queue(NEVER_MS);
+        CompletableFuture<Void> saved = queue.save(EntityType.TRUCK, truck("T-1"));
+
+        // The update arrives while the save is in flight, then the save fails
+        CompletableFuture<?>[] updated = new CompletableFuture<?>[1];
+        repo.failures = 1;
+        repo.beforeWrite = () -> updated[0] = queue.update(EntityType.TRUCK, "T-1", Map.of("available", false));
+        queue.flushNow();
+        repo.beforeWrite = null;
+
+        assertFalse(saved.isDone());
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(1, queue.getFailedCount());
+
+        queue.flushNow();
+        assertTrue(saved.isDone() && !saved.isCompletedExceptionally());
+        assertTrue(updated[0].isDone() && !updated[0].isCompletedExceptionally());
+
+        // Written as the full save with the update on top, not as a bare update
+        Truck stored = repo.findById("T-1").orElseThrow();
+        assertFalse(stored.isAvailable());
+        assertEquals("PLT-T-1", stored.getPlateNumber());
+    }
+
+    @Test
+    void failedUpdateKeepsItsFieldsUnderNewerUpdate() throws Exception {
+        WriteBehindQueue queue = queue(NEVER_MS);
+        queue.save(EntityType.TRUCK, truck("T-1"));
+        queue.flushNow();
+
+        CompletableFuture<Void> first = queue.update(EntityType.TRUCK, "T-1", Map.of("available", false));
+        repo.failures = 1;
+        repo.beforeWrite = () -> queue.update(EntityType.TRUCK, "T-1", Map.of("notes", "Tyres replaced"));
+        queue.flushNow();
+        repo.beforeWrite = null;
+        queue.flushNow();
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        Truck stored = repo.findById("T-1").orElseThrow();
+        assertFalse(stored.isAvailable());
+        assertEquals("Tyres replaced", stored.getNotes());
+        assertEquals("PLT-T-1", stored.getPlateNumber());
+    }
+
+    @Test
+    void writeIsDroppedAfterMaxAttempts() throws Exception {
+        WriteBehindQueue queue = queue(NEVER_MS);
+        CompletableFuture<Void> saved = queue.save(EntityType.TRUCK, truck("T-1"));
+        repo.failures = Integer.MAX_VALUE;
+
+        for (int attempt = 1; attempt < WriteBehindQueue.MAX_ATTEMPTS; attempt++) {
+            queue.flushNow();
+            assertFalse(saved.isDone(), "given up after " + attempt + " attempts");
+            assertEquals(1, queue.getPendingCount());
+        }
+        queue.flushNow();
+
+        ExecutionException e = assertThrows(ExecutionException.class, saved::get);
+        assertTrue(e.getCause() instanceof RepositoryException);
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(WriteBehindQueue.MAX_ATTEMPTS, repo.writes);
+    }
+
+    @Test
+    void retriesBackOff() throws Exception {
+        long delayMs = 20;
+        WriteBehindQueue queue = queue(delayMs);
+        repo.failures = Integer.MAX_VALUE;
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> saved = queue.save(EntityType.TRUCK, truck("T-1"));
+        assertThrows(ExecutionException.class, () -> saved.get(30, TimeUnit.SECONDS));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // The first flush after the delay, then a doubling wait after each failed one
+        long expectedMs = delayMs;
+        for (int failures = 1; failures < WriteBehindQueue.MAX_ATTEMPTS; failures++) {
+            expectedMs += delayMs << failures;
+        }
+        assertTrue(elapsedMs >= expectedMs, "dropped after " + elapsedMs + " ms, expected at least " + expectedMs);
+        assertEquals(WriteBehindQueue.MAX_ATTEMPTS, repo.writes);
+    }
+
+    private WriteBehindQueue queue(long flushDelayMs) {
+        return new WriteBehindQueue(type -> repo, flushDelayMs);
+    }
+
+    private static Truck truck(String id) {
+        Truck t = new Truck("VIN-" + id, "Volvo", "FH16", 2020, 18_000);
+        t.setId(id);
+        t.setPlateNumber("PLT-" + id);
+        t.setAvailable(true);
+        return t;
+    }
+
+    /**
+     * In-memory truck repository whose batch writes can be made to fail
+     */
+    private static final class FlakyTruckRepository extends LocalTruckRepository {
+
+        volatile int failures;
+        volatile Runnable beforeWrite;
+        volatile int writes;
+
+        FlakyTruckRepository() {
+            super(null);
+        }
+
+        @Override
+        public void writeDocuments(Map<String, Map<String, Object>> saves,
+                                   Map<String, Map<String, Object>> updates, Collection<String> deletes) {
+            writes++;
+            Runnable hook = beforeWrite;
+            if (hook != null) hook.run();
+            if (failures > 0) {
+                failures--;
+                throw new RepositoryException("Backend unavailable", null);
+            }
+            super.writeDocuments(saves, updates, deletes);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.trucklogisticsapp.store;
+
+import javafx.collections.ListChangeListener;
+import org.example.trucklogisticsapp.model.Shipment;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Projection;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Random edits, filters and searches against a {@link LiveView}, checked after every step
+ * against a brute-force filter of the store and against a copy of the list rebuilt from
+ * nothing but the view's change events.
+ */
+class LiveViewTest {
+
+    private static final String[] STATUSES = {"Pending", "Assigned", "Delivered"};
+    private static final String[] CUSTOMERS = {"Acme Freight", "Bolt Logistics", "Zeta Corp", "Omega Haulage"};
+
+    private final EntityStore<Shipment> store = new EntityStore<>(EntityType.SHIPMENT, Projection.ALL);
+    private final SearchIndex<Shipment> search = new SearchIndex<>(store, (s, terms) -> terms.text(s.getCustomer()));
+    private final BitmapIndex<Shipment> bitmaps = new BitmapIndex<>(store).field("status", Shipment::getStatus);
+    private final Random random = new Random(42);
+
+    @Test
+    void matchesBruteForceAndReportsEveryChange() {
+        for (int i = 0; i < 2_000; i++) store.put(randomShipment("SH-" + i));
+
+        LiveView<Shipment> view = bitmaps.view(search);
+        List<Shipment> replayed = new ArrayList<>(view);
+        view.addListener(replayOnto(replayed));
+
+        String status = null;
+        String query = "";
+        for (int step = 0; step < 3_000; step++) {
+            int op = random.nextInt(10);
+            if (op == 0) {
+                status = random.nextBoolean() ? null : STATUSES[random.nextInt(STATUSES.length)];
+                if (status == null) view.where("status"); else view.where("status", status);
+            } else if (op == 1) {
+                query = random.nextBoolean() ? "" : CUSTOMERS[random.nextInt(CUSTOMERS.length)].substring(0, 1 + random.nextInt(4));
+                view.setSearch(query);
+            } else if (op < 6) {
+                // Single edits and bulk batches (past LiveView's bulk-change threshold)
+                int n = 1 + random.nextInt(random.nextBoolean() ? 3 : 200);
+                List<Change<Shipment>> batch = new ArrayList<>(n);
+                for (int k = 0; k < n; k++) {
+                    Shipment s = randomShipment("SH-" + random.nextInt(3_000));
+                    batch.add(Change.modified(s.getShipmentId(), s));
+                }
+                store.apply(batch);
+            } else {
+                for (int k = random.nextInt(5); k >= 0; k--) store.remove("SH-" + random.nextInt(3_000));
+            }
+
+            assertEquals(expected(status, query), ids(view), "members after step " + step);
+            assertEquals(view.size(), replayed.size(), "replayed size after step " + step);
+            for (int i = 0; i < view.size(); i++) {
+                assertSame(view.get(i), replayed.get(i), "replayed row " + i + " after step " + step);
+            }
+        }
+    }
+
+    @Test
+    void disposedViewStopsFollowingTheStore() {
+        for (int i = 0; i < 10; i++) store.put(randomShipment("SH-" + i));
+        LiveView<Shipment> view = bitmaps.view(search);
+        int[] events = {0};
+        view.addListener((ListChangeListener<Shipment>) c -> events[0]++);
+
+        view.dispose();
+        store.put(randomShipment("SH-100"));
+        store.remove("SH-0");
+        view.where("status", "Pending");
+
+        assertEquals(10, view.size());
+        assertEquals(0, events[0]);
+        assertFalse(ids(view).contains("SH-100"));
+    }
+
+    private Shipment randomShipment(String id) {
+        return new Shipment(id, "A → B", CUSTOMERS[random.nextInt(CUSTOMERS.length)], "100 lbs", 1_000,
+                "Medium", STATUSES[random.nextInt(STATUSES.length)], null, null);
+    }
+
+    /**
+     * The ids the view should hold, by scanning the store
+     */
+    private Set<String> expected(String status, String query) {
+        Set<String> ids = new HashSet<>();
+        String word = query.toLowerCase();
+        for (Shipment s : store.getItems()) {
+            if (status != null && !status.equals(s.getStatus())) continue;
+            if (!word.isEmpty() && !matchesWord(s.getCustomer(), word)) continue;
+            ids.add(s.getShipmentId());
+        }
+        return ids;
+    }
+
+    // Same rule as SearchIndex: short words match a word prefix, longer ones any substring
+    private static boolean matchesWord(String text, String word) {
+        for (String token : text.toLowerCase().split(" ")) {
+            if (word.length() < 3 ? token.startsWith(word) : token.contains(word)) return true;
+        }
+        return false;
+    }
+
+    private static Set<String> ids(List<Shipment> rows) {
+        Set<String> ids = new HashSet<>();
+        for (Shipment s : rows) ids.add(s.getShipmentId());
+        assertEquals(rows.size(), ids.size(), "duplicate rows");
+        return ids;
+    }
+
+    /**
+     * Applies each reported change to {@code copy}, checking the removed rows are the ones there
+     */
+    private static ListChangeListener<Shipment> replayOnto(List<Shipment> copy) {
+        return c -> {
+            while (c.next()) {
+                assertFalse(c.wasPermutated(), "a filtered view never permutes");
+                List<Shipment> removed = copy.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                assertEquals(c.getRemovedSize(), removed.size());
+                for (int i = 0; i < removed.size(); i++) assertSame(c.getRemoved().get(i), removed.get(i));
+                removed.clear();
+                copy.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        };
+    }
+}
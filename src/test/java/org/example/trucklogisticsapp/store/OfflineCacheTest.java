@@ -0,0 +1,174 @@
+package org.example.trucklogisticsapp.store;
+
+import org.example.trucklogisticsapp.model.Truck;
+import org.example.trucklogisticsapp.repository.Change;
+import org.example.trucklogisticsapp.repository.DeltaSync;
+import org.example.trucklogisticsapp.repository.EntityType;
+import org.example.trucklogisticsapp.repository.Projection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link OfflineCache} files written and read back under a temporary data directory
+ */
+class OfflineCacheTest {
+
+    private static final String DATA_DIR = "logistics.dataDir";
+    private static final String BACKEND = "logistics.backend";
+
+    @TempDir
+    Path dataDir;
+
+    private String previousDataDir;
+    private String previousBackend;
+
+    @BeforeEach
+    void useTempDataDir() {
+        previousDataDir = System.getProperty(DATA_DIR);
+        previousBackend = System.getProperty(BACKEND);
+        System.setProperty(DATA_DIR, dataDir.toString());
+        System.setProperty(BACKEND, "local");
+    }
+
+    @AfterEach
+    void restoreConfig() {
+        restore(DATA_DIR, previousDataDir);
+        restore(BACKEND, previousBackend);
+    }
+
+    @Test
+    void roundTripsDocumentsAndHighWaterMark() {
+        List<Map.Entry<String, Map<String, Object>>> docs = documents(ListProjections.TRUCKS, 300);
+        long mark = System.currentTimeMillis();
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, mark, docs);
+
+        OfflineCache.Snapshot<Truck> snapshot = OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS);
+        assertNotNull(snapshot);
+        assertEquals(mark, snapshot.highWaterMark());
+        assertEquals(docs.size(), snapshot.documents().size());
+        for (int i = 0; i < docs.size(); i++) {
+            Change<Truck> change = snapshot.documents().get(i);
+            assertEquals(Change.Type.ADDED, change.type());
+            assertEquals(docs.get(i).getKey(), change.id());
+            assertEquals(docs.get(i).getKey(), change.value().getId());
+            // Every tag (strings, nulls, booleans, ints, doubles) reads back as written
+            Map<String, Object> reencoded = EntityType.TRUCK.encode(change.value());
+            reencoded.keySet().retainAll(ListProjections.TRUCKS.fields());
+            assertEquals(docs.get(i).getValue(), reencoded, "document " + change.id());
+        }
+    }
+
+    @Test
+    void keepsLongsAndFieldsMissingFromSomeDocuments() {
+        // Field names are shared across documents; a document may use only some of them
+        List<Map.Entry<String, Map<String, Object>>> docs = List.of(
+                entry("T-1", Map.of("vin", "VIN-1", "year", 2_020L, "mileage", 1.5)),
+                entry("T-2", Map.of("plateNumber", "ÄBC-ÉÈ-1", "capacityKg", 12_000)));
+        OfflineCache.write(EntityType.TRUCK, Projection.ALL, System.currentTimeMillis(), docs);
+
+        OfflineCache.Snapshot<Truck> snapshot = OfflineCache.read(EntityType.TRUCK, Projection.ALL);
+        assertNotNull(snapshot);
+        Truck first = snapshot.documents().get(0).value();
+        Truck second = snapshot.documents().get(1).value();
+        assertEquals("VIN-1", first.getVin());
+        assertEquals(2_020, first.getYear());
+        assertEquals(1.5, first.getMileage());
+        assertEquals("ÄBC-ÉÈ-1", second.getPlateNumber());
+        assertEquals(12_000, second.getCapacityKg());
+    }
+
+    @Test
+    void rejectsFileWrittenForAnotherProjection() {
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, System.currentTimeMillis(),
+                documents(ListProjections.TRUCKS, 5));
+
+        assertNull(OfflineCache.read(EntityType.TRUCK, Projection.ALL));
+        assertNotNull(OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS));
+    }
+
+    @Test
+    void rejectsFileOlderThanTombstoneRetention() {
+        long stale = System.currentTimeMillis() - DeltaSync.TOMBSTONE_TTL_MS - TimeUnit.HOURS.toMillis(1);
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, stale, documents(ListProjections.TRUCKS, 5));
+
+        assertNull(OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS));
+    }
+
+    @Test
+    void rejectsMissingTruncatedAndForeignFiles() throws IOException {
+        assertNull(OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS));
+
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, System.currentTimeMillis(),
+                documents(ListProjections.TRUCKS, 50));
+        Path file = cacheFile();
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertNull(OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS));
+
+        bytes[0] ^= 0x55;
+        Files.write(file, bytes);
+        assertNull(OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS));
+    }
+
+    @Test
+    void rewriteReplacesPreviousFile() {
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, System.currentTimeMillis(),
+                documents(ListProjections.TRUCKS, 20));
+        OfflineCache.write(EntityType.TRUCK, ListProjections.TRUCKS, System.currentTimeMillis(),
+                documents(ListProjections.TRUCKS, 3));
+
+        OfflineCache.Snapshot<Truck> snapshot = OfflineCache.read(EntityType.TRUCK, ListProjections.TRUCKS);
+        assertNotNull(snapshot);
+        assertEquals(3, snapshot.documents().size());
+        assertFalse(Files.exists(cacheFile().resolveSibling("trucks.bin.tmp")));
+    }
+
+    /**
+     * Truck documents limited to {@code projection}, the way {@link OfflineCache#snapshot} stores them
+     */
+    private static List<Map.Entry<String, Map<String, Object>>> documents(Projection projection, int count) {
+        List<Map.Entry<String, Map<String, Object>>> docs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Truck t = new Truck("T-" + i, "VIN-" + i, i % 2 == 0 ? "Volvo" : "Kenworth", "Model " + i,
+                    2000 + i % 25, i * 1_000.25, 10_000 + i, i % 3 == 0 ? null : "PLT-" + i);
+            t.setAvailable(i % 2 == 0);
+            t.setNeedsMaintenance(i % 5 == 0);
+            t.setLastMaintenanceDate(i % 4 == 0 ? null : LocalDate.of(2024, 1 + i % 12, 1 + i % 28));
+            Map<String, Object> fields = EntityType.TRUCK.encode(t);
+            if (!projection.isAll()) fields.keySet().retainAll(projection.fields());
+            docs.add(entry(t.getId(), fields));
+        }
+        return docs;
+    }
+
+    private static Map.Entry<String, Map<String, Object>> entry(String id, Map<String, Object> fields) {
+        return new AbstractMap.SimpleImmutableEntry<>(id, fields);
+    }
+
+    private Path cacheFile() {
+        return dataDir.resolve("cache").resolve("local").resolve("trucks.bin");
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) System.clearProperty(property); else System.setProperty(property, value);
+    }
+}